@@ -20,6 +20,7 @@
 package org.twilmes.sql.gremlin.adapter.converter;
 
 import com.google.common.collect.ImmutableList;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.apache.calcite.avatica.util.Quoting;
 import org.apache.calcite.config.Lex;
@@ -29,6 +30,7 @@ import org.apache.calcite.rel.RelCollationTraitDef;
 import org.apache.calcite.schema.SchemaPlus;
 import org.apache.calcite.sql.SqlNode;
 import org.apache.calcite.sql.SqlSelect;
+import org.apache.calcite.sql.parser.SqlParseException;
 import org.apache.calcite.sql.parser.SqlParser;
 import org.apache.calcite.tools.FrameworkConfig;
 import org.apache.calcite.tools.Frameworks;
@@ -36,6 +38,8 @@ import org.apache.calcite.tools.Planner;
 import org.apache.calcite.tools.Program;
 import org.apache.calcite.tools.Programs;
 import org.apache.tinkerpop.gremlin.groovy.jsr223.GroovyTranslator;
+import org.apache.tinkerpop.gremlin.jsr223.JavaTranslator;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.slf4j.Logger;
@@ -62,11 +66,25 @@ public class SqlConverter {
             SqlParser.config().withLex(Lex.MYSQL).withQuoting(Quoting.DOUBLE_QUOTE);
     private static final Program PROGRAM =
             Programs.sequence(Programs.ofRules(Programs.RULE_SET), Programs.CALC_PROGRAM);
+    // Owned by the connection, so plans and the traversal sources they reference go away with the connection.
+    private final SqlPlanCache planCache;
     private final FrameworkConfig frameworkConfig;
+    @Getter
     private final GremlinSchema gremlinSchema;
 
     public SqlConverter(final GremlinSchema gremlinSchema) {
+        this(gremlinSchema, new SqlPlanCache());
+    }
+
+    /**
+     * Creates a converter that shares its plan cache with the other converters of a connection.
+     *
+     * @param gremlinSchema GremlinSchema to translate queries against.
+     * @param planCache     SqlPlanCache of the connection.
+     */
+    public SqlConverter(final GremlinSchema gremlinSchema, final SqlPlanCache planCache) {
         this.gremlinSchema = gremlinSchema;
+        this.planCache = planCache;
         final SchemaPlus rootSchema = Frameworks.createRootSchema(true);
         this.frameworkConfig = Frameworks.newConfigBuilder()
                 .parserConfig(PARSER_CONFIG)
@@ -77,19 +95,78 @@ public class SqlConverter {
     }
 
     private GremlinSqlSelect getSelect(final GraphTraversalSource g, final String query) throws SQLException {
-        GremlinSqlFactory.setSqlMetadata(new SqlMetadata(gremlinSchema));
         final QueryPlanner queryPlanner = new QueryPlanner(frameworkConfig);
         queryPlanner.plan(query);
         final SqlNode sqlNode = queryPlanner.getValidate();
         if (sqlNode instanceof SqlSelect) {
-            return GremlinSqlFactory.createSelect((SqlSelect) sqlNode, g);
+            return GremlinSqlFactory.createSelect((SqlSelect) sqlNode, g, new SqlMetadata(gremlinSchema));
         } else {
             throw SqlGremlinError.createNotSupported(SqlGremlinError.SQL_SELECT_ONLY);
         }
     }
 
     public SqlGremlinQueryResult executeQuery(final GraphTraversalSource g, final String query) throws SQLException {
-        return getSelect(g, query).executeTraversal();
+        return executeQuery(g, query, SqlGremlinQueryResult.DEFAULT_PAGE_SIZE);
+    }
+
+    public SqlGremlinQueryResult executeQuery(final GraphTraversalSource g, final String query, final int pageSize)
+            throws SQLException {
+        final CachedPlan cachedPlan = getCachedPlan(g, query);
+        return cachedPlan.getSelect().executeTraversal(cachedPlan.newTraversal(g), pageSize);
+    }
+
+    /**
+     * Gets the number of queries that were executed from a cached plan.
+     *
+     * @return the plan cache hit count.
+     */
+    public long getPlanCacheHitCount() {
+        return planCache.getHitCount();
+    }
+
+    /**
+     * Gets the number of queries that had to be parsed, validated and translated.
+     *
+     * @return the plan cache miss count.
+     */
+    public long getPlanCacheMissCount() {
+        return planCache.getMissCount();
+    }
+
+    private CachedPlan getCachedPlan(final GraphTraversalSource g, final String query) throws SQLException {
+        final String normalizedQuery = normalize(query);
+        CachedPlan cachedPlan = planCache.get(gremlinSchema, normalizedQuery);
+        if (cachedPlan == null) {
+            final GremlinSqlSelect select = getSelect(g, query);
+            final GraphTraversal<?, ?> graphTraversal = select.prepareTraversal();
+            cachedPlan = new CachedPlan(select, g, graphTraversal,
+                    getStepBytecode(graphTraversal.asAdmin().getBytecode()));
+            planCache.put(gremlinSchema, normalizedQuery, cachedPlan);
+        }
+        return cachedPlan;
+    }
+
+    /**
+     * Parses the query and prints it back, so that queries only differing in formatting or comments share a plan.
+     */
+    static String normalize(final String query) throws SQLException {
+        try {
+            return SqlParser.create(query, PARSER_CONFIG).parseQuery().toString();
+        } catch (final SqlParseException e) {
+            throw SqlGremlinError.create(SqlGremlinError.PARSE_ERROR, e, query);
+        }
+    }
+
+    /**
+     * Gets the step instructions of the bytecode. Source instructions such as with() options, which carry the query
+     * timeout, belong to the traversal source of each execution and must not be replayed from the cached plan.
+     */
+    private static Bytecode getStepBytecode(final Bytecode bytecode) {
+        final Bytecode stepBytecode = new Bytecode();
+        for (final Bytecode.Instruction instruction : bytecode.getStepInstructions()) {
+            stepBytecode.addStep(instruction.getOperator(), instruction.getArguments());
+        }
+        return stepBytecode;
     }
 
     private GraphTraversal<?, ?> getGraphTraversal(GraphTraversalSource g, final String query) throws SQLException {
@@ -100,6 +177,27 @@ public class SqlConverter {
         return GroovyTranslator.of("g").translate(getGraphTraversal(g, query).asAdmin().getBytecode());
     }
 
+    /**
+     * Translated query, its traversal is never executed itself. Each execution runs a copy of it.
+     */
+    @Getter
+    @AllArgsConstructor
+    static class CachedPlan {
+        private final GremlinSqlSelect select;
+        private final GraphTraversalSource g;
+        private final GraphTraversal<?, ?> traversal;
+        private final Bytecode bytecode;
+
+        GraphTraversal<?, ?> newTraversal(final GraphTraversalSource graphTraversalSource) {
+            if (graphTraversalSource == g) {
+                return (GraphTraversal<?, ?>) traversal.asAdmin().clone();
+            }
+            // The plan was built against another traversal source, rebuild its steps on top of this source so the
+            // source's own options, like the query timeout, apply.
+            return (GraphTraversal<?, ?>) JavaTranslator.of(graphTraversalSource).translate(bytecode);
+        }
+    }
+
     @Getter
     private static class QueryPlanner {
         private final Planner planner;
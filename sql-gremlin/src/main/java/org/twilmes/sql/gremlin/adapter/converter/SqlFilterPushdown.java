@@ -0,0 +1,414 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.twilmes.sql.gremlin.adapter.converter;
+
+import org.apache.calcite.sql.SqlBasicCall;
+import org.apache.calcite.sql.SqlBetweenOperator;
+import org.apache.calcite.sql.SqlIdentifier;
+import org.apache.calcite.sql.SqlKind;
+import org.apache.calcite.sql.SqlLiteral;
+import org.apache.calcite.sql.SqlNode;
+import org.apache.calcite.sql.SqlNodeList;
+import org.apache.calcite.sql.SqlNumericLiteral;
+import org.apache.calcite.sql.type.SqlTypeName;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Pushes simple column versus literal predicates of a WHERE clause down into has() steps, which the database can
+ * answer from its indexes. Anything that cannot be pushed down is handed back to be filtered the regular way.
+ */
+public final class SqlFilterPushdown {
+    private SqlFilterPushdown() {
+    }
+
+    /**
+     * Appends has() steps for the pushable conjuncts of the filter to the traversal.
+     *
+     * @param sqlNode        Filter to push down.
+     * @param table          Table the filter applies to.
+     * @param sqlMetadata    SqlMetadata of the query.
+     * @param graphTraversal GraphTraversal to append the has() steps to.
+     * @return the conjuncts that could not be pushed down.
+     * @throws SQLException if the table or column metadata cannot be found.
+     */
+    public static List<SqlNode> apply(final SqlNode sqlNode, final String table, final SqlMetadata sqlMetadata,
+                                      final GraphTraversal<?, ?> graphTraversal) throws SQLException {
+        final List<SqlNode> remaining = new ArrayList<>();
+        if (sqlNode == null) {
+            return remaining;
+        }
+
+        final List<SqlNode> conjuncts = new ArrayList<>();
+        flatten(sqlNode, SqlKind.AND, conjuncts);
+        final int idConjunct = getIdConjunct(conjuncts, table, sqlMetadata);
+        for (int i = 0; i < conjuncts.size(); i++) {
+            final SqlNode conjunct = conjuncts.get(i);
+            if (i == idConjunct) {
+                // Already applied by starting the traversal from these ids, see getIds.
+                continue;
+            }
+            final PushedPredicate predicate = getPredicate(conjunct, table, sqlMetadata);
+            if (predicate != null) {
+                predicate.appendTo(graphTraversal);
+                continue;
+            }
+            final GraphTraversal<?, ?> filter = getFilter(conjunct, table, sqlMetadata);
+            if (filter != null) {
+                graphTraversal.filter(filter);
+            } else {
+                remaining.add(conjunct);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * Gets the ids of an equality or IN predicate on the id column of the table in the filter. The traversal can start
+     * from these ids, {@link #apply} then leaves that predicate out.
+     *
+     * @param sqlNode     Filter to look for the id predicate in.
+     * @param table       Table the filter applies to.
+     * @param sqlMetadata SqlMetadata of the query.
+     * @return the ids, or an empty list if the filter has no such predicate.
+     * @throws SQLException if the table or column metadata cannot be found.
+     */
+    public static List<Object> getIds(final SqlNode sqlNode, final String table, final SqlMetadata sqlMetadata)
+            throws SQLException {
+        if (sqlNode == null) {
+            return new ArrayList<>();
+        }
+        final List<SqlNode> conjuncts = new ArrayList<>();
+        flatten(sqlNode, SqlKind.AND, conjuncts);
+        final int idConjunct = getIdConjunct(conjuncts, table, sqlMetadata);
+        return (idConjunct < 0) ? new ArrayList<>() : getIdValues(conjuncts.get(idConjunct), table, sqlMetadata);
+    }
+
+    private static int getIdConjunct(final List<SqlNode> conjuncts, final String table,
+                                     final SqlMetadata sqlMetadata) throws SQLException {
+        for (int i = 0; i < conjuncts.size(); i++) {
+            if (getIdValues(conjuncts.get(i), table, sqlMetadata) != null) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets the ids of an equality or IN predicate on the id column of the table, or null for any other predicate.
+     */
+    private static List<Object> getIdValues(final SqlNode sqlNode, final String table,
+                                            final SqlMetadata sqlMetadata) throws SQLException {
+        if (!(sqlNode instanceof SqlBasicCall)) {
+            return null;
+        }
+        final List<SqlNode> operands = ((SqlBasicCall) sqlNode).getOperandList();
+        if (operands.size() != 2) {
+            return null;
+        }
+        final List<SqlNode> literals = new ArrayList<>();
+        final SqlNode identifier;
+        if (sqlNode.getKind() == SqlKind.EQUALS) {
+            final boolean literalRight = operands.get(1) instanceof SqlLiteral;
+            identifier = operands.get(literalRight ? 0 : 1);
+            literals.add(operands.get(literalRight ? 1 : 0));
+        } else if (sqlNode.getKind() == SqlKind.IN && operands.get(1) instanceof SqlNodeList) {
+            identifier = operands.get(0);
+            ((SqlNodeList) operands.get(1)).forEach(literals::add);
+        } else {
+            return null;
+        }
+        if (!(identifier instanceof SqlIdentifier) || !isIdColumn((SqlIdentifier) identifier, table, sqlMetadata)) {
+            return null;
+        }
+
+        final List<Object> ids = new ArrayList<>();
+        for (final SqlNode literal : literals) {
+            // Ids are exposed as strings, numeric literals are accepted as well.
+            if (!(literal instanceof SqlNumericLiteral) && !(literal instanceof SqlLiteral &&
+                    ((SqlLiteral) literal).getTypeName().equals(SqlTypeName.CHAR))) {
+                return null;
+            }
+            ids.add(((SqlLiteral) literal).toValue());
+        }
+        return ids;
+    }
+
+    private static boolean isIdColumn(final SqlIdentifier identifier, final String table,
+                                      final SqlMetadata sqlMetadata) throws SQLException {
+        final GremlinTableBase gremlinTableBase = sqlMetadata.getGremlinTable(table);
+        final String column = sqlMetadata.getRenamedColumn(identifier.names.get(identifier.names.size() - 1));
+        if (!sqlMetadata.getTableHasColumn(gremlinTableBase, column)) {
+            return false;
+        }
+        // The <label>_ID column is the id of the element itself, other _ID columns are ids of connected elements.
+        return sqlMetadata.getActualColumnName(gremlinTableBase, column)
+                .equalsIgnoreCase(gremlinTableBase.getLabel() + GremlinTableBase.ID);
+    }
+
+    private static void flatten(final SqlNode sqlNode, final SqlKind kind, final List<SqlNode> operands) {
+        if (sqlNode.getKind() == kind) {
+            for (final SqlNode operand : ((SqlBasicCall) sqlNode).getOperandList()) {
+                flatten(operand, kind, operands);
+            }
+        } else {
+            operands.add(sqlNode);
+        }
+    }
+
+    private static GraphTraversal<?, ?> getFilter(final SqlNode sqlNode, final String table,
+                                                  final SqlMetadata sqlMetadata) throws SQLException {
+        final PushedPredicate predicate = getPredicate(sqlNode, table, sqlMetadata);
+        if (predicate != null) {
+            return predicate.toTraversal();
+        }
+        if (sqlNode.getKind() != SqlKind.AND && sqlNode.getKind() != SqlKind.OR) {
+            return null;
+        }
+
+        // AND and OR can only be pushed down if all of their operands can be.
+        final List<SqlNode> operands = new ArrayList<>();
+        flatten(sqlNode, sqlNode.getKind(), operands);
+        final GraphTraversal<?, ?>[] filters = new GraphTraversal[operands.size()];
+        for (int i = 0; i < operands.size(); i++) {
+            filters[i] = getFilter(operands.get(i), table, sqlMetadata);
+            if (filters[i] == null) {
+                return null;
+            }
+        }
+        return (sqlNode.getKind() == SqlKind.AND) ? __.and(filters) : __.or(filters);
+    }
+
+    private static PushedPredicate getPredicate(final SqlNode sqlNode, final String table,
+                                                final SqlMetadata sqlMetadata) throws SQLException {
+        if (!(sqlNode instanceof SqlBasicCall)) {
+            return null;
+        }
+        final List<SqlNode> operands = ((SqlBasicCall) sqlNode).getOperandList();
+        switch (sqlNode.getKind()) {
+            case EQUALS:
+            case NOT_EQUALS:
+            case LESS_THAN:
+            case LESS_THAN_OR_EQUAL:
+            case GREATER_THAN:
+            case GREATER_THAN_OR_EQUAL:
+                if (operands.size() != 2) {
+                    return null;
+                }
+                if (operands.get(0) instanceof SqlIdentifier && operands.get(1) instanceof SqlLiteral) {
+                    return getComparison(sqlNode.getKind(), (SqlIdentifier) operands.get(0),
+                            (SqlLiteral) operands.get(1), table, sqlMetadata);
+                } else if (operands.get(0) instanceof SqlLiteral && operands.get(1) instanceof SqlIdentifier) {
+                    // Literal on the left, 30 < age is age > 30.
+                    return getComparison(sqlNode.getKind().reverse(), (SqlIdentifier) operands.get(1),
+                            (SqlLiteral) operands.get(0), table, sqlMetadata);
+                }
+                return null;
+            case IN:
+                if (operands.size() != 2 || !(operands.get(0) instanceof SqlIdentifier) ||
+                        !(operands.get(1) instanceof SqlNodeList)) {
+                    return null;
+                }
+                final List<Object> values = new ArrayList<>();
+                for (final SqlNode value : (SqlNodeList) operands.get(1)) {
+                    if (!(value instanceof SqlLiteral)) {
+                        return null;
+                    }
+                    values.add(value);
+                }
+                return getIn((SqlIdentifier) operands.get(0), values, table, sqlMetadata);
+            case BETWEEN:
+                final SqlBetweenOperator betweenOperator =
+                        (SqlBetweenOperator) ((SqlBasicCall) sqlNode).getOperator();
+                if (operands.size() != 3 || betweenOperator.isNegated() ||
+                        betweenOperator.flag != SqlBetweenOperator.Flag.ASYMMETRIC ||
+                        !(operands.get(0) instanceof SqlIdentifier) || !(operands.get(1) instanceof SqlLiteral) ||
+                        !(operands.get(2) instanceof SqlLiteral)) {
+                    return null;
+                }
+                return getBetween((SqlIdentifier) operands.get(0), (SqlLiteral) operands.get(1),
+                        (SqlLiteral) operands.get(2), table, sqlMetadata);
+            default:
+                return null;
+        }
+    }
+
+    private static PushedPredicate getComparison(final SqlKind kind, final SqlIdentifier identifier,
+                                                 final SqlLiteral literal, final String table,
+                                                 final SqlMetadata sqlMetadata) throws SQLException {
+        final String column = getColumn(identifier, table, sqlMetadata);
+        if (column == null) {
+            return null;
+        }
+        final Object value = getValue(literal, sqlMetadata.getGremlinProperty(table, column).getType());
+        if (value == null) {
+            return null;
+        }
+        final P<Object> predicate;
+        switch (kind) {
+            case EQUALS:
+                predicate = P.eq(value);
+                break;
+            case NOT_EQUALS:
+                predicate = P.neq(value);
+                break;
+            case LESS_THAN:
+                predicate = P.lt(value);
+                break;
+            case LESS_THAN_OR_EQUAL:
+                predicate = P.lte(value);
+                break;
+            case GREATER_THAN:
+                predicate = P.gt(value);
+                break;
+            case GREATER_THAN_OR_EQUAL:
+                predicate = P.gte(value);
+                break;
+            default:
+                return null;
+        }
+        return PushedPredicate.create(column, predicate, identifier, sqlMetadata);
+    }
+
+    private static PushedPredicate getIn(final SqlIdentifier identifier, final List<Object> literals,
+                                         final String table, final SqlMetadata sqlMetadata) throws SQLException {
+        final String column = getColumn(identifier, table, sqlMetadata);
+        if (column == null) {
+            return null;
+        }
+        final String type = sqlMetadata.getGremlinProperty(table, column).getType();
+        final List<Object> values = new ArrayList<>();
+        for (final Object literal : literals) {
+            final Object value = getValue((SqlLiteral) literal, type);
+            if (value == null) {
+                return null;
+            }
+            values.add(value);
+        }
+        return PushedPredicate.create(column, P.within(values), identifier, sqlMetadata);
+    }
+
+    private static PushedPredicate getBetween(final SqlIdentifier identifier, final SqlLiteral lower,
+                                              final SqlLiteral upper, final String table,
+                                              final SqlMetadata sqlMetadata) throws SQLException {
+        final String column = getColumn(identifier, table, sqlMetadata);
+        if (column == null) {
+            return null;
+        }
+        final String type = sqlMetadata.getGremlinProperty(table, column).getType();
+        final Object lowerValue = getValue(lower, type);
+        final Object upperValue = getValue(upper, type);
+        if (lowerValue == null || upperValue == null) {
+            return null;
+        }
+        // SQL BETWEEN includes both ends, P.between excludes the upper one.
+        return PushedPredicate.create(column, P.gte(lowerValue).and(P.lte(upperValue)), identifier, sqlMetadata);
+    }
+
+    /**
+     * Gets the property key of the identifier, or null if it is not a regular property of the table.
+     */
+    private static String getColumn(final SqlIdentifier identifier, final String table,
+                                    final SqlMetadata sqlMetadata) throws SQLException {
+        final GremlinTableBase gremlinTableBase = sqlMetadata.getGremlinTable(table);
+        final String column = sqlMetadata.getRenamedColumn(identifier.names.get(identifier.names.size() - 1));
+        if (!sqlMetadata.getTableHasColumn(gremlinTableBase, column)) {
+            return null;
+        }
+        final String actualColumn = sqlMetadata.getActualColumnName(gremlinTableBase, column);
+        // Ids and edge ids are not stored as properties.
+        return actualColumn.endsWith(GremlinTableBase.ID) ? null : actualColumn;
+    }
+
+    /**
+     * Converts the literal to the Java type of the column so that it compares the same way as the stored values,
+     * or returns null if the literal does not fit the column type.
+     */
+    private static Object getValue(final SqlLiteral literal, final String type) {
+        if ("string".equalsIgnoreCase(type)) {
+            return literal.getTypeName().equals(SqlTypeName.CHAR) ? literal.toValue() : null;
+        }
+        if (!(literal instanceof SqlNumericLiteral)) {
+            return null;
+        }
+        final BigDecimal value = literal.getValueAs(BigDecimal.class);
+        try {
+            switch (type.toLowerCase(Locale.getDefault())) {
+                case "byte":
+                    return value.byteValueExact();
+                case "short":
+                    return value.shortValueExact();
+                case "integer":
+                    return value.intValueExact();
+                case "long":
+                    return value.longValueExact();
+                case "float":
+                    return value.floatValue();
+                case "double":
+                    return value.doubleValue();
+                default:
+                    return null;
+            }
+        } catch (final ArithmeticException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A has() step for a single column predicate.
+     */
+    private static final class PushedPredicate {
+        private final String column;
+        private final P<?> predicate;
+
+        private PushedPredicate(final String column, final P<?> predicate) {
+            this.column = column;
+            this.predicate = predicate;
+        }
+
+        /**
+         * Creates the has() step, or returns null if the predicate has to be left to the regular filter. The regular
+         * filter compares a missing property as its default coalesce value, so a predicate that the default value
+         * passes would also have to let through elements without the property, which a has() step cannot do.
+         */
+        private static PushedPredicate create(final String column, final P<?> predicate,
+                                              final SqlIdentifier identifier, final SqlMetadata sqlMetadata)
+                throws SQLException {
+            final Object defaultValue =
+                    sqlMetadata.getDefaultCoalesceValue(identifier.names.get(identifier.names.size() - 1));
+            return ((P<Object>) predicate).test(defaultValue) ? null : new PushedPredicate(column, predicate);
+        }
+
+        private void appendTo(final GraphTraversal<?, ?> graphTraversal) {
+            graphTraversal.has(column, predicate);
+        }
+
+        private GraphTraversal<?, ?> toTraversal() {
+            return __.has(column, predicate);
+        }
+    }
+}
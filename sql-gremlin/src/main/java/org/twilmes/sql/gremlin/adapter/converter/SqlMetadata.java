@@ -68,7 +68,7 @@ public class SqlMetadata {
         this.gremlinSchema = gremlinSchema;
     }
 
-    private static boolean isAggregate(final SqlNode sqlNode) {
+    public static boolean isAggregate(final SqlNode sqlNode) {
         if (sqlNode instanceof SqlCall) {
             final SqlCall sqlCall = (SqlCall) sqlNode;
             if (isAggregate(sqlCall.getOperator())) {
@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.twilmes.sql.gremlin.adapter.converter;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.twilmes.sql.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+
+/**
+ * Bounded cache of translated SQL queries, keyed by the version of the schema a plan was built against and the
+ * normalized SQL. It can be shared by the SqlConverters of one connection, so statements of the connection reuse
+ * each other's plans, while a converter built for a refreshed schema never reuses plans of the old one.
+ */
+public class SqlPlanCache {
+    private static final int PLAN_CACHE_SIZE = 500;
+    private final Cache<String, SqlConverter.CachedPlan> plans =
+            CacheBuilder.newBuilder().maximumSize(PLAN_CACHE_SIZE).recordStats().build();
+
+    SqlConverter.CachedPlan get(final GremlinSchema gremlinSchema, final String normalizedQuery) {
+        return plans.getIfPresent(getKey(gremlinSchema, normalizedQuery));
+    }
+
+    void put(final GremlinSchema gremlinSchema, final String normalizedQuery, final SqlConverter.CachedPlan plan) {
+        plans.put(getKey(gremlinSchema, normalizedQuery), plan);
+    }
+
+    private static String getKey(final GremlinSchema gremlinSchema, final String normalizedQuery) {
+        return gremlinSchema.getVersion() + ":" + normalizedQuery;
+    }
+
+    /**
+     * Gets the number of queries that were executed from a cached plan.
+     *
+     * @return the plan cache hit count.
+     */
+    public long getHitCount() {
+        return plans.stats().hitCount();
+    }
+
+    /**
+     * Gets the number of queries that had to be parsed, validated and translated.
+     *
+     * @return the plan cache miss count.
+     */
+    public long getMissCount() {
+        return plans.stats().missCount();
+    }
+}
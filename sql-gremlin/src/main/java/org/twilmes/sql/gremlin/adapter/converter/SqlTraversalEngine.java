@@ -33,6 +33,7 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Locale;
+import java.util.UUID;
 
 import static org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinTableBase.IN_ID;
 import static org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinTableBase.OUT_ID;
@@ -48,15 +49,56 @@ public class SqlTraversalEngine {
     public static GraphTraversal<?, ?> generateInitialSql(final List<GremlinSqlIdentifier> gremlinSqlIdentifiers,
                                                           final SqlMetadata sqlMetadata,
                                                           final GraphTraversalSource g) throws SQLException {
+        return generateInitialSql(gremlinSqlIdentifiers, sqlMetadata, g, new ArrayList<>());
+    }
+
+    public static GraphTraversal<?, ?> generateInitialSql(final List<GremlinSqlIdentifier> gremlinSqlIdentifiers,
+                                                          final SqlMetadata sqlMetadata,
+                                                          final GraphTraversalSource g,
+                                                          final List<Object> ids) throws SQLException {
         if (gremlinSqlIdentifiers.size() != 2) {
             throw SqlGremlinError.create(SqlGremlinError.IDENTIFIER_SIZE_INCORRECT);
         }
         final String label = sqlMetadata.getActualTableName(gremlinSqlIdentifiers.get(0).getName(1));
-        final GraphTraversal<?, ?> graphTraversal = sqlMetadata.isVertex(label) ? g.V() : g.E();
+        // Starting from the ids lets the database look the elements up directly instead of scanning the label.
+        final boolean isVertex = sqlMetadata.isVertex(label);
+        final Object[] idArray = coerceIds(sqlMetadata.getGremlinTable(label), ids).toArray();
+        final GraphTraversal<?, ?> graphTraversal = isVertex ? g.V(idArray) : g.E(idArray);
         graphTraversal.hasLabel(label);
         return graphTraversal;
     }
 
+    /**
+     * Converts the id literals of the query to the type of the ids stored for the label, element lookups by id only
+     * match ids of the same type. Literals that cannot be converted cannot match any element and are dropped.
+     * The id type is taken from the schema, so planning does not query the database.
+     */
+    private static List<Object> coerceIds(final GremlinTableBase table, final List<Object> ids) {
+        final String idType = table.getIdType();
+        if (ids.isEmpty() || GremlinTableBase.DEFAULT_ID_TYPE.equalsIgnoreCase(idType)) {
+            return ids;
+        }
+        final List<Object> coercedIds = new ArrayList<>();
+        for (final Object id : ids) {
+            final String value = String.valueOf(id);
+            try {
+                if ("long".equalsIgnoreCase(idType)) {
+                    coercedIds.add(Long.valueOf(value));
+                } else if ("integer".equalsIgnoreCase(idType)) {
+                    coercedIds.add(Integer.valueOf(value));
+                } else if ("uuid".equalsIgnoreCase(idType)) {
+                    coercedIds.add(UUID.fromString(value));
+                } else {
+                    coercedIds.add(id);
+                }
+            } catch (final IllegalArgumentException e) {
+                LOGGER.debug("Id {} does not match the id type of {}.", value, table.getLabel());
+            }
+        }
+        // If none of the literals fit the id type, the original ids still match nothing.
+        return coercedIds.isEmpty() ? ids : coercedIds;
+    }
+
     public static void applyAggregateFold(final SqlMetadata sqlMetadata, final GraphTraversal<?, ?> graphTraversal) {
         if (sqlMetadata.getIsProjectFoldRequired()) {
             graphTraversal.fold();
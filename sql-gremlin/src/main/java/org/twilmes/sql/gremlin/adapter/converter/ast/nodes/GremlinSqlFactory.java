@@ -55,88 +55,88 @@ import java.util.List;
 
 /**
  * This factory converts different types of Calcite's SqlNode/SqlOperator's to SqlGremlin equivalents.
+ * The SqlMetadata of the query being translated is passed in explicitly so queries can be translated concurrently.
  *
  * @author Lyndon Bauto (lyndonb@bitquilltech.com)
  * @author Adapted from implementation by twilmes (https://github.com/twilmes/sql-gremlin)
  */
 public class GremlinSqlFactory {
-    private static SqlMetadata sqlMetadata = null;
-
-    public static void setSqlMetadata(final SqlMetadata sqlMetadata1) {
-        sqlMetadata = sqlMetadata1;
-    }
-
-    public static SqlMetadata getGremlinSqlMetadata() throws SQLException {
+    private static SqlMetadata checkSqlMetadata(final SqlMetadata sqlMetadata) throws SQLException {
         if (sqlMetadata == null) {
             throw SqlGremlinError.create(SqlGremlinError.SCHEMA_NOT_SET);
         }
         return sqlMetadata;
     }
 
-    public static GremlinSqlJoinComparison createJoinEquality(final SqlNode sqlNode)
+    public static GremlinSqlJoinComparison createJoinEquality(final SqlNode sqlNode, final SqlMetadata sqlMetadata)
             throws SQLException {
         if (sqlNode instanceof SqlBasicCall) {
             final SqlBasicCall sqlBasicCall = (SqlBasicCall) sqlNode;
             if (sqlBasicCall.getOperator() instanceof SqlBinaryOperator) {
                 return new GremlinSqlJoinComparison((SqlBasicCall) sqlNode,
-                        (SqlBinaryOperator) sqlBasicCall.getOperator(), createNodeList(sqlBasicCall.getOperandList()),
-                        getGremlinSqlMetadata());
+                        (SqlBinaryOperator) sqlBasicCall.getOperator(),
+                        createNodeList(sqlBasicCall.getOperandList(), sqlMetadata), checkSqlMetadata(sqlMetadata));
             }
         }
         throw SqlGremlinError.create(SqlGremlinError.UNKNOWN_NODE, sqlNode.getClass().getName());
     }
 
-    public static GremlinSqlOperator createOperator(final SqlOperator sqlOperator, final List<SqlNode> sqlOperands)
-            throws SQLException {
+    public static GremlinSqlOperator createOperator(final SqlOperator sqlOperator, final List<SqlNode> sqlOperands,
+                                                    final SqlMetadata sqlMetadata) throws SQLException {
+        checkSqlMetadata(sqlMetadata);
         if (sqlOperator instanceof SqlAsOperator) {
-            return new GremlinSqlAsOperator((SqlAsOperator) sqlOperator, createNodeList(sqlOperands),
-                    getGremlinSqlMetadata());
+            return new GremlinSqlAsOperator((SqlAsOperator) sqlOperator, createNodeList(sqlOperands, sqlMetadata),
+                    sqlMetadata);
         } else if (sqlOperator instanceof SqlAggFunction) {
-            return new GremlinSqlAggFunction((SqlAggFunction) sqlOperator, createNodeList(sqlOperands),
-                    getGremlinSqlMetadata());
+            return new GremlinSqlAggFunction((SqlAggFunction) sqlOperator, createNodeList(sqlOperands, sqlMetadata),
+                    sqlMetadata);
         } else if (sqlOperator instanceof SqlBinaryOperator) {
-            return new GremlinSqlBinaryOperator((SqlBinaryOperator) sqlOperator, createNodeList(sqlOperands),
-                    getGremlinSqlMetadata());
+            return new GremlinSqlBinaryOperator((SqlBinaryOperator) sqlOperator,
+                    createNodeList(sqlOperands, sqlMetadata), sqlMetadata);
         } else if (sqlOperator instanceof SqlPostfixOperator) {
-            return new GremlinSqlPostfixOperator((SqlPostfixOperator) sqlOperator, createNodeList(sqlOperands),
-                    getGremlinSqlMetadata());
+            return new GremlinSqlPostfixOperator((SqlPostfixOperator) sqlOperator,
+                    createNodeList(sqlOperands, sqlMetadata), sqlMetadata);
         } else if (sqlOperator instanceof SqlPrefixOperator) {
-            return new GremlinSqlPrefixOperator((SqlPrefixOperator) sqlOperator, createNodeList(sqlOperands),
-                    getGremlinSqlMetadata());
+            return new GremlinSqlPrefixOperator((SqlPrefixOperator) sqlOperator,
+                    createNodeList(sqlOperands, sqlMetadata), sqlMetadata);
         }
         throw SqlGremlinError.create(SqlGremlinError.UNKNOWN_OPERATOR, sqlOperator.getKind().sql);
     }
 
-    public static GremlinSqlNode createNode(final SqlNode sqlNode) throws SQLException {
+    public static GremlinSqlNode createNode(final SqlNode sqlNode, final SqlMetadata sqlMetadata)
+            throws SQLException {
         if (sqlNode instanceof SqlBasicCall) {
-            return new GremlinSqlBasicCall((SqlBasicCall) sqlNode, getGremlinSqlMetadata());
+            return new GremlinSqlBasicCall((SqlBasicCall) sqlNode, checkSqlMetadata(sqlMetadata));
         } else if (sqlNode instanceof SqlIdentifier) {
-            return new GremlinSqlIdentifier((SqlIdentifier) sqlNode, getGremlinSqlMetadata());
+            return new GremlinSqlIdentifier((SqlIdentifier) sqlNode, checkSqlMetadata(sqlMetadata));
         } else if (sqlNode instanceof SqlLiteral) {
-            return new GremlinSqlLiteral((SqlLiteral) sqlNode, getGremlinSqlMetadata());
+            return new GremlinSqlLiteral((SqlLiteral) sqlNode, checkSqlMetadata(sqlMetadata));
         }
         throw SqlGremlinError.create(SqlGremlinError.UNKNOWN_NODE, sqlNode.getClass().getName());
     }
 
-    public static List<GremlinSqlNode> createNodeList(final List<SqlNode> sqlNodes) throws SQLException {
+    public static List<GremlinSqlNode> createNodeList(final List<SqlNode> sqlNodes, final SqlMetadata sqlMetadata)
+            throws SQLException {
         final List<GremlinSqlNode> gremlinSqlNodes = new ArrayList<>();
         for (final SqlNode sqlNode : sqlNodes) {
-            gremlinSqlNodes.add(createNode(sqlNode));
+            gremlinSqlNodes.add(createNode(sqlNode, sqlMetadata));
         }
         return gremlinSqlNodes;
     }
 
     @SuppressWarnings("unchecked")
-    public static <T> T createNodeCheckType(final SqlNode sqlNode, final Class<T> clazz) throws SQLException {
-        final GremlinSqlNode gremlinSqlNode = createNode(sqlNode);
+    public static <T> T createNodeCheckType(final SqlNode sqlNode, final Class<T> clazz,
+                                            final SqlMetadata sqlMetadata) throws SQLException {
+        final GremlinSqlNode gremlinSqlNode = createNode(sqlNode, sqlMetadata);
         if (!gremlinSqlNode.getClass().equals(clazz)) {
             throw SqlGremlinError.create(SqlGremlinError.TYPE_MISMATCH);
         }
         return (T) gremlinSqlNode;
     }
 
-    public static GremlinSqlSelect createSelect(final SqlSelect selectRoot, final GraphTraversalSource g)
-            throws SQLException {
+    public static GremlinSqlSelect createSelect(final SqlSelect selectRoot, final GraphTraversalSource g,
+                                                final SqlMetadata sqlMetadata) throws SQLException {
+        checkSqlMetadata(sqlMetadata);
         if (selectRoot.getFrom() == null) {
             throw SqlGremlinError.createNotSupported(SqlGremlinError.UNSUPPORTED_LITERAL_EXPRESSION);
         } else if (selectRoot.getFrom() instanceof SqlJoin) {
@@ -49,6 +49,7 @@ public abstract class GremlinSqlSelect extends GremlinSqlNode {
     private final GraphTraversalSource g;
     private final SqlSelect sqlSelect;
     private final SqlMetadata sqlMetadata;
+    private boolean rangeApplied = false;
 
     public GremlinSqlSelect(final SqlSelect sqlSelect, final SqlMetadata sqlMetadata, final GraphTraversalSource g) {
         super(sqlSelect, sqlMetadata);
@@ -58,32 +59,71 @@ public abstract class GremlinSqlSelect extends GremlinSqlNode {
     }
 
     public SqlGremlinQueryResult executeTraversal() throws SQLException {
+        return executeTraversal(SqlGremlinQueryResult.DEFAULT_PAGE_SIZE);
+    }
+
+    public SqlGremlinQueryResult executeTraversal(final int pageSize) throws SQLException {
+        return executeTraversal(prepareTraversal(), pageSize);
+    }
+
+    /**
+     * Generates the complete traversal of the query, ready to be executed.
+     *
+     * @return the GraphTraversal of the query.
+     * @throws SQLException if the query cannot be translated.
+     */
+    public GraphTraversal<?, ?> prepareTraversal() throws SQLException {
         GraphTraversal<?, ?> graphTraversal = null;
         try {
             sqlMetadata.checkAggregate(sqlSelect.getSelectList());
             sqlMetadata.checkGroupByNodeIsNull(sqlSelect.getGroup());
+            rangeApplied = false;
             graphTraversal = generateTraversal();
             applyDistinct(graphTraversal);
-            applyOffset(graphTraversal);
-            applyLimit(graphTraversal);
-            final SqlGremlinQueryResult sqlGremlinQueryResult = generateSqlGremlinQueryResult();
+            if (!rangeApplied) {
+                applyRange(graphTraversal);
+            }
+            return graphTraversal;
+        } catch (final SQLException e) {
+            closeTraversal(graphTraversal);
+            throw e;
+        }
+    }
+
+    /**
+     * Executes a traversal from {@link #prepareTraversal()}, the metadata of this select is only read so a prepared
+     * select can execute copies of its traversal any number of times.
+     *
+     * @param graphTraversal GraphTraversal to execute.
+     * @param pageSize       Number of rows per page handed to the SqlGremlinQueryResult.
+     * @return the SqlGremlinQueryResult the rows are returned through.
+     * @throws SQLException if execution fails.
+     */
+    public SqlGremlinQueryResult executeTraversal(final GraphTraversal<?, ?> graphTraversal, final int pageSize)
+            throws SQLException {
+        try {
+            final SqlGremlinQueryResult sqlGremlinQueryResult = generateSqlGremlinQueryResult(pageSize);
             runTraversalExecutor(graphTraversal, sqlGremlinQueryResult);
             return sqlGremlinQueryResult;
         } catch (final SQLException e) {
-            if (graphTraversal != null) {
-                try {
-                    graphTraversal.close();
-                } catch (final Exception ignored) {
-                }
-            }
+            closeTraversal(graphTraversal);
             throw e;
         }
     }
 
-    private SqlGremlinQueryResult generateSqlGremlinQueryResult() throws SQLException {
+    private static void closeTraversal(final GraphTraversal<?, ?> graphTraversal) {
+        if (graphTraversal != null) {
+            try {
+                graphTraversal.close();
+            } catch (final Exception ignored) {
+            }
+        }
+    }
+
+    private SqlGremlinQueryResult generateSqlGremlinQueryResult(final int pageSize) throws SQLException {
         final List<String> columns = new ArrayList<>();
         sqlMetadata.getColumnOutputListMap().forEach((key, value) -> columns.addAll(value));
-        return new SqlGremlinQueryResult(columns, sqlMetadata);
+        return new SqlGremlinQueryResult(columns, sqlMetadata, pageSize);
 
     }
 
@@ -148,23 +188,33 @@ public abstract class GremlinSqlSelect extends GremlinSqlNode {
         applyColumnRetrieval(graphTraversal, table, sqlNodeList, StepDirection.None);
     }
 
-    private void applyOffset(final GraphTraversal<?, ?> graphTraversal) throws SQLException {
-        // TODO: AN-885 implement OFFSET
-        // Gremlin doesn't seem to directly support offset,
-        // we probably need to inject numeric literal value
-        // into the pagination and have it know to jump the
-        // first X number of results.
-        if (sqlSelect.getOffset() != null) {
+    /**
+     * Applies OFFSET and LIMIT to the traversal as a range() step. Subclasses may call this before the column
+     * retrieval so that skipped rows are never projected, otherwise it is applied at the end of the traversal.
+     *
+     * @param graphTraversal GraphTraversal to apply the range to.
+     * @throws SQLException if the OFFSET is not a numeric literal.
+     */
+    protected void applyRange(final GraphTraversal<?, ?> graphTraversal) throws SQLException {
+        long offset = 0;
+        if (sqlSelect.getOffset() instanceof SqlNumericLiteral) {
+            offset = ((SqlNumericLiteral) sqlSelect.getOffset()).getValueAs(Long.class);
+        } else if (sqlSelect.getOffset() != null) {
             throw SqlGremlinError.createNotSupported(SqlGremlinError.OFFSET_NOT_SUPPORTED);
         }
-    }
 
-    private void applyLimit(final GraphTraversal<?, ?> graphTraversal) {
         if (sqlSelect.getFetch() instanceof SqlNumericLiteral) {
-            final SqlNumericLiteral limit = (SqlNumericLiteral) sqlSelect.getFetch();
-            final Long limitValue = limit.getValueAs(Long.class);
-            graphTraversal.limit(limitValue);
+            final long limit = ((SqlNumericLiteral) sqlSelect.getFetch()).getValueAs(Long.class);
+            if (offset == 0) {
+                graphTraversal.limit(limit);
+            } else {
+                graphTraversal.range(offset, limit > Long.MAX_VALUE - offset ? -1 : offset + limit);
+            }
+        } else if (offset != 0) {
+            // A high value of -1 ranges to the end of the traversal.
+            graphTraversal.range(offset, -1);
         }
+        rangeApplied = true;
     }
 
     private void applyDistinct(final GraphTraversal<?, ?> graphTraversal) {
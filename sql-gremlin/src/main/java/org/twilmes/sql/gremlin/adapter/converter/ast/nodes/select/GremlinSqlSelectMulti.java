@@ -93,11 +93,11 @@ public class GremlinSqlSelectMulti extends GremlinSqlSelect {
         final JoinConditionType conditionType = sqlJoin.getConditionType();
 
         final GremlinSqlBasicCall left =
-                GremlinSqlFactory.createNodeCheckType(sqlJoin.getLeft(), GremlinSqlBasicCall.class);
+                GremlinSqlFactory.createNodeCheckType(sqlJoin.getLeft(), GremlinSqlBasicCall.class, sqlMetadata);
         final GremlinSqlBasicCall right =
-                GremlinSqlFactory.createNodeCheckType(sqlJoin.getRight(), GremlinSqlBasicCall.class);
+                GremlinSqlFactory.createNodeCheckType(sqlJoin.getRight(), GremlinSqlBasicCall.class, sqlMetadata);
         final GremlinSqlJoinComparison gremlinSqlJoinComparison =
-                GremlinSqlFactory.createJoinEquality(sqlJoin.getCondition());
+                GremlinSqlFactory.createJoinEquality(sqlJoin.getCondition(), sqlMetadata);
 
         if (!joinType.name().equals(JoinType.INNER.name())) {
             throw SqlGremlinError.createNotSupported(SqlGremlinError.INNER_JOIN_ONLY);
@@ -198,9 +198,9 @@ public class GremlinSqlSelectMulti extends GremlinSqlSelect {
         final List<GremlinSqlNode> gremlinSqlNodesOut = new ArrayList<>();
         for (final SqlNode sqlNode : sqlSelect.getSelectList().getList()) {
             if (GremlinSqlFactory.isTable(sqlNode, inVRename)) {
-                gremlinSqlNodesIn.add(GremlinSqlFactory.createNode(sqlNode));
+                gremlinSqlNodesIn.add(GremlinSqlFactory.createNode(sqlNode, sqlMetadata));
             } else if (GremlinSqlFactory.isTable(sqlNode, outVRename)) {
-                gremlinSqlNodesOut.add(GremlinSqlFactory.createNode(sqlNode));
+                gremlinSqlNodesOut.add(GremlinSqlFactory.createNode(sqlNode, sqlMetadata));
             }
         }
 
@@ -244,7 +244,8 @@ public class GremlinSqlSelectMulti extends GremlinSqlSelect {
         } else {
             final List<GremlinSqlIdentifier> gremlinSqlIdentifiers = new ArrayList<>();
             for (final SqlNode sqlNode : sqlSelect.getGroup().getList()) {
-                gremlinSqlIdentifiers.add(GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlIdentifier.class));
+                gremlinSqlIdentifiers.add(
+                        GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlIdentifier.class, sqlMetadata));
             }
             graphTraversal.group();
             final List<GraphTraversal> byUnion = new ArrayList<>();
@@ -283,7 +284,8 @@ public class GremlinSqlSelectMulti extends GremlinSqlSelect {
         }
         final List<GremlinSqlIdentifier> gremlinSqlIdentifiers = new ArrayList<>();
         for (final SqlNode sqlNode : sqlSelect.getOrderList().getList()) {
-            gremlinSqlIdentifiers.add(GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlIdentifier.class));
+            gremlinSqlIdentifiers.add(
+                    GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlIdentifier.class, sqlMetadata));
         }
         final GremlinTableBase outVTable = sqlMetadata.getGremlinTable(outVRename);
         final GremlinTableBase inVTable = sqlMetadata.getGremlinTable(inVRename);
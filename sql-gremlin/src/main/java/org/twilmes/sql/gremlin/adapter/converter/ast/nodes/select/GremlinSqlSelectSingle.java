@@ -31,8 +31,10 @@ import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.structure.Column;
+import org.apache.tinkerpop.gremlin.structure.T;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.twilmes.sql.gremlin.adapter.converter.SqlFilterPushdown;
 import org.twilmes.sql.gremlin.adapter.converter.SqlMetadata;
 import org.twilmes.sql.gremlin.adapter.converter.SqlTraversalEngine;
 import org.twilmes.sql.gremlin.adapter.converter.ast.nodes.GremlinSqlFactory;
@@ -101,11 +103,13 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
         }
 
         final GremlinSqlOperator gremlinSqlOperator =
-                GremlinSqlFactory.createOperator(sqlBasicCall.getOperator(), sqlBasicCall.getOperandList());
+                GremlinSqlFactory.createOperator(sqlBasicCall.getOperator(), sqlBasicCall.getOperandList(),
+                        sqlMetadata);
         if (!(gremlinSqlOperator instanceof GremlinSqlAsOperator)) {
             throw SqlGremlinError.create(SqlGremlinError.UNEXPECTED_FROM_FORMAT);
         }
-        final List<GremlinSqlNode> gremlinSqlOperands = GremlinSqlFactory.createNodeList(sqlBasicCall.getOperandList());
+        final List<GremlinSqlNode> gremlinSqlOperands =
+                GremlinSqlFactory.createNodeList(sqlBasicCall.getOperandList(), sqlMetadata);
         final List<GremlinSqlIdentifier> gremlinSqlIdentifiers = new ArrayList<>();
         for (final GremlinSqlNode gremlinSqlOperand : gremlinSqlOperands) {
             if (!(gremlinSqlOperand instanceof GremlinSqlIdentifier)) {
@@ -116,9 +120,9 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
 
         GraphTraversal<?, ?> graphTraversal = null;
         try {
-            graphTraversal =
-                    SqlTraversalEngine.generateInitialSql(gremlinSqlIdentifiers, sqlMetadata, g);
             final String label = sqlMetadata.getActualTableName(gremlinSqlIdentifiers.get(0).getName(1));
+            graphTraversal = SqlTraversalEngine.generateInitialSql(gremlinSqlIdentifiers, sqlMetadata, g,
+                    SqlFilterPushdown.getIds(sqlSelect.getWhere(), label, sqlMetadata));
 
             // This function basically generates the latter parts of the traversal, by doing this it prepares all the
             // renamed labels in the metadata so that queries like 'SELECT foo AS bar FROM baz ORDER BY bar'
@@ -126,8 +130,31 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
             // __.__() is passed in as an anonymous traversal that will be discarded.
             generateDataRetrieval(gremlinSqlIdentifiers, __.__());
 
+            if (isNonAggregateQuery()) {
+                // Plain projection, filter and limit queries stream straight off the label, grouping and ordering
+                // would force the whole label to be materialized before the first row is returned.
+                applyWhere(graphTraversal, label);
+                sqlMetadata.setIsDoneFilters(true);
+                if (sqlSelect.getOffset() != null) {
+                    // Paging needs a stable row order, so OFFSET keeps the id ordering of the grouped traversal.
+                    graphTraversal.order().by(T.id);
+                }
+                if (!sqlSelect.isDistinct()) {
+                    // Skip and cut off rows before they are projected, DISTINCT has to dedup the projected rows first.
+                    applyRange(graphTraversal);
+                }
+                generateStreamingDataRetrieval(gremlinSqlIdentifiers, graphTraversal);
+                if (sqlMetadata.getRenamedColumns() == null) {
+                    throw SqlGremlinError.create(SqlGremlinError.COLUMN_RENAME_LIST_EMPTY);
+                }
+                if (sqlMetadata.getTables().size() != 1) {
+                    throw SqlGremlinError.create(SqlGremlinError.NO_TRAVERSAL_TABLE);
+                }
+                return graphTraversal;
+            }
+
             // Generate actual traversal.
-            applyWhere(graphTraversal);
+            applyWhere(graphTraversal, label);
             applyGroupBy(graphTraversal, label);
             applySelectValues(graphTraversal);
             applyOrderBy(graphTraversal, label);
@@ -160,7 +187,7 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
         final GraphTraversal<?, Map<String, ?>> graphTraversalDataPath = __.__();
         SqlTraversalEngine.addProjection(gremlinSqlIdentifiers, sqlMetadata, graphTraversalDataPath);
         applyColumnRetrieval(graphTraversalDataPath, projectLabel,
-                GremlinSqlFactory.createNodeList(sqlSelect.getSelectList().getList()));
+                GremlinSqlFactory.createNodeList(sqlSelect.getSelectList().getList(), sqlMetadata));
 
         SqlTraversalEngine.applyAggregateFold(sqlMetadata, graphTraversal);
         final GraphTraversal<?, ?> graphTraversalChoosePredicate = __.unfold();
@@ -168,6 +195,21 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
         graphTraversal.choose(graphTraversalChoosePredicate, graphTraversalDataPath, __.__());
     }
 
+    private void generateStreamingDataRetrieval(final List<GremlinSqlIdentifier> gremlinSqlIdentifiers,
+                                                final GraphTraversal<?, ?> graphTraversal) throws SQLException {
+        final String projectLabel = gremlinSqlIdentifiers.get(1).getName(0);
+        SqlTraversalEngine.addProjection(gremlinSqlIdentifiers, sqlMetadata, graphTraversal);
+        applyColumnRetrieval(graphTraversal, projectLabel,
+                GremlinSqlFactory.createNodeList(sqlSelect.getSelectList().getList(), sqlMetadata));
+    }
+
+    private boolean isNonAggregateQuery() {
+        return (sqlSelect.getGroup() == null || sqlSelect.getGroup().getList().isEmpty()) &&
+                sqlSelect.getHaving() == null &&
+                (sqlSelect.getOrderList() == null || sqlSelect.getOrderList().getList().isEmpty()) &&
+                sqlSelect.getSelectList().getList().stream().noneMatch(SqlMetadata::isAggregate);
+    }
+
     public String getStringTraversal() throws SQLException {
         return GroovyTranslator.of("g").translate(generateTraversal().asAdmin().getBytecode());
     }
@@ -183,7 +225,8 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
         } else {
             final List<GremlinSqlNode> gremlinSqlNodes = new ArrayList<>();
             for (final SqlNode sqlNode : sqlSelect.getGroup().getList()) {
-                gremlinSqlNodes.add(GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlIdentifier.class));
+                gremlinSqlNodes.add(
+                        GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlIdentifier.class, sqlMetadata));
             }
             graphTraversal.group();
             final List<GraphTraversal> byUnion = new ArrayList<>();
@@ -204,7 +247,7 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
         }
         final List<GremlinSqlNode> gremlinSqlIdentifiers = new ArrayList<>();
         for (final SqlNode sqlNode : sqlSelect.getOrderList().getList()) {
-            gremlinSqlIdentifiers.add(GremlinSqlFactory.createNode(sqlNode));
+            gremlinSqlIdentifiers.add(GremlinSqlFactory.createNode(sqlNode, sqlMetadata));
         }
         for (final GremlinSqlNode gremlinSqlNode : gremlinSqlIdentifiers) {
             appendByGraphTraversal(gremlinSqlNode, table, graphTraversal);
@@ -264,7 +307,8 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
             if (gremlinSqlLiteral.getValue() instanceof Number) {
                 final Number value = (Number) gremlinSqlLiteral.getValue();
                 if (sqlNodeList.size() <= value.intValue() || value.intValue() <= 0) {
-                    appendByGraphTraversal(GremlinSqlFactory.createNode(sqlNodeList.get(value.intValue() - 1)), table,
+                    appendByGraphTraversal(
+                            GremlinSqlFactory.createNode(sqlNodeList.get(value.intValue() - 1), sqlMetadata), table,
                             graphTraversal);
                 } else {
                     throw SqlGremlinError.create(SqlGremlinError.ORDER_BY_ORDINAL_VALUE);
@@ -282,8 +326,13 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
         applySqlFilter(sqlSelect.getHaving(), graphTraversal);
     }
 
-    protected void applyWhere(final GraphTraversal<?, ?> graphTraversal) throws SQLException {
-        applySqlFilter(sqlSelect.getWhere(), graphTraversal);
+    protected void applyWhere(final GraphTraversal<?, ?> graphTraversal, final String table) throws SQLException {
+        // Simple predicates become has() steps right after hasLabel(), the rest is filtered the regular way.
+        final List<SqlNode> remaining =
+                SqlFilterPushdown.apply(sqlSelect.getWhere(), table, sqlMetadata, graphTraversal);
+        for (final SqlNode sqlNode : remaining) {
+            applySqlFilter(sqlNode, graphTraversal);
+        }
     }
 
     void applySqlFilter(SqlNode sqlNode, GraphTraversal<?, ?> graphTraversal) throws SQLException {
@@ -299,19 +348,19 @@ public class GremlinSqlSelectSingle extends GremlinSqlSelect {
                     if (sqlBasicCall.getOperandList().size() == 1 && sqlBasicCall.operands.length == 1) {
                         GremlinSqlBinaryOperator.appendBooleanEquals(sqlMetadata, graphTraversal,
                                 GremlinSqlFactory.createNodeCheckType(sqlBasicCall.operands[0],
-                                        GremlinSqlIdentifier.class), false);
+                                        GremlinSqlIdentifier.class, sqlMetadata), false);
                         return;
                     }
                     throw SqlGremlinError.createNotSupported(SqlGremlinError.WHERE_NOT_ONLY_BOOLEAN);
                 }
                 throw SqlGremlinError.createNotSupported(SqlGremlinError.WHERE_UNSUPPORTED_PREFIX);
             }
-            GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlBasicCall.class)
+            GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlBasicCall.class, sqlMetadata)
                     .generateTraversal(graphTraversal);
             return;
         } else if (sqlNode instanceof SqlIdentifier) {
             GremlinSqlBinaryOperator.appendBooleanEquals(sqlMetadata, graphTraversal,
-                    GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlIdentifier.class), true);
+                    GremlinSqlFactory.createNodeCheckType(sqlNode, GremlinSqlIdentifier.class, sqlMetadata), true);
             return;
         }
         throw SqlGremlinError.createNotSupported(SqlGremlinError.WHERE_BASIC_LITERALS);
@@ -12,6 +12,7 @@ import org.slf4j.LoggerFactory;
 import org.twilmes.sql.gremlin.adapter.converter.schema.calcite.GremlinSchema;
 import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinEdgeTable;
 import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinProperty;
+import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
 import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -22,6 +23,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -29,12 +31,14 @@ import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
 public final class SqlSchemaGrabber {
+    public static final int DEFAULT_SAMPLE_SIZE = 1000;
     private static final Logger LOGGER = LoggerFactory.getLogger(SqlSchemaGrabber.class);
     private static final Map<Class<?>, String> TYPE_MAP = new HashMap<>();
     private static final String VERTEX_EDGES_LABEL_QUERY = "g.V().hasLabel('%s').%sE().label().dedup()";
     private static final String PROPERTIES_VALUE_QUERY = "g.%s().hasLabel('%s').values('%s').%s";
     private static final String PROPERTY_KEY_QUERY = "g.%s().hasLabel('%s').properties().key().dedup()";
     private static final String LABELS_QUERY = "g.%s().label().dedup()";
+    private static final String ID_QUERY = "g.%s().hasLabel('%s').limit(1).id()";
     private static final String IN_OUT_VERTEX_QUERY =
             "g.E().hasLabel('%s').project('in','out').by(inV().label()).by(outV().label()).dedup()";
 
@@ -54,13 +58,48 @@ public final class SqlSchemaGrabber {
     }
 
     public static GremlinSchema getSchema(final GraphTraversalSource g, final ScanType scanType) throws SQLException {
+        return getSchema(g, scanType, DEFAULT_SAMPLE_SIZE, null);
+    }
+
+    /**
+     * Gets the schema of the graph, reusing what has not changed since a previous schema of the same graph.
+     * The labels and property keys are always queried. Property types are only queried for keys that are not in the
+     * previous schema, and the connected labels of a table are only queried again if its keys or the labels it can
+     * connect to changed. Changes that leave all of these the same, like a property that now holds values of another
+     * type, are only picked up by a full scan.
+     *
+     * @param g              GraphTraversalSource of the graph.
+     * @param scanType       Scan type used to get the property types.
+     * @param sampleSize     Number of values of a property used to get its type with ScanType.Sample.
+     * @param previousSchema Previous schema of the graph, or null to scan the whole graph.
+     * @return GremlinSchema of the graph.
+     * @throws SQLException If the schema cannot be obtained.
+     */
+    public static GremlinSchema getSchema(final GraphTraversalSource g, final ScanType scanType, final int sampleSize,
+                                          final GremlinSchema previousSchema) throws SQLException {
         final ExecutorService executor = Executors.newFixedThreadPool(96,
                 new ThreadFactoryBuilder().setNameFormat("RxSessionRunner-%d").setDaemon(true).build());
         try {
-            final Future<List<GremlinVertexTable>> gremlinVertexTablesFuture =
-                    executor.submit(new RunGremlinQueryVertices(g, executor, scanType));
-            final Future<List<GremlinEdgeTable>> gremlinEdgeTablesFuture =
-                    executor.submit(new RunGremlinQueryEdges(g, executor, scanType));
+            final Map<String, GremlinVertexTable> previousVertexTables = new HashMap<>();
+            final Map<String, GremlinEdgeTable> previousEdgeTables = new HashMap<>();
+            if (previousSchema != null) {
+                previousSchema.getVertices().forEach(table -> previousVertexTables.put(table.getLabel(), table));
+                previousSchema.getEdges().forEach(table -> previousEdgeTables.put(table.getLabel(), table));
+            }
+            final Future<List<String>> vertexLabelsFuture = executor.submit(new RunGremlinQueryLabels(true, g));
+            final Future<List<String>> edgeLabelsFuture = executor.submit(new RunGremlinQueryLabels(false, g));
+            final List<String> vertexLabels = vertexLabelsFuture.get();
+            final List<String> edgeLabels = edgeLabelsFuture.get();
+            // Connected labels can only be reused while the labels they refer to stayed the same.
+            final boolean vertexLabelsChanged = !previousVertexTables.keySet().equals(new HashSet<>(vertexLabels));
+            final boolean edgeLabelsChanged = !previousEdgeTables.keySet().equals(new HashSet<>(edgeLabels));
+
+            final Future<List<GremlinVertexTable>> gremlinVertexTablesFuture = executor.submit(
+                    new RunGremlinQueryVertices(g, executor, scanType, sampleSize, vertexLabels, previousVertexTables,
+                            !edgeLabelsChanged));
+            final Future<List<GremlinEdgeTable>> gremlinEdgeTablesFuture = executor.submit(
+                    new RunGremlinQueryEdges(g, executor, scanType, sampleSize, edgeLabels, previousEdgeTables,
+                            !vertexLabelsChanged));
             final GremlinSchema gremlinSchema =
                     new GremlinSchema(gremlinVertexTablesFuture.get(), gremlinEdgeTablesFuture.get());
             executor.shutdown();
@@ -101,7 +140,9 @@ public final class SqlSchemaGrabber {
 
     public enum ScanType {
         First("First"),
-        All("All");
+        All("All"),
+        // Types are inferred from a bounded number of values per property, the bound is applied on the server side.
+        Sample("Sample");
 
         private final String stringValue;
 
@@ -130,31 +171,79 @@ public final class SqlSchemaGrabber {
         }
     }
 
+    private static Map<String, GremlinProperty> getColumns(final GremlinTableBase table) {
+        return (table == null) ? new HashMap<>() : table.getColumns();
+    }
+
+    // The id type of a label does not change, so it is only queried for labels that are not in the previous schema.
+    private static Future<String> submitIdType(final ExecutorService service, final GraphTraversalSource g,
+                                               final boolean isVertex, final String label,
+                                               final GremlinTableBase previousTable) {
+        return (previousTable == null) ? service.submit(new RunGremlinQueryIdType(isVertex, label, g)) : null;
+    }
+
+    private static String getIdType(final Future<String> idType, final GremlinTableBase previousTable)
+            throws ExecutionException, InterruptedException {
+        return (idType == null) ? previousTable.getIdType() : idType.get();
+    }
+
+    // The primary and foreign key columns are derived from the connected labels, so the columns of a table built
+    // with its previous connected labels only match the previous table if the property keys are the same.
+    private static boolean hasSameColumns(final GremlinTableBase table, final GremlinTableBase previousTable) {
+        return (previousTable != null) && table.getColumns().keySet().equals(previousTable.getColumns().keySet());
+    }
+
     @AllArgsConstructor
     static
     class RunGremlinQueryVertices implements Callable<List<GremlinVertexTable>> {
         private final GraphTraversalSource g;
         private final ExecutorService service;
         private final ScanType scanType;
+        private final int sampleSize;
+        private final List<String> labels;
+        private final Map<String, GremlinVertexTable> previousTables;
+        private final boolean reuseConnectedLabels;
 
         @Override
         public List<GremlinVertexTable> call() throws Exception {
             final List<Future<List<GremlinProperty>>> gremlinProperties = new ArrayList<>();
             final List<Future<List<String>>> gremlinVertexInEdgeLabels = new ArrayList<>();
             final List<Future<List<String>>> gremlinVertexOutEdgeLabels = new ArrayList<>();
-            final List<String> labels = service.submit(new RunGremlinQueryLabels(true, g)).get();
+            final List<Future<String>> idTypes = new ArrayList<>();
 
             for (final String label : labels) {
-                gremlinProperties.add(service.submit(
-                        new RunGremlinQueryPropertiesList(true, label, g, scanType, service)));
-                gremlinVertexInEdgeLabels.add(service.submit(new RunGremlinQueryVertexEdges(g, label, "in")));
-                gremlinVertexOutEdgeLabels.add(service.submit(new RunGremlinQueryVertexEdges(g, label, "out")));
+                final GremlinVertexTable previousTable = previousTables.get(label);
+                gremlinProperties.add(service.submit(new RunGremlinQueryPropertiesList(true, label, g, scanType,
+                        sampleSize, service, getColumns(previousTable))));
+                idTypes.add(submitIdType(service, g, true, label, previousTable));
+                if (previousTable == null || !reuseConnectedLabels) {
+                    gremlinVertexInEdgeLabels.add(service.submit(new RunGremlinQueryVertexEdges(g, label, "in")));
+                    gremlinVertexOutEdgeLabels.add(service.submit(new RunGremlinQueryVertexEdges(g, label, "out")));
+                } else {
+                    // Resolved once the property keys are known.
+                    gremlinVertexInEdgeLabels.add(null);
+                    gremlinVertexOutEdgeLabels.add(null);
+                }
             }
 
             final List<GremlinVertexTable> gremlinVertexTables = new ArrayList<>();
             for (int i = 0; i < labels.size(); i++) {
-                gremlinVertexTables.add(new GremlinVertexTable(labels.get(i), gremlinProperties.get(i).get(),
-                        gremlinVertexInEdgeLabels.get(i).get(), gremlinVertexOutEdgeLabels.get(i).get()));
+                final String label = labels.get(i);
+                final List<GremlinProperty> columns = gremlinProperties.get(i).get();
+                final String idType = getIdType(idTypes.get(i), previousTables.get(label));
+                if (gremlinVertexInEdgeLabels.get(i) == null) {
+                    final GremlinVertexTable previousTable = previousTables.get(label);
+                    final GremlinVertexTable table = new GremlinVertexTable(label, columns,
+                            previousTable.getInEdges(), previousTable.getOutEdges(), idType);
+                    if (hasSameColumns(table, previousTable)) {
+                        gremlinVertexTables.add(table);
+                        continue;
+                    }
+                    gremlinVertexInEdgeLabels.set(i, service.submit(new RunGremlinQueryVertexEdges(g, label, "in")));
+                    gremlinVertexOutEdgeLabels.set(i, service.submit(new RunGremlinQueryVertexEdges(g, label, "out")));
+                }
+                gremlinVertexTables.add(new GremlinVertexTable(label, columns,
+                        gremlinVertexInEdgeLabels.get(i).get(), gremlinVertexOutEdgeLabels.get(i).get(), idType));
             }
             return gremlinVertexTables;
         }
@@ -165,23 +254,46 @@ public final class SqlSchemaGrabber {
         private final GraphTraversalSource g;
         private final ExecutorService service;
         private final ScanType scanType;
+        private final int sampleSize;
+        private final List<String> labels;
+        private final Map<String, GremlinEdgeTable> previousTables;
+        private final boolean reuseConnectedLabels;
 
         @Override
         public List<GremlinEdgeTable> call() throws Exception {
             final List<Future<List<GremlinProperty>>> futureTableColumns = new ArrayList<>();
             final List<Future<List<Pair<String, String>>>> inOutLabels = new ArrayList<>();
-            final List<String> labels = service.submit(new RunGremlinQueryLabels(false, g)).get();
+            final List<Future<String>> idTypes = new ArrayList<>();
 
             for (final String label : labels) {
-                futureTableColumns.add(service.submit(
-                        new RunGremlinQueryPropertiesList(false, label, g, scanType, service)));
-                inOutLabels.add(service.submit(new RunGremlinQueryInOutV(g, label)));
+                final GremlinEdgeTable previousTable = previousTables.get(label);
+                futureTableColumns.add(service.submit(new RunGremlinQueryPropertiesList(false, label, g, scanType,
+                        sampleSize, service, getColumns(previousTable))));
+                idTypes.add(submitIdType(service, g, false, label, previousTable));
+                if (previousTable == null || !reuseConnectedLabels) {
+                    inOutLabels.add(service.submit(new RunGremlinQueryInOutV(g, label)));
+                } else {
+                    // Resolved once the property keys are known.
+                    inOutLabels.add(null);
+                }
             }
 
             final List<GremlinEdgeTable> gremlinEdgeTables = new ArrayList<>();
             for (int i = 0; i < labels.size(); i++) {
-                gremlinEdgeTables.add(new GremlinEdgeTable(labels.get(i), futureTableColumns.get(i).get(),
-                        inOutLabels.get(i).get()));
+                final String label = labels.get(i);
+                final List<GremlinProperty> columns = futureTableColumns.get(i).get();
+                final String idType = getIdType(idTypes.get(i), previousTables.get(label));
+                if (inOutLabels.get(i) == null) {
+                    final GremlinEdgeTable previousTable = previousTables.get(label);
+                    final GremlinEdgeTable table =
+                            new GremlinEdgeTable(label, columns, previousTable.getInOutVertexPairs(), idType);
+                    if (hasSameColumns(table, previousTable)) {
+                        gremlinEdgeTables.add(table);
+                        continue;
+                    }
+                    inOutLabels.set(i, service.submit(new RunGremlinQueryInOutV(g, label)));
+                }
+                gremlinEdgeTables.add(new GremlinEdgeTable(label, columns, inOutLabels.get(i).get(), idType));
             }
             return gremlinEdgeTables;
         }
@@ -211,14 +323,22 @@ public final class SqlSchemaGrabber {
         private final String property;
         private final GraphTraversalSource g;
         private final ScanType strategy;
+        private final int sampleSize;
 
         @Override
         public String call() {
             final String query = String.format(PROPERTIES_VALUE_QUERY, isVertex ? "V" : "E", label, property,
-                    strategy.equals(ScanType.First) ? "next(1)" : "toSet()");
+                    strategy.equals(ScanType.First) ? "next(1)" :
+                            strategy.equals(ScanType.Sample) ? String.format("limit(%d).toList()", sampleSize) :
+                                    "toSet()");
             LOGGER.debug(String.format("Start %s%n", query));
             final GraphTraversal<?, ?> graphTraversal = isVertex ? g.V() : g.E();
             graphTraversal.hasLabel(label).values(property);
+            if (strategy.equals(ScanType.Sample)) {
+                // The limit bounds the values read, so the server stops early even if a property has few distinct
+                // values. Duplicates are removed on the client.
+                graphTraversal.limit(sampleSize);
+            }
             final HashSet<?> data =
                     new HashSet<>(strategy.equals(ScanType.First) ? graphTraversal.next(1) : graphTraversal.toList());
             LOGGER.debug(String.format("End %s%n", query));
@@ -232,7 +352,10 @@ public final class SqlSchemaGrabber {
         private final String label;
         private final GraphTraversalSource g;
         private final ScanType scanType;
+        private final int sampleSize;
         private final ExecutorService service;
+        // Columns of the previous table of the label, their types are reused instead of queried again.
+        private final Map<String, GremlinProperty> previousColumns;
 
         @Override
         public List<GremlinProperty> call() throws ExecutionException, InterruptedException {
@@ -244,13 +367,18 @@ public final class SqlSchemaGrabber {
 
             final List<Future<String>> propertyTypes = new ArrayList<>();
             for (final String property : properties) {
-                propertyTypes.add(service
-                        .submit(new RunGremlinQueryPropertyType(isVertex, label, property, g, scanType)));
+                propertyTypes.add(previousColumns.containsKey(property) ? null : service
+                        .submit(new RunGremlinQueryPropertyType(isVertex, label, property, g, scanType, sampleSize)));
             }
 
             final List<GremlinProperty> columns = new ArrayList<>();
             for (int i = 0; i < properties.size(); i++) {
-                columns.add(new GremlinProperty(properties.get(i), propertyTypes.get(i).get().toLowerCase(Locale.getDefault())));
+                if (propertyTypes.get(i) == null) {
+                    columns.add(previousColumns.get(properties.get(i)));
+                } else {
+                    columns.add(new GremlinProperty(properties.get(i),
+                            propertyTypes.get(i).get().toLowerCase(Locale.getDefault())));
+                }
             }
 
             LOGGER.debug(String.format("End %s%n", query));
@@ -258,6 +386,33 @@ public final class SqlSchemaGrabber {
         }
     }
 
+    @AllArgsConstructor
+    static class RunGremlinQueryIdType implements Callable<String> {
+        private final boolean isVertex;
+        private final String label;
+        private final GraphTraversalSource g;
+
+        @Override
+        public String call() {
+            final String query = String.format(ID_QUERY, isVertex ? "V" : "E", label);
+            LOGGER.debug(String.format("Start %s%n", query));
+            final List<Object> ids = (isVertex ? g.V() : g.E()).hasLabel(label).limit(1).id().toList();
+            LOGGER.debug(String.format("End %s%n", query));
+            if (ids.isEmpty()) {
+                return GremlinTableBase.DEFAULT_ID_TYPE;
+            }
+            final Object id = ids.get(0);
+            if (id instanceof Long) {
+                return "long";
+            } else if (id instanceof Integer) {
+                return "integer";
+            } else if (id instanceof UUID) {
+                return "uuid";
+            }
+            return GremlinTableBase.DEFAULT_ID_TYPE;
+        }
+    }
+
     @AllArgsConstructor
     static class RunGremlinQueryLabels implements Callable<List<String>> {
         private final boolean isVertex;
@@ -20,7 +20,7 @@
 package org.twilmes.sql.gremlin.adapter.converter.schema.calcite;
 
 import com.google.common.collect.ImmutableMap;
-import lombok.AllArgsConstructor;
+import lombok.Getter;
 import org.apache.calcite.schema.Table;
 import org.apache.calcite.schema.impl.AbstractSchema;
 import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinEdgeTable;
@@ -29,16 +29,26 @@ import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinVertexTab
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
  * Created by twilmes on 9/22/15.
  * Modified by lyndonb-bq on 05/17/21.
  */
-@AllArgsConstructor
 public class GremlinSchema extends AbstractSchema {
+    private static final AtomicLong NEXT_VERSION = new AtomicLong();
     private final List<GremlinVertexTable> vertices;
     private final List<GremlinEdgeTable> edges;
+    // Unique per schema instance, identifies the schema that anything derived from it was built against.
+    @Getter
+    private final long version;
+
+    public GremlinSchema(final List<GremlinVertexTable> vertices, final List<GremlinEdgeTable> edges) {
+        this.vertices = vertices;
+        this.edges = edges;
+        this.version = NEXT_VERSION.incrementAndGet();
+    }
 
     @Override
     protected Map<String, Table> getTableMap() {
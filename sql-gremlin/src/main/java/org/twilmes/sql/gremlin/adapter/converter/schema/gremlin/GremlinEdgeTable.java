@@ -35,7 +35,12 @@ public class GremlinEdgeTable extends GremlinTableBase {
 
     public GremlinEdgeTable(final String label, final List<GremlinProperty> columns,
                             final List<Pair<String, String>> inOutVertexPairs) {
-        super(label, false, convert(label, columns, inOutVertexPairs));
+        this(label, columns, inOutVertexPairs, DEFAULT_ID_TYPE);
+    }
+
+    public GremlinEdgeTable(final String label, final List<GremlinProperty> columns,
+                            final List<Pair<String, String>> inOutVertexPairs, final String idType) {
+        super(label, false, convert(label, columns, inOutVertexPairs), idType);
         this.inOutVertexPairs = inOutVertexPairs;
     }
 
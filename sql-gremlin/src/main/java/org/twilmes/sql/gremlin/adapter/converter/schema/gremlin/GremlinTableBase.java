@@ -44,16 +44,25 @@ public class GremlinTableBase extends AbstractQueryableTable implements Translat
     private final String label;
     private final Boolean isVertex;
     private final Map<String, GremlinProperty> columns;
+    // Type of the ids of the elements of the label, the id literals of a query are converted to it.
+    private final String idType;
     public static final String ID = "_ID";
     public static final String IN_ID = "_IN" + ID;
     public static final String OUT_ID = "_OUT" + ID;
+    public static final String DEFAULT_ID_TYPE = "string";
 
     public GremlinTableBase(final String label, final Boolean isVertex,
                             final Map<String, GremlinProperty> columns) {
+        this(label, isVertex, columns, DEFAULT_ID_TYPE);
+    }
+
+    public GremlinTableBase(final String label, final Boolean isVertex,
+                            final Map<String, GremlinProperty> columns, final String idType) {
         super(Object[].class);
         this.label = label;
         this.isVertex = isVertex;
         this.columns = columns;
+        this.idType = (idType == null) ? DEFAULT_ID_TYPE : idType;
     }
 
     public GremlinProperty getColumn(final String column) throws SQLException {
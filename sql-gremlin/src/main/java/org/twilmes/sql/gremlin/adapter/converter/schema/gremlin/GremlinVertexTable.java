@@ -30,7 +30,12 @@ public class GremlinVertexTable extends GremlinTableBase {
     private final List<String> outEdges;
 
     public GremlinVertexTable(final String label, final List<GremlinProperty> columns, final List<String> inEdges, final List<String> outEdges) {
-        super(label, true, convert(label, columns, inEdges, outEdges));
+        this(label, columns, inEdges, outEdges, DEFAULT_ID_TYPE);
+    }
+
+    public GremlinVertexTable(final String label, final List<GremlinProperty> columns, final List<String> inEdges,
+                              final List<String> outEdges, final String idType) {
+        super(label, true, convert(label, columns, inEdges, outEdges), idType);
         this.inEdges = inEdges;
         this.outEdges = outEdges;
     }
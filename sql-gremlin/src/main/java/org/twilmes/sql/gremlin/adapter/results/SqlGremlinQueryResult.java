@@ -19,26 +19,58 @@
 
 package org.twilmes.sql.gremlin.adapter.results;
 
+import lombok.AccessLevel;
 import lombok.Getter;
+import lombok.Setter;
 import org.twilmes.sql.gremlin.adapter.converter.SqlMetadata;
-import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 @Getter
 public class SqlGremlinQueryResult implements AutoCloseable {
     public static final String EMPTY_MESSAGE = "No more results.";
     public static final String NULL_VALUE = "$%#NULL#%$";
+    public static final int DEFAULT_PAGE_SIZE = 1000;
+    // Maximum number of pages buffered ahead of the consumer before the producer blocks.
+    public static final int PAGE_QUEUE_CAPACITY = 4;
+    private static final long OFFER_TIMEOUT_MILLIS = 100;
+    private static final List<List<Object>> END_OF_RESULTS = Collections.singletonList(new EmptyResult());
     private final List<String> columns;
     private final List<String> columnTypes = new ArrayList<>();
-    private final BlockingQueue<List<Object>> blockingQueueRows = new LinkedBlockingQueue<>();
-    private SQLException paginationException = null;
+    @Getter(AccessLevel.NONE)
+    private final BlockingQueue<List<List<Object>>> blockingQueuePages =
+            new ArrayBlockingQueue<>(PAGE_QUEUE_CAPACITY);
+    // Page currently being read by the consumer, only accessed from the consumer thread.
+    @Getter(AccessLevel.NONE)
+    private List<List<Object>> currentPage = null;
+    @Getter(AccessLevel.NONE)
+    private int currentPageIndex = 0;
+    @Setter
+    private volatile int pageSize;
+    private volatile boolean cancelled = false;
+    // Set if the results were cancelled because the query timeout was reached while they were paged in.
+    private volatile boolean timedOut = false;
+    private volatile SQLException paginationException = null;
+    // Traversal producing the pages, closed on cancel so that it stops even while it waits on the database.
+    @Getter(AccessLevel.NONE)
+    private volatile AutoCloseable producer = null;
+    // Completed once the consumer has read to the end of the results or cancelled them.
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
 
     public SqlGremlinQueryResult(final List<String> columns, final SqlMetadata sqlMetadata) throws SQLException {
+        this(columns, sqlMetadata, DEFAULT_PAGE_SIZE);
+    }
+
+    public SqlGremlinQueryResult(final List<String> columns, final SqlMetadata sqlMetadata, final int pageSize)
+            throws SQLException {
         this.columns = columns;
+        this.pageSize = pageSize;
         for (final String column : columns) {
             columnTypes.add(sqlMetadata.getType(column));
         }
@@ -49,29 +81,117 @@ public class SqlGremlinQueryResult implements AutoCloseable {
         close();
     }
 
+    /**
+     * Signals that the producer has no more results.
+     */
     @Override
     public void close() {
-        blockingQueueRows.add(new EmptyResult());
+        putPage(END_OF_RESULTS);
+    }
+
+    /**
+     * Stops the producer and releases any buffered pages. Called when the consumer is done with the results, or from
+     * another thread to cancel them, a consumer waiting for the next page then gets the end of the results.
+     *
+     * @return true if the results had not been read to the end or cancelled yet.
+     */
+    public boolean cancel() {
+        if (!completion.complete(null)) {
+            return false;
+        }
+        cancelled = true;
+        blockingQueuePages.clear();
+        closeProducer();
+        // The producer no longer adds pages, so there is room to wake up a waiting consumer.
+        blockingQueuePages.offer(END_OF_RESULTS);
+        return true;
+    }
+
+    /**
+     * Cancels the results because the query timeout was reached before they were read to the end.
+     *
+     * @return true if the results had not been read to the end or cancelled yet.
+     */
+    public boolean timeOut() {
+        if (completion.isDone()) {
+            return false;
+        }
+        timedOut = true;
+        return cancel();
+    }
+
+    /**
+     * Sets the traversal producing the results, it is closed if the results are cancelled.
+     *
+     * @param producer Producer of the results.
+     */
+    public void setProducer(final AutoCloseable producer) {
+        this.producer = producer;
+        if (cancelled) {
+            closeProducer();
+        }
     }
 
+    private void closeProducer() {
+        final AutoCloseable currentProducer = producer;
+        if (currentProducer != null) {
+            try {
+                currentProducer.close();
+            } catch (final Exception ignored) {
+            }
+        }
+    }
+
+    /**
+     * Hands a page of rows to the consumer, blocking while the page queue is full.
+     *
+     * @param rows Page of rows.
+     */
     public void addResults(final List<List<Object>> rows) {
-        // This is a workaround for Gremlin null support not being in any version of Gremlin that is
-        // widely supported by database vendors.
-        rows.forEach(row -> row.replaceAll(col -> (col instanceof String && col.equals(NULL_VALUE) ? null : col)));
-        blockingQueueRows.addAll(rows);
+        if (!rows.isEmpty()) {
+            putPage(rows);
+        }
+    }
+
+    private void putPage(final List<List<Object>> page) {
+        try {
+            // Poll the cancelled flag so that a consumer that stopped reading does not block the producer forever.
+            while (!cancelled && !blockingQueuePages.offer(page, OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                continue;
+            }
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     public List<Object> getResult() throws SQLException {
+        if (currentPage == null || currentPageIndex >= currentPage.size()) {
+            currentPage = takePage();
+            currentPageIndex = 0;
+        }
+
+        // Stay on the end of results marker once it has been reached.
+        if (currentPage == END_OF_RESULTS) {
+            completion.complete(null);
+            return currentPage.get(0);
+        }
+        return currentPage.get(currentPageIndex++);
+    }
+
+    private List<List<Object>> takePage() throws SQLException {
         while (true) {
             try {
-                final List<Object> result = blockingQueueRows.take();
+                final List<List<Object>> page = blockingQueuePages.take();
+                if (cancelled) {
+                    return END_OF_RESULTS;
+                }
 
                 // If a pagination exception occurs, an EmptyResult Object will be inserted into the BlockingQueue.
                 // The pagination exception needs to be checked before returning.
                 if (paginationException != null) {
                     throw paginationException;
                 }
-                return result;
+                return page;
             } catch (final InterruptedException ignored) {
             }
         }
@@ -36,31 +36,39 @@ import java.util.Map;
 @AllArgsConstructor
 public class Pagination implements Runnable {
     private static final Logger LOGGER = LoggerFactory.getLogger(Pagination.class);
-    private static final int DEFAULT_PAGE_SIZE = 1000;
-    private final int pageSize = DEFAULT_PAGE_SIZE;
     private final GetRowFromMap getRowFromMap;
     private final GraphTraversal<?, ?> traversal;
     private final SqlGremlinQueryResult sqlGremlinQueryResult;
 
     @Override
     public void run() {
+        sqlGremlinQueryResult.setProducer(traversal);
         try {
             LOGGER.info("Graph traversal: " +
                     GroovyTranslator.of("g").translate(traversal.asAdmin().getBytecode()));
-            while (traversal.hasNext()) {
-                final List<Object> rows = new ArrayList<>();
-                traversal.next(pageSize).forEach(map -> {
+            // Each page is handed off as a whole, the result blocks us while the consumer is behind and stops us
+            // once it has been cancelled.
+            while (!sqlGremlinQueryResult.isCancelled() && traversal.hasNext()) {
+                final List<?> results = traversal.next(sqlGremlinQueryResult.getPageSize());
+                final List<List<Object>> rows = new ArrayList<>(results.size());
+                for (final Object map : results) {
                     // Our choose(<predicate>, <expected>, <empty>) returns an empty list.
                     // If we get that, we just want to skip over it.
                     if (map instanceof Map) {
-                        rows.add(getRowFromMap.execute((Map<String, Object>) map));
+                        // Readers already translate null markers, so the row array can be wrapped without copying.
+                        rows.add(Arrays.asList(getRowFromMap.execute((Map<String, Object>) map)));
                     }
-                });
-                convertAndInsertResult(sqlGremlinQueryResult, rows);
+                }
+                sqlGremlinQueryResult.addResults(rows);
             }
             // If we run out of traversal data (or hit our limit), stop and signal to the result that it is done.
             sqlGremlinQueryResult.close();
         } catch (final Exception e) {
+            if (sqlGremlinQueryResult.isCancelled()) {
+                // Closing the traversal on cancel may fail the step it was waiting on.
+                LOGGER.debug("Traversal stopped after the results were cancelled.", e);
+                return;
+            }
             final StringWriter sw = new StringWriter();
             final PrintWriter pw = new PrintWriter(sw);
             e.printStackTrace(pw);
@@ -77,21 +85,4 @@ public class Pagination implements Runnable {
         } catch (final Exception ignored) {
         }
     }
-
-    /**
-     * converts input row results and insert them into sqlGremlinQueryResult
-     */
-    void convertAndInsertResult(final SqlGremlinQueryResult sqlGremlinQueryResult, final List<Object> rows) {
-        final List<List<Object>> finalRowResult = new ArrayList<>();
-        for (final Object row : rows) {
-            final List<Object> convertedRow = new ArrayList<>();
-            if (row instanceof Object[]) {
-                convertedRow.addAll(Arrays.asList((Object[]) row));
-            } else {
-                convertedRow.add(row);
-            }
-            finalRowResult.add(convertedRow);
-        }
-        sqlGremlinQueryResult.addResults(finalRowResult);
-    }
 }
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.twilmes.sql.gremlin.adapter.results.pagination;
+
+import org.apache.calcite.util.Pair;
+import org.twilmes.sql.gremlin.adapter.results.SqlGremlinQueryResult;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads rows out of the table and column maps returned by the traversal. Keys are matched case insensitively,
+ * the actual key found for each cell is remembered so that following rows of the same shape are read with direct
+ * lookups. A remembered key that is missing from a row is resolved again.
+ */
+abstract class ResolvedKeyDataReader implements GetRowFromMap {
+    private final String[] tables;
+    private final String[] columns;
+    private final String[] tableKeys;
+    private final String[] columnKeys;
+
+    ResolvedKeyDataReader(final List<Pair<String, String>> tableColumnList) {
+        final int size = tableColumnList.size();
+        tables = new String[size];
+        columns = new String[size];
+        tableKeys = new String[size];
+        columnKeys = new String[size];
+        for (int i = 0; i < size; i++) {
+            tables[i] = tableColumnList.get(i).left;
+            columns[i] = tableColumnList.get(i).right;
+        }
+    }
+
+    @Override
+    public Object[] execute(final Map<String, Object> map) {
+        final Object[] row = new Object[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            final String tableKey = resolveKey(map, tableKeys[i], tables[i]);
+            if (tableKey == null) {
+                continue;
+            }
+            tableKeys[i] = tableKey;
+
+            final Map<String, Object> tableMap = (Map<String, Object>) map.get(tableKey);
+            final String columnKey = resolveKey(tableMap, columnKeys[i], columns[i]);
+            if (columnKey == null) {
+                continue;
+            }
+            columnKeys[i] = columnKey;
+
+            final Object value = tableMap.get(columnKey);
+            // This is a workaround for Gremlin null support not being in any version of Gremlin that is
+            // widely supported by database vendors.
+            row[i] = SqlGremlinQueryResult.NULL_VALUE.equals(value) ? null : value;
+        }
+        return row;
+    }
+
+    private static String resolveKey(final Map<String, ?> map, final String resolvedKey, final String name) {
+        if (resolvedKey != null && map.containsKey(resolvedKey)) {
+            return resolvedKey;
+        }
+        for (final String key : map.keySet()) {
+            if (key.equalsIgnoreCase(name)) {
+                return key;
+            }
+        }
+        return null;
+    }
+}
@@ -19,17 +19,33 @@
 
 package org.twilmes.sql.gremlin.adapter;
 
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.EmptyStep;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.decoration.OptionsStrategy;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
+import org.twilmes.sql.gremlin.adapter.converter.SqlConverter;
+import org.twilmes.sql.gremlin.adapter.converter.SqlPlanCache;
+import org.twilmes.sql.gremlin.adapter.converter.schema.SqlSchemaGrabber;
+import org.twilmes.sql.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+import org.twilmes.sql.gremlin.adapter.results.SqlGremlinQueryResult;
 import org.twilmes.sql.gremlin.adapter.util.SqlGremlinError;
 
 import java.math.BigDecimal;
 import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Created by twilmes on 12/7/15.
  */
 public class GremlinSqlAdvancedSelectTest extends GremlinSqlBaseTest {
+    private static final String EVALUATION_TIMEOUT = "evaluationTimeout";
 
     GremlinSqlAdvancedSelectTest() throws SQLException {
     }
@@ -45,6 +61,113 @@ public class GremlinSqlAdvancedSelectTest extends GremlinSqlBaseTest {
                 rows(r("Tom"), r("Patty"), r("Phil"), r("Susan"), r("Juanita"), r("Pavel")));
     }
 
+    @Test
+    public void testProjectPaged() throws SQLException {
+        // More pages than the result buffers, so the pagination thread has to wait on the reader.
+        runQueryTestResults("select name from person", 1, columns("name"),
+                rows(r("Tom"), r("Patty"), r("Phil"), r("Susan"), r("Juanita"), r("Pavel")));
+        runQueryTestResults("select name from person", 4, columns("name"),
+                rows(r("Tom"), r("Patty"), r("Phil"), r("Susan"), r("Juanita"), r("Pavel")));
+    }
+
+    @Test
+    public void testCancelResults() throws SQLException {
+        // Pages of one row, so the pagination thread is still producing when the results are cancelled.
+        final SqlGremlinQueryResult result =
+                getConverter().executeQuery(getGraphTraversalSource(), "SELECT name FROM person", 1);
+        Assertions.assertFalse(result.getResult() instanceof SqlGremlinQueryResult.EmptyResult);
+        Assertions.assertTrue(result.cancel());
+        Assertions.assertTrue(result.isCancelled());
+        Assertions.assertTrue(result.getResult() instanceof SqlGremlinQueryResult.EmptyResult);
+        Assertions.assertTrue(result.getCompletion().isDone());
+
+        // Results that were read to the end cannot be cancelled anymore.
+        Assertions.assertFalse(result.cancel());
+        final SqlGremlinQueryResult readResult =
+                getConverter().executeQuery(getGraphTraversalSource(), "SELECT name FROM person WHERE age > 35");
+        while (!(readResult.getResult() instanceof SqlGremlinQueryResult.EmptyResult)) {
+            continue;
+        }
+        Assertions.assertFalse(readResult.cancel());
+        Assertions.assertFalse(readResult.isCancelled());
+    }
+
+    @Test
+    public void testPlanCache() throws SQLException {
+        final long misses = getConverter().getPlanCacheMissCount();
+        runQueryTestResults("SELECT name FROM person WHERE age > 35", columns("name"),
+                rows(r("Susan"), r("Juanita")));
+        Assertions.assertEquals(misses + 1, getConverter().getPlanCacheMissCount());
+
+        // Same query with different formatting should execute the cached plan.
+        final long hits = getConverter().getPlanCacheHitCount();
+        runQueryTestResults("SELECT  name\n FROM person   WHERE age > 35", columns("name"),
+                rows(r("Susan"), r("Juanita")));
+        Assertions.assertEquals(hits + 1, getConverter().getPlanCacheHitCount());
+        Assertions.assertEquals(misses + 1, getConverter().getPlanCacheMissCount());
+
+        // A line comment ends at the line break, the two queries only differ in whitespace but filter differently.
+        runQueryTestResults("SELECT name FROM person --\nWHERE age > 35", columns("name"),
+                rows(r("Susan"), r("Juanita")));
+        runQueryTestResults("SELECT name FROM person -- WHERE age > 35", columns("name"),
+                rows(r("Tom"), r("Patty"), r("Phil"), r("Susan"), r("Juanita"), r("Pavel")));
+    }
+
+    @Test
+    public void testSharedPlanCache() throws SQLException {
+        final GraphTraversalSource g = getGraphTraversalSource();
+        final GremlinSchema gremlinSchema = SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All);
+        final SqlPlanCache planCache = new SqlPlanCache();
+        final String query = "SELECT name FROM person WHERE age > 35";
+
+        // Converters of the same schema reuse each other's plans.
+        new SqlGremlinTestResult(new SqlConverter(gremlinSchema, planCache).executeQuery(g, query));
+        new SqlGremlinTestResult(new SqlConverter(gremlinSchema, planCache).executeQuery(g, query));
+        Assertions.assertEquals(1, planCache.getHitCount());
+        Assertions.assertEquals(1, planCache.getMissCount());
+
+        // A refreshed schema is a new schema instance, its converter must not reuse plans of the old one.
+        final GremlinSchema refreshedSchema = SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All);
+        new SqlGremlinTestResult(new SqlConverter(refreshedSchema, planCache).executeQuery(g, query));
+        Assertions.assertEquals(1, planCache.getHitCount());
+        Assertions.assertEquals(2, planCache.getMissCount());
+    }
+
+    @Test
+    public void testPlanCacheTimeout() throws SQLException {
+        // Records the evaluation timeout that each executed traversal carries.
+        final List<Object> timeouts = new CopyOnWriteArrayList<>();
+        final GraphTraversalSource g = getGraphTraversalSource().withStrategies(new TimeoutRecordingStrategy(timeouts));
+        final SqlConverter converter = getConverter();
+        final String query = "SELECT name FROM person WHERE age < 30";
+
+        // The second run reuses the plan of the first, but must use its own timeout.
+        new SqlGremlinTestResult(converter.executeQuery(g.with(EVALUATION_TIMEOUT, 1000L), query));
+        final long hits = converter.getPlanCacheHitCount();
+        new SqlGremlinTestResult(converter.executeQuery(g.with(EVALUATION_TIMEOUT, 2000L), query));
+        Assertions.assertEquals(hits + 1, converter.getPlanCacheHitCount());
+        new SqlGremlinTestResult(converter.executeQuery(g, query));
+        Assertions.assertEquals(Arrays.asList(1000L, 2000L, null), timeouts);
+    }
+
+    @Test
+    public void testNonAggregateTraversal() throws SQLException {
+        // Projection, filter and limit only queries should stream without a grouping or ordering barrier.
+        String traversal = getStringTraversal("SELECT name FROM person WHERE age > 30 LIMIT 2");
+        Assertions.assertTrue(traversal.startsWith("g.V().hasLabel(\"person\")"), traversal);
+        Assertions.assertFalse(traversal.contains("group()"), traversal);
+        Assertions.assertFalse(traversal.contains("order()"), traversal);
+        runQueryTestResults("SELECT name FROM person WHERE age > 30 LIMIT 2", columns("name"),
+                rows(r("Tom"), r("Phil")));
+
+        // Ordering and aggregation still go through the grouped traversal.
+        traversal = getStringTraversal("SELECT name FROM person ORDER BY name");
+        Assertions.assertTrue(traversal.contains("group()"), traversal);
+        Assertions.assertTrue(traversal.contains("order()"), traversal);
+        traversal = getStringTraversal("SELECT COUNT(name) FROM person");
+        Assertions.assertTrue(traversal.contains("group()"), traversal);
+    }
+
     @Test
     public void testEdges() throws SQLException {
         runQueryTestResults("select * from worksFor where yearsWorked = 9", columns("person_OUT_ID", "company_IN_ID", "yearsWorked", "worksFor_ID"),
@@ -147,6 +270,57 @@ public class GremlinSqlAdvancedSelectTest extends GremlinSqlBaseTest {
                 rows(r("Tom", 35), r("Juanita", 50)));
     }
 
+    @Test
+    public void testWherePushdown() throws SQLException {
+        // Column versus literal predicates are pushed down into has() steps.
+        String traversal = getStringTraversal("SELECT name, age FROM person WHERE age < 40 AND name = 'Tom'");
+        Assertions.assertTrue(traversal.startsWith("g.V().hasLabel(\"person\").has(\"age\""), traversal);
+        Assertions.assertTrue(traversal.contains("has(\"name\""), traversal);
+        Assertions.assertFalse(traversal.contains("where("), traversal);
+        Assertions.assertFalse(traversal.contains("hasNot("), traversal);
+
+        // A missing property compares as its default value, predicates that the default passes are not pushed down.
+        traversal = getStringTraversal("SELECT name, age FROM person WHERE age > 30 AND name <> 'Tom'");
+        Assertions.assertFalse(traversal.contains("has(\"age\""), traversal);
+        Assertions.assertFalse(traversal.contains("has(\"name\""), traversal);
+        Assertions.assertFalse(traversal.contains("hasNot("), traversal);
+        Assertions.assertTrue(traversal.contains("where("), traversal);
+
+        // Boolean columns are not pushed down.
+        traversal = getStringTraversal("SELECT name, age FROM person WHERE age < 40 AND wentToSpace");
+        Assertions.assertTrue(traversal.startsWith("g.V().hasLabel(\"person\").has(\"age\""), traversal);
+        Assertions.assertTrue(traversal.contains("where("), traversal);
+
+        runQueryTestResults("SELECT name, age FROM person WHERE 35 > age ORDER BY age", columns("name", "age"),
+                rows(r("Patty", 29), r("Pavel", 30), r("Phil", 31)));
+        runQueryTestResults("SELECT name, age FROM person WHERE age IN (29, 45, 50) ORDER BY age",
+                columns("name", "age"), rows(r("Patty", 29), r("Susan", 45), r("Juanita", 50)));
+        runQueryTestResults("SELECT name, age FROM person WHERE age BETWEEN 30 AND 35 ORDER BY age",
+                columns("name", "age"), rows(r("Pavel", 30), r("Phil", 31), r("Tom", 35)));
+        runQueryTestResults("SELECT name, age FROM person WHERE age < 30 OR name = 'Tom' ORDER BY age",
+                columns("name", "age"), rows(r("Patty", 29), r("Tom", 35)));
+    }
+
+    @Test
+    public void testWhereIdLookup() throws SQLException {
+        // Equality and IN on the id column start the traversal from the ids instead of scanning the label.
+        final String traversal = getStringTraversal("SELECT name FROM person WHERE person_ID = '22'");
+        // The test graph has numeric ids, the literal is converted to the stored id type.
+        Assertions.assertTrue(traversal.startsWith("g.V(22"), traversal);
+        Assertions.assertFalse(traversal.startsWith("g.V(\"22\")"), traversal);
+        Assertions.assertTrue(traversal.contains(".hasLabel(\"person\")"), traversal);
+        runQueryTestResults("SELECT name FROM person WHERE person_ID = '22'", columns("name"), rows(r("Patty")));
+        runQueryTestResults("SELECT name FROM person WHERE person_ID IN ('22', 'abc')", columns("name"),
+                rows(r("Patty")));
+        runQueryTestResults("SELECT name FROM person WHERE person_ID = 'abc'", columns("name"), rows());
+        runQueryTestResults("SELECT name FROM person WHERE person_ID IN ('18', '26') ORDER BY name", columns("name"),
+                rows(r("Phil"), r("Tom")));
+        runQueryTestResults("SELECT name FROM person WHERE person_ID IN ('18', '26') AND age > 31", columns("name"),
+                rows(r("Tom")));
+        // Ids of other labels do not match.
+        runQueryTestResults("SELECT name FROM person WHERE person_ID = '0'", columns("name"), rows());
+    }
+
     // TODO #127: Support NOT in WHERE filter.
     @Test
     @Disabled
@@ -333,6 +507,36 @@ public class GremlinSqlAdvancedSelectTest extends GremlinSqlBaseTest {
                 rows(r("Patty", 29), r("Pavel", 30), r("Phil", 31), r("Susan", 45), r("Juanita", 50)));
     }
 
+    @Test
+    void testOffset() throws SQLException {
+        // Non-aggregate queries skip rows before the projection.
+        final String traversal = getStringTraversal("SELECT name FROM person LIMIT 2 OFFSET 2");
+        Assertions.assertTrue(traversal.contains("range("), traversal);
+        Assertions.assertTrue(traversal.indexOf("range(") < traversal.indexOf("project("), traversal);
+        // Pages are taken over the id ordering so consecutive OFFSETs do not overlap.
+        Assertions.assertTrue(traversal.contains("order().by(T.id)"), traversal);
+        Assertions.assertTrue(traversal.indexOf("order()") < traversal.indexOf("range("), traversal);
+        runQueryTestResults("SELECT name FROM person LIMIT 2 OFFSET 2", columns("name"),
+                rows(r("Phil"), r("Susan")));
+        runQueryTestResults("SELECT name FROM person OFFSET 4", columns("name"),
+                rows(r("Juanita"), r("Pavel")));
+        runQueryTestResults("SELECT name FROM person WHERE age > 30 LIMIT 1 OFFSET 1", columns("name"),
+                rows(r("Phil")));
+        runQueryTestResults("SELECT name FROM person OFFSET 10", columns("name"), rows());
+
+        // ORDER BY with OFFSET ranges over the ordered rows.
+        runQueryTestResults("SELECT name, age FROM person ORDER BY age LIMIT 2 OFFSET 1",
+                columns("name", "age"),
+                rows(r("Pavel", 30), r("Phil", 31)));
+        runQueryTestResults("SELECT name, age FROM person ORDER BY age DESC OFFSET 4",
+                columns("name", "age"),
+                rows(r("Pavel", 30), r("Patty", 29)));
+        runQueryTestResults(
+                String.format("SELECT name, age FROM person ORDER BY age LIMIT %d OFFSET 5", Long.MAX_VALUE),
+                columns("name", "age"),
+                rows(r("Juanita", 50)));
+    }
+
     @Test
     void testSingleComparisonOperator() throws SQLException {
         runQueryTestResults(
@@ -417,4 +621,22 @@ public class GremlinSqlAdvancedSelectTest extends GremlinSqlBaseTest {
                 "SELECT NOT name = 'Tom' AS a FROM person",
                 columns("a"), rows(r(false), r(true), r(true), r(true), r(true), r(true)));
     }
+
+    private static final class TimeoutRecordingStrategy
+            extends AbstractTraversalStrategy<TraversalStrategy.DecorationStrategy>
+            implements TraversalStrategy.DecorationStrategy {
+        private final List<Object> timeouts;
+
+        private TimeoutRecordingStrategy(final List<Object> timeouts) {
+            this.timeouts = timeouts;
+        }
+
+        @Override
+        public void apply(final Traversal.Admin<?, ?> traversal) {
+            if (traversal.getParent() instanceof EmptyStep) {
+                timeouts.add(traversal.getStrategies().getStrategy(OptionsStrategy.class)
+                        .map(strategy -> strategy.getOptions().get(EVALUATION_TIMEOUT)).orElse(null));
+            }
+        }
+    }
 }
@@ -112,6 +112,14 @@ public abstract class GremlinSqlBaseTest {
         assertRows(result.getRows(), rows);
     }
 
+    protected void runQueryTestResults(final String query, final int pageSize, final List<String> columnNames,
+                                       final List<List<?>> rows)
+            throws SQLException {
+        final SqlGremlinTestResult result = new SqlGremlinTestResult(converter.executeQuery(g, query, pageSize));
+        assertColumns(result.getColumns(), columnNames);
+        assertRows(result.getRows(), rows);
+    }
+
     protected void runJoinQueryTestResults(final String query, final List<String> columnNames,
                                            final List<List<?>> rows)
             throws SQLException {
@@ -121,6 +129,18 @@ public abstract class GremlinSqlBaseTest {
                 rows.stream().map(HashSet::new).collect(Collectors.toList()));
     }
 
+    protected SqlConverter getConverter() {
+        return converter;
+    }
+
+    protected GraphTraversalSource getGraphTraversalSource() {
+        return g;
+    }
+
+    protected String getStringTraversal(final String query) throws SQLException {
+        return converter.getStringTraversal(g, query);
+    }
+
     protected void runQueryTestThrows(final String query, final SqlGremlinError messageKey,
                                       final Object... formatArgs) {
         final Throwable t = Assertions.assertThrows(SQLException.class, () -> converter.executeQuery(g, query));
@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package org.twilmes.sql.gremlin.adapter;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Translates and executes different queries from many threads at once, each query must only see its own metadata.
+ */
+public class GremlinSqlConcurrencyTest extends GremlinSqlBaseTest {
+    private static final int THREAD_COUNT = 8;
+    private static final int ITERATIONS = 50;
+    private static final String[] QUERIES = {
+            "SELECT name FROM person WHERE age > 35",
+            "SELECT name, age FROM person ORDER BY age",
+            "SELECT wentToSpace, COUNT(age) FROM person WHERE age > 30 GROUP BY wentToSpace",
+            "SELECT person.name, spaceship.model FROM gremlin.person person " +
+                    "INNER JOIN gremlin.spaceship spaceship ON (person.pilots_OUT_ID = spaceship.pilots_IN_ID)"
+    };
+
+    GremlinSqlConcurrencyTest() throws SQLException {
+    }
+
+    @Override
+    protected DataSet getDataSet() {
+        return DataSet.SPACE;
+    }
+
+    @Test
+    public void testConcurrentTranslation() throws Exception {
+        // Translate every query once on a single thread to get the expected traversals.
+        final Map<String, String> expected = new HashMap<>();
+        for (final String query : QUERIES) {
+            expected.put(query, getStringTraversal(query));
+        }
+
+        final ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < THREAD_COUNT; thread++) {
+                final int offset = thread;
+                futures.add(executorService.submit((Callable<Void>) () -> {
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        final String query = QUERIES[(i + offset) % QUERIES.length];
+                        Assertions.assertEquals(expected.get(query), getStringTraversal(query));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentExecution() throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int thread = 0; thread < THREAD_COUNT; thread++) {
+                final boolean ageQuery = thread % 2 == 0;
+                futures.add(executorService.submit((Callable<Void>) () -> {
+                    start.await();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        if (ageQuery) {
+                            runQueryTestResults("SELECT name, age FROM person WHERE age > 35 ORDER BY age",
+                                    columns("name", "age"), rows(r("Susan", 45), r("Juanita", 50)));
+                        } else {
+                            runQueryTestResults("SELECT name FROM person WHERE NOT wentToSpace ORDER BY name",
+                                    columns("name"), rows(r("Patty"), r("Phil"), r("Tom")));
+                        }
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (final Future<?> future : futures) {
+                future.get(1, TimeUnit.MINUTES);
+            }
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+}
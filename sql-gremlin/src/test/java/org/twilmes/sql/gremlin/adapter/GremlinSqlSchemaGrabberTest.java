@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.twilmes.sql.gremlin.adapter;
+
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.twilmes.sql.gremlin.adapter.converter.schema.SqlSchemaGrabber;
+import org.twilmes.sql.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinEdgeTable;
+import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinProperty;
+import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
+import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
+import org.twilmes.sql.gremlin.adapter.graphs.TestGraphFactory;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+public class GremlinSqlSchemaGrabberTest {
+
+    private static Map<String, Map<String, String>> getColumnTypes(final List<? extends GremlinTableBase> tables) {
+        final Map<String, Map<String, String>> columnTypes = new TreeMap<>();
+        for (final GremlinTableBase table : tables) {
+            columnTypes.put(table.getLabel(), table.getColumns().values().stream()
+                    .collect(Collectors.toMap(GremlinProperty::getName, GremlinProperty::getType, (a, b) -> a,
+                            TreeMap::new)));
+        }
+        return columnTypes;
+    }
+
+    private static GremlinVertexTable getVertexTable(final GremlinSchema schema, final String label) {
+        return schema.getVertices().stream().filter(table -> table.getLabel().equals(label)).findFirst()
+                .orElseThrow(() -> new AssertionError("Missing vertex table " + label));
+    }
+
+    @Test
+    void testIncrementalSchemaMatchesFullSchema() throws SQLException {
+        final Graph graph = TestGraphFactory.createGraph(GremlinSqlBaseTest.DataSet.SPACE);
+        final GraphTraversalSource g = graph.traversal();
+        final GremlinSchema previousSchema = SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All);
+
+        // A new label, a new key on an existing label and a new connection between existing and new labels.
+        final Vertex moon = graph.addVertex(T.label, "moon", "name", "Luna", "radius", 1737.4);
+        final Vertex person = g.V().hasLabel("person").next();
+        person.property("nickname", "Star");
+        person.addEdge("visits", moon, "year", 2021);
+
+        final GremlinSchema incrementalSchema = SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All,
+                SqlSchemaGrabber.DEFAULT_SAMPLE_SIZE, previousSchema);
+        final GremlinSchema fullSchema = SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All);
+        Assertions.assertEquals(getColumnTypes(fullSchema.getVertices()),
+                getColumnTypes(incrementalSchema.getVertices()));
+        Assertions.assertEquals(getColumnTypes(fullSchema.getEdges()), getColumnTypes(incrementalSchema.getEdges()));
+        for (final GremlinVertexTable table : fullSchema.getVertices()) {
+            final GremlinVertexTable incrementalTable = getVertexTable(incrementalSchema, table.getLabel());
+            Assertions.assertEquals(table.getInEdges(), incrementalTable.getInEdges());
+            Assertions.assertEquals(table.getOutEdges(), incrementalTable.getOutEdges());
+            Assertions.assertEquals(table.getIdType(), incrementalTable.getIdType());
+        }
+        for (final GremlinEdgeTable table : fullSchema.getEdges()) {
+            final GremlinEdgeTable incrementalTable = incrementalSchema.getEdges().stream()
+                    .filter(edgeTable -> edgeTable.getLabel().equals(table.getLabel())).findFirst().orElse(null);
+            Assertions.assertNotNull(incrementalTable);
+            Assertions.assertEquals(table.getInOutVertexPairs(), incrementalTable.getInOutVertexPairs());
+        }
+    }
+
+    @Test
+    void testIncrementalSchemaReusesKnownTypes() throws SQLException {
+        final Graph graph = TestGraphFactory.createGraph(GremlinSqlBaseTest.DataSet.SPACE);
+        final GraphTraversalSource g = graph.traversal();
+        final GremlinSchema schema = SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All);
+
+        // Mark the type of a known key, it is kept because known keys are not queried again.
+        final GremlinVertexTable person = getVertexTable(schema, "person");
+        final List<GremlinProperty> columns = person.getColumns().values().stream()
+                .map(column -> column.getName().equals("name") ? new GremlinProperty("name", "unknown") : column)
+                .collect(Collectors.toList());
+        final List<GremlinVertexTable> vertices = schema.getVertices().stream()
+                .map(table -> table.getLabel().equals("person")
+                        ? new GremlinVertexTable("person", columns, person.getInEdges(), person.getOutEdges(),
+                                person.getIdType())
+                        : table)
+                .collect(Collectors.toList());
+        final GremlinSchema previousSchema = new GremlinSchema(vertices, schema.getEdges());
+
+        final GremlinSchema incrementalSchema = SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All,
+                SqlSchemaGrabber.DEFAULT_SAMPLE_SIZE, previousSchema);
+        Assertions.assertEquals("unknown", getVertexTable(incrementalSchema, "person").getColumn("name").getType());
+    }
+
+    @Test
+    void testIdType() throws SQLException {
+        final Graph graph = TestGraphFactory.createGraph(GremlinSqlBaseTest.DataSet.SPACE);
+        final GraphTraversalSource g = graph.traversal();
+        final GremlinSchema schema = SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All);
+
+        // TinkerGraph generates long ids, the id literals of queries are converted to them when planning.
+        Assertions.assertEquals("long", getVertexTable(schema, "person").getIdType());
+        for (final GremlinEdgeTable table : schema.getEdges()) {
+            Assertions.assertEquals("long", table.getIdType());
+        }
+    }
+
+    @Test
+    void testSampleScanType() throws SQLException {
+        final Graph graph = TestGraphFactory.createGraph(GremlinSqlBaseTest.DataSet.SPACE);
+        final GraphTraversalSource g = graph.traversal();
+        for (int i = 0; i < 10; i++) {
+            graph.addVertex(T.label, "probe", "reading", 1);
+        }
+        graph.addVertex(T.label, "probe", "reading", 1.5);
+
+        // The sample bounds the values read, duplicates included, so a small sample only sees the first values.
+        final GremlinSchema sampledSchema =
+                SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.Sample, 2, null);
+        Assertions.assertEquals("integer", getVertexTable(sampledSchema, "probe").getColumn("reading").getType());
+
+        // The test graph has fewer values per property than the default sample size.
+        final GremlinSchema defaultSampleSchema = SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.Sample,
+                SqlSchemaGrabber.DEFAULT_SAMPLE_SIZE, null);
+        final GremlinSchema allSchema = SqlSchemaGrabber.getSchema(g, SqlSchemaGrabber.ScanType.All);
+        Assertions.assertEquals(getColumnTypes(allSchema.getVertices()),
+                getColumnTypes(defaultSampleSchema.getVertices()));
+        Assertions.assertEquals(getColumnTypes(allSchema.getEdges()), getColumnTypes(defaultSampleSchema.getEdges()));
+
+        Assertions.assertEquals("double",
+                getVertexTable(defaultSampleSchema, "probe").getColumn("reading").getType());
+    }
+}
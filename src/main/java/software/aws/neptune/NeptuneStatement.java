@@ -0,0 +1,38 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+
+package software.aws.neptune;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Neptune specific extensions of {@link java.sql.Statement}, obtained through
+ * {@code statement.unwrap(NeptuneStatement.class)}.
+ */
+public interface NeptuneStatement extends java.sql.Statement {
+    /**
+     * Executes the given query without blocking the calling thread.
+     * The query can be cancelled with {@link java.sql.Statement#cancel()} and is subject to the query timeout, like
+     * a query run through {@link java.sql.Statement#executeQuery(String)}.
+     *
+     * @param sql Query to execute.
+     * @return Future of the ResultSet of the query, completed exceptionally with a SQLException if the query fails.
+     * @throws SQLException if the statement is closed or another query is already in progress.
+     */
+    CompletableFuture<java.sql.ResultSet> executeQueryAsync(String sql) throws SQLException;
+}
@@ -16,6 +16,11 @@
 
 package software.aws.neptune.common.gremlindatamodel;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.twilmes.sql.gremlin.adapter.converter.schema.SqlSchemaGrabber;
@@ -27,25 +32,39 @@ import software.aws.neptune.common.gremlindatamodel.resultset.ResultSetGetColumn
 import software.aws.neptune.common.gremlindatamodel.resultset.ResultSetGetTables;
 import software.aws.neptune.gremlin.GremlinConnectionProperties;
 import software.aws.neptune.jdbc.utilities.AuthScheme;
+import software.aws.neptune.jdbc.utilities.ConnectionProperties;
 import software.aws.neptune.opencypher.OpenCypherConnectionProperties;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * Cache of the GremlinSchema of each endpoint.
+ * Loading a schema scans the graph, so it is done once per endpoint at a time: concurrent callers for the same
+ * endpoint wait for the load in progress, while callers for other endpoints are not blocked by it. Readers use an
+ * immutable snapshot of the cached schemas and never take a lock.
+ * A cached schema expires after the schema cache TTL of the connection that loaded it. An expired schema is still
+ * served while it is reloaded in the background, and is replaced once the new schema is loaded.
+ */
 public class MetadataCache {
     private static final Logger LOGGER = LoggerFactory.getLogger(MetadataCache.class);
-    private static final Object LOCK = new Object();
-    private static final int SCHEMA_CACHE_SIZE = 3;
-    private static final Map<String, GremlinSchema> GREMLIN_SCHEMAS =
-            new LinkedHashMap<String, GremlinSchema>() {
-        @Override
-        protected boolean removeEldestEntry(final Map.Entry eldest) {
-            return size() > SCHEMA_CACHE_SIZE;
-        }
-    };
+    private static final Object PUBLISH_LOCK = new Object();
+    private static final Map<String, CompletableFuture<GremlinSchema>> SCHEMA_LOADS = new ConcurrentHashMap<>();
+    private static final Map<String, ScanMetrics> SCAN_METRICS = new ConcurrentHashMap<>();
+    private static final ExecutorService REFRESH_EXECUTOR = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("metadata-cache-refresh-%d").setDaemon(true).build());
+    // Replaced as a whole under the publish lock, in insertion order so the eldest endpoint is evicted first.
+    private static volatile Map<String, CachedSchema> cachedSchemas = ImmutableMap.of();
 
     /**
      * Function to update the cache of the metadata.
@@ -60,11 +79,82 @@ public class MetadataCache {
     public static void updateCache(final String endpoint, final int port, final boolean useIam, final boolean useSsl,
                                    final PathType pathType, final SqlSchemaGrabber.ScanType scanType)
             throws SQLException {
-        synchronized (LOCK) {
-            if (!GREMLIN_SCHEMAS.containsKey(endpoint)) {
-                GREMLIN_SCHEMAS.put(endpoint, SchemaHelperGremlinDataModel.getGraphSchema(
-                                endpoint, port, useIam, useSsl, pathType, scanType));
+        updateCache(endpoint,
+                () -> SchemaHelperGremlinDataModel.getGraphSchema(endpoint, port, useIam, useSsl, pathType, scanType),
+                ConnectionProperties.DEFAULT_SCHEMA_CACHE_SIZE, ConnectionProperties.DEFAULT_SCHEMA_CACHE_TTL_MILLIS);
+    }
+
+    /**
+     * Function to update the cache of the metadata, only one load runs at a time for an endpoint.
+     *
+     * @param endpoint     Endpoint of target database.
+     * @param schemaLoader Loader of the GremlinSchema of the endpoint.
+     * @param cacheSize    Maximum number of cached schemas.
+     * @param ttlMillis    Time in milliseconds until the loaded schema expires, 0 if it does not expire.
+     * @throws SQLException Thrown if error occurs during update.
+     */
+    static void updateCache(final String endpoint, final SchemaLoader schemaLoader, final int cacheSize,
+                            final long ttlMillis) throws SQLException {
+        if (isMetadataCached(endpoint)) {
+            return;
+        }
+        final CompletableFuture<GremlinSchema> load = new CompletableFuture<>();
+        final CompletableFuture<GremlinSchema> loadInProgress = SCHEMA_LOADS.putIfAbsent(endpoint, load);
+        if (loadInProgress != null) {
+            awaitLoad(endpoint, loadInProgress);
+            return;
+        }
+        try {
+            // A load that finished since the check above has already published its schema.
+            if (!isMetadataCached(endpoint)) {
+                load.complete(loadSchema(endpoint, schemaLoader, cacheSize, ttlMillis));
+            } else {
+                load.complete(getGremlinSchema(endpoint));
             }
+        } catch (final SQLException | RuntimeException e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Removed after publishing, so a following caller either sees the schema or starts a new load.
+            SCHEMA_LOADS.remove(endpoint, load);
+        }
+    }
+
+    /**
+     * Function to update the cache of the metadata if there is no schema for the endpoint yet, or to refresh it in
+     * the background if it has expired.
+     * If a schema store is given, a schema that is not cached yet is read from the store and served right away, and
+     * loaded schemas are written to it. A stored schema may be outdated, so it is reloaded in the background.
+     *
+     * @param endpoint             Endpoint of target database.
+     * @param schemaLoader         Loader of the GremlinSchema of the endpoint.
+     * @param connectionProperties ConnectionProperties with the schema cache settings.
+     * @param schemaStore          SchemaStore of the endpoint, or null if schemas are not stored.
+     * @throws SQLException Thrown if error occurs during update.
+     */
+    static void updateCacheIfNotUpdated(final String endpoint, final SchemaLoader schemaLoader,
+                                        final ConnectionProperties connectionProperties,
+                                        final SchemaStore schemaStore) throws SQLException {
+        final int cacheSize = connectionProperties.getSchemaCacheSize();
+        final long ttlMillis = connectionProperties.getSchemaCacheTtlMillis();
+        final SchemaLoader storingSchemaLoader = (schemaStore == null) ? schemaLoader : () -> {
+            final GremlinSchema schema = schemaLoader.load();
+            schemaStore.write(schema);
+            return schema;
+        };
+        CachedSchema cachedSchema = cachedSchemas.get(endpoint);
+        if (cachedSchema == null && schemaStore != null && !connectionProperties.getRefreshSchema()) {
+            final GremlinSchema storedSchema = schemaStore.read();
+            if (storedSchema != null && publishSchemaIfAbsent(endpoint, storedSchema, cacheSize)) {
+                refreshCache(endpoint, storingSchemaLoader, cacheSize, ttlMillis);
+                return;
+            }
+            cachedSchema = cachedSchemas.get(endpoint);
+        }
+        if (cachedSchema == null) {
+            updateCache(endpoint, storingSchemaLoader, cacheSize, ttlMillis);
+        } else if (cachedSchema.isExpired()) {
+            refreshCache(endpoint, storingSchemaLoader, cacheSize, ttlMillis);
         }
     }
 
@@ -76,12 +166,18 @@ public class MetadataCache {
      */
     public static void updateCacheIfNotUpdated(final GremlinConnectionProperties gremlinConnectionProperties)
             throws SQLException {
-        if (!isMetadataCached(gremlinConnectionProperties.getContactPoint())) {
-            updateCache(gremlinConnectionProperties.getContactPoint(), gremlinConnectionProperties.getPort(),
-                    (gremlinConnectionProperties.getAuthScheme() == AuthScheme.IAMSigV4),
-                    gremlinConnectionProperties.getEnableSsl(),
-                    MetadataCache.PathType.Gremlin, gremlinConnectionProperties.getScanType());
-        }
+        updateCacheIfNotUpdated(gremlinConnectionProperties.getContactPoint(),
+                () -> SchemaHelperGremlinDataModel.getGraphSchema(gremlinConnectionProperties.getContactPoint(),
+                        gremlinConnectionProperties.getPort(),
+                        (gremlinConnectionProperties.getAuthScheme() == AuthScheme.IAMSigV4),
+                        gremlinConnectionProperties.getEnableSsl(),
+                        MetadataCache.PathType.Gremlin, gremlinConnectionProperties.getScanType(),
+                        gremlinConnectionProperties.getScanSampleSize(),
+                        getPreviousSchema(gremlinConnectionProperties.getContactPoint(), gremlinConnectionProperties)),
+                gremlinConnectionProperties,
+                SchemaStore.create(gremlinConnectionProperties.getSchemaCacheDirectory(),
+                        gremlinConnectionProperties.getContactPoint(), gremlinConnectionProperties.getPort(),
+                        gremlinConnectionProperties.getScanType(), gremlinConnectionProperties.getScanSampleSize()));
     }
 
     /**
@@ -92,11 +188,117 @@ public class MetadataCache {
      */
     public static void updateCacheIfNotUpdated(final OpenCypherConnectionProperties openCypherConnectionProperties)
             throws SQLException {
-        if (!isMetadataCached(openCypherConnectionProperties.getEndpoint())) {
-            updateCache(openCypherConnectionProperties.getEndpoint(), openCypherConnectionProperties.getPort(),
-                    (openCypherConnectionProperties.getAuthScheme() == AuthScheme.IAMSigV4),
-                    openCypherConnectionProperties.getUseEncryption(),
-                    PathType.Bolt, openCypherConnectionProperties.getScanType());
+        updateCacheIfNotUpdated(openCypherConnectionProperties.getEndpoint(),
+                () -> SchemaHelperGremlinDataModel.getGraphSchema(openCypherConnectionProperties.getEndpoint(),
+                        openCypherConnectionProperties.getPort(),
+                        (openCypherConnectionProperties.getAuthScheme() == AuthScheme.IAMSigV4),
+                        openCypherConnectionProperties.getUseEncryption(),
+                        PathType.Bolt, openCypherConnectionProperties.getScanType(),
+                        openCypherConnectionProperties.getScanSampleSize(),
+                        getPreviousSchema(openCypherConnectionProperties.getEndpoint(),
+                                openCypherConnectionProperties)),
+                openCypherConnectionProperties,
+                SchemaStore.create(openCypherConnectionProperties.getSchemaCacheDirectory(),
+                        openCypherConnectionProperties.getEndpoint(), openCypherConnectionProperties.getPort(),
+                        openCypherConnectionProperties.getScanType(),
+                        openCypherConnectionProperties.getScanSampleSize()));
+    }
+
+    /**
+     * Removes the cached schema of an endpoint, so the next metadata request loads it again.
+     *
+     * @param endpoint Endpoint of target database.
+     */
+    public static void invalidateCache(final String endpoint) {
+        synchronized (PUBLISH_LOCK) {
+            if (cachedSchemas.containsKey(endpoint)) {
+                LOGGER.info("Invalidating cached schema of " + endpoint + ".");
+                final Map<String, CachedSchema> schemas = new LinkedHashMap<>(cachedSchemas);
+                schemas.remove(endpoint);
+                cachedSchemas = ImmutableMap.copyOf(schemas);
+            }
+        }
+    }
+
+    private static void refreshCache(final String endpoint, final SchemaLoader schemaLoader, final int cacheSize,
+                                     final long ttlMillis) {
+        final CompletableFuture<GremlinSchema> load = new CompletableFuture<>();
+        if (SCHEMA_LOADS.putIfAbsent(endpoint, load) != null) {
+            // Already being loaded, the expired schema is served until it is done.
+            return;
+        }
+        LOGGER.info("Cached schema of " + endpoint + " has expired, refreshing it in the background.");
+        REFRESH_EXECUTOR.execute(() -> {
+            try {
+                load.complete(loadSchema(endpoint, schemaLoader, cacheSize, ttlMillis));
+            } catch (final SQLException | RuntimeException e) {
+                LOGGER.warn("Failed to refresh schema of " + endpoint + ", the expired schema is still used.", e);
+                load.completeExceptionally(e);
+            } finally {
+                SCHEMA_LOADS.remove(endpoint, load);
+            }
+        });
+    }
+
+    private static GremlinSchema loadSchema(final String endpoint, final SchemaLoader schemaLoader,
+                                            final int cacheSize, final long ttlMillis) throws SQLException {
+        LOGGER.info("Loading schema of " + endpoint + ".");
+        final long startNanos = System.nanoTime();
+        final GremlinSchema schema = schemaLoader.load();
+        final long scanMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        SCAN_METRICS.computeIfAbsent(endpoint, k -> new ScanMetrics()).record(scanMillis);
+        LOGGER.info("Loaded schema of " + endpoint + " in " + scanMillis + " ms.");
+        publishSchema(endpoint, new CachedSchema(schema, System.nanoTime(), TimeUnit.MILLISECONDS.toNanos(ttlMillis)),
+                cacheSize);
+        return schema;
+    }
+
+    private static void awaitLoad(final String endpoint, final CompletableFuture<GremlinSchema> load)
+            throws SQLException {
+        LOGGER.info("Waiting for the schema of " + endpoint + " to be loaded.");
+        try {
+            load.get();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the schema to be loaded.", e);
+        } catch (final ExecutionException e) {
+            if (e.getCause() instanceof SQLException) {
+                throw (SQLException) e.getCause();
+            }
+            throw new SQLException(e.getCause());
+        }
+    }
+
+    // Evaluated when the load runs, so a refresh starts from the schema that is cached at that time.
+    private static GremlinSchema getPreviousSchema(final String endpoint,
+                                                   final ConnectionProperties connectionProperties) {
+        return connectionProperties.getIncrementalSchemaRefresh() ? getGremlinSchema(endpoint) : null;
+    }
+
+    private static boolean publishSchemaIfAbsent(final String endpoint, final GremlinSchema schema,
+                                                 final int cacheSize) {
+        synchronized (PUBLISH_LOCK) {
+            if (cachedSchemas.containsKey(endpoint)) {
+                return false;
+            }
+            // Stored schemas may be outdated, so they are published as already expired: if the background refresh
+            // fails, the next metadata request starts another one.
+            publishSchema(endpoint, new CachedSchema(schema, System.nanoTime() - 1, 1), cacheSize);
+            return true;
+        }
+    }
+
+    private static void publishSchema(final String endpoint, final CachedSchema cachedSchema, final int cacheSize) {
+        synchronized (PUBLISH_LOCK) {
+            final Map<String, CachedSchema> schemas = new LinkedHashMap<>(cachedSchemas);
+            schemas.remove(endpoint);
+            schemas.put(endpoint, cachedSchema);
+            final Iterator<String> eldest = schemas.keySet().iterator();
+            while (schemas.size() > Math.max(1, cacheSize)) {
+                eldest.next();
+                eldest.remove();
+            }
+            cachedSchemas = ImmutableMap.copyOf(schemas);
         }
     }
 
@@ -106,9 +308,17 @@ public class MetadataCache {
      * @return True if cache is valid, false otherwise.
      */
     public static boolean isMetadataCached(final String endpoint) {
-        synchronized (LOCK) {
-            return GREMLIN_SCHEMAS.containsKey(endpoint);
-        }
+        return cachedSchemas.containsKey(endpoint);
+    }
+
+    /**
+     * Gets the metrics of the schema scans of an endpoint.
+     *
+     * @param endpoint The host endpoint.
+     * @return ScanMetrics Object, or null if the schema of the endpoint was never loaded.
+     */
+    public static ScanMetrics getScanMetrics(final String endpoint) {
+        return SCAN_METRICS.get(endpoint);
     }
 
     /**
@@ -119,24 +329,23 @@ public class MetadataCache {
      */
     public static GremlinSchema getFilteredCacheNodeColumnInfos(final String nodeFilter, final String endpoint)
             throws SQLException {
-        synchronized (LOCK) {
-            if (!GREMLIN_SCHEMAS.containsKey(endpoint)) {
-                throw new SQLException("Error, cache must be updated before filtered cache can be retrieved.");
-            } else if (nodeFilter == null || "%".equals(nodeFilter)) {
-                return GREMLIN_SCHEMAS.get(endpoint);
-            }
-            LOGGER.info("Getting vertices.");
-            final List<GremlinVertexTable> vertices = GREMLIN_SCHEMAS.get(endpoint).getVertices();
-            LOGGER.info("Getting edges.");
-            final List<GremlinEdgeTable> edges = GREMLIN_SCHEMAS.get(endpoint).getEdges();
-            final List<GremlinVertexTable> filteredGremlinVertexTables = vertices.stream().filter(
-                    table -> Arrays.stream(nodeFilter.split(":")).allMatch(f -> table.getLabel().contains(f)))
-                    .collect(Collectors.toList());
-            final List<GremlinEdgeTable> filteredGremlinEdgeTables = edges.stream().filter(
-                    table -> Arrays.stream(nodeFilter.split(":")).allMatch(f -> table.getLabel().contains(f)))
-                    .collect(Collectors.toList());
-            return new GremlinSchema(filteredGremlinVertexTables, filteredGremlinEdgeTables);
+        final GremlinSchema gremlinSchema = getGremlinSchema(endpoint);
+        if (gremlinSchema == null) {
+            throw new SQLException("Error, cache must be updated before filtered cache can be retrieved.");
+        } else if (nodeFilter == null || "%".equals(nodeFilter)) {
+            return gremlinSchema;
         }
+        LOGGER.info("Getting vertices.");
+        final List<GremlinVertexTable> vertices = gremlinSchema.getVertices();
+        LOGGER.info("Getting edges.");
+        final List<GremlinEdgeTable> edges = gremlinSchema.getEdges();
+        final List<GremlinVertexTable> filteredGremlinVertexTables = vertices.stream().filter(
+                table -> Arrays.stream(nodeFilter.split(":")).allMatch(f -> table.getLabel().contains(f)))
+                .collect(Collectors.toList());
+        final List<GremlinEdgeTable> filteredGremlinEdgeTables = edges.stream().filter(
+                table -> Arrays.stream(nodeFilter.split(":")).allMatch(f -> table.getLabel().contains(f)))
+                .collect(Collectors.toList());
+        return new GremlinSchema(filteredGremlinVertexTables, filteredGremlinEdgeTables);
     }
 
     /**
@@ -173,11 +382,74 @@ public class MetadataCache {
      * @return GremlinSchema Object.
      */
     public static GremlinSchema getGremlinSchema(final String endpoint) {
-        return GREMLIN_SCHEMAS.get(endpoint);
+        final CachedSchema cachedSchema = cachedSchemas.get(endpoint);
+        return (cachedSchema == null) ? null : cachedSchema.getSchema();
     }
 
     public enum PathType {
         Bolt,
         Gremlin
     }
+
+    /**
+     * Loads the GremlinSchema of an endpoint.
+     */
+    @FunctionalInterface
+    interface SchemaLoader {
+        GremlinSchema load() throws SQLException;
+    }
+
+    /**
+     * Duration of the schema scans of an endpoint.
+     */
+    public static class ScanMetrics {
+        private long scanCount = 0;
+        private long lastScanMillis = 0;
+        private long totalScanMillis = 0;
+
+        /**
+         * Gets the number of schema scans.
+         *
+         * @return Number of scans.
+         */
+        public synchronized long getScanCount() {
+            return scanCount;
+        }
+
+        /**
+         * Gets the duration of the last schema scan.
+         *
+         * @return Duration in milliseconds.
+         */
+        public synchronized long getLastScanMillis() {
+            return lastScanMillis;
+        }
+
+        /**
+         * Gets the total duration of all schema scans.
+         *
+         * @return Duration in milliseconds.
+         */
+        public synchronized long getTotalScanMillis() {
+            return totalScanMillis;
+        }
+
+        private synchronized void record(final long scanMillis) {
+            scanCount++;
+            lastScanMillis = scanMillis;
+            totalScanMillis += scanMillis;
+        }
+    }
+
+    @AllArgsConstructor
+    @Getter(AccessLevel.PRIVATE)
+    private static class CachedSchema {
+        private final GremlinSchema schema;
+        private final long loadedNanos;
+        private final long ttlNanos;
+
+        private boolean isExpired() {
+            return ttlNanos > 0 && System.nanoTime() - loadedNanos >= ttlNanos;
+        }
+    }
 }
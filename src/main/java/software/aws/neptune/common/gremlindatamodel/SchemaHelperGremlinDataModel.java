@@ -84,9 +84,33 @@ public class SchemaHelperGremlinDataModel {
                                                final MetadataCache.PathType pathType,
                                                final SqlSchemaGrabber.ScanType scanType)
             throws SQLException {
+        return getGraphSchema(endpoint, port, useIAM, useSsl, pathType, scanType,
+                SqlSchemaGrabber.DEFAULT_SAMPLE_SIZE, null);
+    }
+
+    /**
+     * Function to get the schema of the graph, only querying the parts that changed since a previous schema.
+     *
+     * @param endpoint       Endpoint of database.
+     * @param port           Port of database.
+     * @param useIAM         Boolean for whether or not to use IAM.
+     * @param useSsl         Boolean for whether or not to use SSL.
+     * @param pathType       Type of path.
+     * @param scanType       Scan type.
+     * @param sampleSize     Number of values of a property read by the Sample scan type.
+     * @param previousSchema Previous schema of the graph, or null to scan the whole graph.
+     * @return Graph Schema.
+     * @throws SQLException If graph schema cannot be obtained.
+     */
+    public static GremlinSchema getGraphSchema(final String endpoint, final int port, final boolean useIAM,
+                                               final boolean useSsl,
+                                               final MetadataCache.PathType pathType,
+                                               final SqlSchemaGrabber.ScanType scanType, final int sampleSize,
+                                               final GremlinSchema previousSchema)
+            throws SQLException {
         final String adjustedEndpoint = getAdjustedEndpoint(endpoint, pathType);
         return SqlSchemaGrabber.getSchema(
                 traversal().withRemote(DriverRemoteConnection.using(getClient(adjustedEndpoint, port, useIAM, useSsl))),
-                scanType);
+                scanType, sampleSize, previousSchema);
     }
 }
@@ -0,0 +1,241 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.common.gremlindatamodel;
+
+import com.google.gson.Gson;
+import org.apache.calcite.util.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.twilmes.sql.gremlin.adapter.converter.schema.SqlSchemaGrabber;
+import org.twilmes.sql.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinEdgeTable;
+import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinProperty;
+import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
+import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Store of a GremlinSchema on disk, so a new process can serve metadata without scanning the graph first.
+ * Each schema is kept in a JSON file named after the endpoint, port, scan type, scan sample size and format
+ * version. A file that cannot be read, or was written for another key or format version, is ignored.
+ */
+final class SchemaStore {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaStore.class);
+    // Increase when the stored format changes, files of other versions are ignored.
+    private static final int FORMAT_VERSION = 3;
+    private static final Gson GSON = new Gson();
+    private final Path directory;
+    private final Path file;
+    private final String endpoint;
+    private final int port;
+    private final String scanType;
+    private final int scanSampleSize;
+
+    private SchemaStore(final Path directory, final String endpoint, final int port, final String scanType,
+                        final int scanSampleSize) {
+        this.directory = directory;
+        this.endpoint = endpoint;
+        this.port = port;
+        this.scanType = scanType;
+        this.scanSampleSize = scanSampleSize;
+        final String fileName = String.format("%s-%d-%s-%d-v%d.json", endpoint, port, scanType, scanSampleSize,
+                FORMAT_VERSION);
+        this.file = directory.resolve(fileName.replaceAll("[^A-Za-z0-9._-]", "_"));
+    }
+
+    /**
+     * Creates the store of the schema of an endpoint.
+     *
+     * @param directory Directory the schema files are kept in, or null or empty if schemas are not stored.
+     * @param endpoint  Endpoint of target database.
+     * @param port      Port of target database.
+     * @param scanType       Scan type used to load the schema.
+     * @param scanSampleSize Sample size used to load the schema.
+     * @return SchemaStore Object, or null if schemas are not stored.
+     */
+    static SchemaStore create(final String directory, final String endpoint, final int port,
+                              final SqlSchemaGrabber.ScanType scanType, final int scanSampleSize) {
+        if (directory == null || directory.trim().isEmpty()) {
+            return null;
+        }
+        return new SchemaStore(Paths.get(directory), endpoint, port, scanType.toString(), scanSampleSize);
+    }
+
+    /**
+     * Reads the stored schema.
+     *
+     * @return GremlinSchema Object, or null if there is no valid stored schema.
+     */
+    GremlinSchema read() {
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            final StoredSchema storedSchema = GSON.fromJson(reader, StoredSchema.class);
+            if (storedSchema == null || storedSchema.formatVersion != FORMAT_VERSION
+                    || !endpoint.equals(storedSchema.endpoint) || port != storedSchema.port
+                    || !scanType.equals(storedSchema.scanType) || scanSampleSize != storedSchema.scanSampleSize) {
+                LOGGER.info("Ignoring stored schema " + file + ", it was written for another endpoint or version.");
+                return null;
+            }
+            LOGGER.info("Read stored schema of " + endpoint + " from " + file + ".");
+            return storedSchema.toGremlinSchema();
+        } catch (final IOException | RuntimeException e) {
+            // A corrupt file is treated as missing, it is replaced once the schema is loaded.
+            LOGGER.warn("Failed to read stored schema " + file + ".", e);
+            return null;
+        }
+    }
+
+    /**
+     * Writes the schema to the store, replacing the stored schema atomically. Failures are logged, the schema is
+     * still used from memory.
+     *
+     * @param schema GremlinSchema to store.
+     */
+    void write(final GremlinSchema schema) {
+        Path tempFile = null;
+        try {
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (Writer writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                GSON.toJson(new StoredSchema(this, schema), writer);
+            }
+            try {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            LOGGER.info("Stored schema of " + endpoint + " in " + file + ".");
+        } catch (final IOException e) {
+            LOGGER.warn("Failed to store schema of " + endpoint + " in " + file + ".", e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (final IOException e) {
+                    LOGGER.debug("Failed to delete temporary schema file " + tempFile + ".", e);
+                }
+            }
+        }
+    }
+
+    private static List<StoredProperty> toStoredProperties(final GremlinTableBase table) {
+        return table.getColumns().values().stream().map(StoredProperty::new).collect(Collectors.toList());
+    }
+
+    private static List<GremlinProperty> toGremlinProperties(final List<StoredProperty> columns) {
+        return columns.stream().map(column -> new GremlinProperty(column.name, column.type))
+                .collect(Collectors.toList());
+    }
+
+    // Stored forms of the schema, the primary and foreign key columns are stored as well and replaced by the same
+    // columns when the tables are created again.
+    private static class StoredSchema {
+        private int formatVersion;
+        private String endpoint;
+        private int port;
+        private String scanType;
+        private int scanSampleSize;
+        private List<StoredVertexTable> vertices;
+        private List<StoredEdgeTable> edges;
+
+        StoredSchema(final SchemaStore schemaStore, final GremlinSchema schema) {
+            this.formatVersion = FORMAT_VERSION;
+            this.endpoint = schemaStore.endpoint;
+            this.port = schemaStore.port;
+            this.scanType = schemaStore.scanType;
+            this.scanSampleSize = schemaStore.scanSampleSize;
+            this.vertices = schema.getVertices().stream().map(StoredVertexTable::new).collect(Collectors.toList());
+            this.edges = schema.getEdges().stream().map(StoredEdgeTable::new).collect(Collectors.toList());
+        }
+
+        GremlinSchema toGremlinSchema() {
+            return new GremlinSchema(
+                    vertices.stream().map(StoredVertexTable::toGremlinVertexTable).collect(Collectors.toList()),
+                    edges.stream().map(StoredEdgeTable::toGremlinEdgeTable).collect(Collectors.toList()));
+        }
+    }
+
+    private static class StoredVertexTable {
+        private String label;
+        private List<StoredProperty> columns;
+        private List<String> inEdges;
+        private List<String> outEdges;
+        private String idType;
+
+        StoredVertexTable(final GremlinVertexTable table) {
+            this.label = table.getLabel();
+            this.columns = toStoredProperties(table);
+            this.inEdges = new ArrayList<>(table.getInEdges());
+            this.outEdges = new ArrayList<>(table.getOutEdges());
+            this.idType = table.getIdType();
+        }
+
+        GremlinVertexTable toGremlinVertexTable() {
+            return new GremlinVertexTable(label, toGremlinProperties(columns), inEdges, outEdges, idType);
+        }
+    }
+
+    private static class StoredEdgeTable {
+        private String label;
+        private List<StoredProperty> columns;
+        private List<List<String>> inOutVertexPairs;
+        private String idType;
+
+        StoredEdgeTable(final GremlinEdgeTable table) {
+            this.label = table.getLabel();
+            this.columns = toStoredProperties(table);
+            this.idType = table.getIdType();
+            this.inOutVertexPairs = table.getInOutVertexPairs().stream()
+                    .map(pair -> {
+                        final List<String> storedPair = new ArrayList<>();
+                        storedPair.add(pair.getKey());
+                        storedPair.add(pair.getValue());
+                        return storedPair;
+                    })
+                    .collect(Collectors.toList());
+        }
+
+        GremlinEdgeTable toGremlinEdgeTable() {
+            return new GremlinEdgeTable(label, toGremlinProperties(columns), inOutVertexPairs.stream()
+                    .map(pair -> new Pair<>(pair.get(0), pair.get(1)))
+                    .collect(Collectors.toList()), idType);
+        }
+    }
+
+    private static class StoredProperty {
+        private String name;
+        private String type;
+
+        StoredProperty(final GremlinProperty property) {
+            this.name = property.getName();
+            this.type = property.getType();
+        }
+    }
+}
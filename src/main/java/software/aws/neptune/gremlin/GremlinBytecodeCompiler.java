@@ -0,0 +1,491 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.Operator;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.Pop;
+import org.apache.tinkerpop.gremlin.process.traversal.Scope;
+import org.apache.tinkerpop.gremlin.process.traversal.TextP;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.process.traversal.step.TraversalOptionParent;
+import org.apache.tinkerpop.gremlin.structure.Column;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.VertexProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.lang.reflect.Array;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Compiles Gremlin traversal scripts into bytecode on the client, so the server does not need to run them through
+ * its script engine.
+ * The script is translated without being evaluated: only a chain of traversal steps starting at "g", with
+ * literals, lists, parameters, enum tokens, predicates and anonymous traversals as arguments, is understood.
+ * Anything else, such as closures, variables or scripts that iterate the traversal themselves, is not compiled and
+ * must be submitted as a script.
+ */
+final class GremlinBytecodeCompiler {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GremlinBytecodeCompiler.class);
+    private static final String TRAVERSAL_SOURCE_NAME = "g";
+    private static final String ANONYMOUS_TRAVERSAL_NAME = "__";
+    // Source instructions that are recorded as they are called, the others are built from strategy objects.
+    private static final Set<String> SOURCE_INSTRUCTIONS =
+            ImmutableSet.of("withBulk", "withPath", "withSack", "withSideEffect");
+    // Methods returning a traversal that are not steps.
+    private static final Set<String> NON_STEPS = ImmutableSet.of("iterate", "start");
+    private static final Set<String> PREDICATE_CHAINS = ImmutableSet.of("and", "or", "negate");
+    private static final Map<String, List<Method>> SOURCE_METHODS = getMethods(GraphTraversalSource.class, false);
+    private static final Map<String, List<Method>> STEP_METHODS = getMethods(GraphTraversal.class, false);
+    private static final Map<String, List<Method>> ANONYMOUS_METHODS = getMethods(__.class, true);
+    private static final Map<String, List<Method>> PREDICATE_METHODS = getPredicateMethods();
+    private static final List<Class<? extends Enum<?>>> TOKEN_TYPES = ImmutableList.of(T.class, Order.class,
+            Scope.class, Column.class, Pop.class, Direction.class, Operator.class, VertexProperty.Cardinality.class,
+            TraversalOptionParent.Pick.class);
+    private static final Map<String, Object> TOKENS = getTokens();
+
+    private final String query;
+    private final Map<String, Object> parameters;
+    private int position = 0;
+
+    private GremlinBytecodeCompiler(final String query, final Map<String, Object> parameters) {
+        this.query = query;
+        this.parameters = parameters;
+    }
+
+    /**
+     * Compiles a Gremlin script into bytecode.
+     *
+     * @param query      Gremlin script, with "g" as the traversal source.
+     * @param parameters Values of the variables used by the script.
+     * @return Bytecode of the traversal, or null if the script is not a traversal that can be compiled.
+     */
+    static Bytecode compile(final String query, final Map<String, Object> parameters) {
+        try {
+            return new GremlinBytecodeCompiler(query, parameters).parseScript();
+        } catch (final RuntimeException e) {
+            // Let the server evaluate it and report the error, if there is one.
+            LOGGER.debug("Gremlin query could not be compiled to bytecode, submitting it as a script.", e);
+            return null;
+        }
+    }
+
+    private static Map<String, List<Method>> getMethods(final Class<?> type, final boolean isStatic) {
+        return Arrays.stream(type.getMethods())
+                .filter(method -> Modifier.isStatic(method.getModifiers()) == isStatic)
+                .filter(method -> !NON_STEPS.contains(method.getName()))
+                .filter(method -> method.getReturnType() == GraphTraversal.class
+                        || (method.getReturnType() == GraphTraversalSource.class
+                        && SOURCE_INSTRUCTIONS.contains(method.getName())))
+                .sorted(Comparator.comparing(Method::isVarArgs))
+                .collect(Collectors.groupingBy(Method::getName));
+    }
+
+    private static Map<String, List<Method>> getPredicateMethods() {
+        final Map<String, List<Method>> methods = new HashMap<>();
+        for (final Class<?> type : ImmutableList.of(P.class, TextP.class)) {
+            Arrays.stream(type.getMethods())
+                    .filter(method -> Modifier.isStatic(method.getModifiers()))
+                    .filter(method -> P.class.isAssignableFrom(method.getReturnType()))
+                    .sorted(Comparator.comparing(Method::isVarArgs))
+                    .forEach(method -> methods.computeIfAbsent(method.getName(), k -> new ArrayList<>()).add(method));
+        }
+        return methods;
+    }
+
+    private static Map<String, Object> getTokens() {
+        final Map<String, Object> tokens = new HashMap<>();
+        for (final Class<? extends Enum<?>> type : TOKEN_TYPES) {
+            for (final Enum<?> token : type.getEnumConstants()) {
+                tokens.putIfAbsent(token.name(), token);
+                tokens.put(type.getSimpleName() + "." + token.name(), token);
+            }
+        }
+        return tokens;
+    }
+
+    private Bytecode parseScript() {
+        skipWhitespace();
+        if (!TRAVERSAL_SOURCE_NAME.equals(parseIdentifier())) {
+            throw error("Script does not start with the traversal source");
+        }
+        final Bytecode bytecode = new Bytecode();
+        boolean spawned = false;
+        while (skipIf('.')) {
+            final String name = parseIdentifier();
+            final Object[] arguments = parseArguments();
+            if (!spawned) {
+                final Method method = resolve(SOURCE_METHODS, name, arguments);
+                if (method.getReturnType() == GraphTraversalSource.class) {
+                    bytecode.addSource(name, coerce(method, arguments));
+                    continue;
+                }
+                spawned = true;
+                bytecode.addStep(name, coerce(method, arguments));
+            } else {
+                bytecode.addStep(name, coerce(resolve(STEP_METHODS, name, arguments), arguments));
+            }
+        }
+        skipIf(';');
+        skipWhitespace();
+        if (!spawned || position != query.length()) {
+            throw error("Script is not a single traversal");
+        }
+        return bytecode;
+    }
+
+    private Object parseArgument() {
+        skipWhitespace();
+        if (position >= query.length()) {
+            throw error("Missing argument");
+        }
+        final char c = query.charAt(position);
+        if (c == '\'' || c == '"') {
+            return parseString(c);
+        } else if (c == '-' || Character.isDigit(c)) {
+            return parseNumber();
+        } else if (c == '[') {
+            return parseList();
+        }
+
+        final String name = parseIdentifier();
+        if ("true".equals(name) || "false".equals(name)) {
+            return Boolean.valueOf(name);
+        } else if ("null".equals(name)) {
+            return null;
+        } else if (ANONYMOUS_TRAVERSAL_NAME.equals(name)) {
+            expect('.');
+            return parseAnonymousTraversal(parseIdentifier());
+        } else if (("P".equals(name) || "TextP".equals(name)) && skipIf('.')) {
+            final String predicate = parseIdentifier();
+            final Object[] arguments = parseArguments();
+            return parsePredicateChain((P<?>) invoke(resolve(PREDICATE_METHODS, predicate, arguments), arguments));
+        } else if (peek('(')) {
+            final Object[] arguments = parseArguments();
+            // A bare call is a predicate, or the start of an anonymous traversal, e.g. not(eq(1)) or not(out()).
+            final Method predicate = find(PREDICATE_METHODS, name, arguments);
+            if (predicate != null) {
+                return parsePredicateChain((P<?>) invoke(predicate, arguments));
+            }
+            return parseAnonymousTraversal(name, arguments);
+        } else if (skipIf('.')) {
+            final Object token = TOKENS.get(name + "." + parseIdentifier());
+            if (token == null) {
+                throw error("Unknown token");
+            }
+            return token;
+        } else if (parameters.containsKey(name)) {
+            return parameters.get(name);
+        } else if (TOKENS.containsKey(name)) {
+            return TOKENS.get(name);
+        }
+        throw error("Unknown variable " + name);
+    }
+
+    private Bytecode parseAnonymousTraversal(final String name) {
+        return parseAnonymousTraversal(name, parseArguments());
+    }
+
+    private Bytecode parseAnonymousTraversal(final String name, final Object[] arguments) {
+        final Bytecode bytecode = new Bytecode();
+        bytecode.addStep(name, coerce(resolve(ANONYMOUS_METHODS, name, arguments), arguments));
+        while (skipIf('.')) {
+            final String step = parseIdentifier();
+            final Object[] stepArguments = parseArguments();
+            bytecode.addStep(step, coerce(resolve(STEP_METHODS, step, stepArguments), stepArguments));
+        }
+        return bytecode;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private P<?> parsePredicateChain(final P<?> predicate) {
+        P<?> result = predicate;
+        while (skipIf('.')) {
+            final String name = parseIdentifier();
+            if (!PREDICATE_CHAINS.contains(name)) {
+                throw error("Unknown predicate method " + name);
+            }
+            final Object[] arguments = parseArguments();
+            if ("negate".equals(name) && arguments.length == 0) {
+                result = result.negate();
+            } else if (arguments.length == 1 && arguments[0] instanceof P) {
+                result = "and".equals(name) ? result.and((P) arguments[0]) : result.or((P) arguments[0]);
+            } else {
+                throw error("Invalid arguments of predicate method " + name);
+            }
+        }
+        return result;
+    }
+
+    private Object[] parseArguments() {
+        expect('(');
+        final List<Object> arguments = new ArrayList<>();
+        if (!skipIf(')')) {
+            do {
+                arguments.add(parseArgument());
+            } while (skipIf(','));
+            expect(')');
+        }
+        return arguments.toArray();
+    }
+
+    private List<Object> parseList() {
+        expect('[');
+        final List<Object> list = new ArrayList<>();
+        if (!skipIf(']')) {
+            do {
+                list.add(parseArgument());
+            } while (skipIf(','));
+            expect(']');
+        }
+        return list;
+    }
+
+    private String parseString(final char quote) {
+        final StringBuilder value = new StringBuilder();
+        position++;
+        while (position < query.length()) {
+            final char c = query.charAt(position++);
+            if (c == quote) {
+                return value.toString();
+            } else if (c == '$' && quote == '"') {
+                throw error("String interpolation is not supported");
+            } else if (c != '\\') {
+                value.append(c);
+            } else if (position < query.length()) {
+                final char escaped = query.charAt(position++);
+                switch (escaped) {
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case '\\':
+                    case '\'':
+                    case '"':
+                    case '$':
+                        value.append(escaped);
+                        break;
+                    default:
+                        throw error("Unsupported escape sequence");
+                }
+            }
+        }
+        throw error("Unterminated string");
+    }
+
+    private Object parseNumber() {
+        final int start = position;
+        if (query.charAt(position) == '-') {
+            position++;
+        }
+        while (position < query.length() && (Character.isDigit(query.charAt(position))
+                || ".eE".indexOf(query.charAt(position)) >= 0
+                || ("+-".indexOf(query.charAt(position)) >= 0
+                && "eE".indexOf(query.charAt(position - 1)) >= 0))) {
+            position++;
+        }
+        final String number = query.substring(start, position);
+        final boolean isDecimal = number.indexOf('.') >= 0 || number.indexOf('e') >= 0 || number.indexOf('E') >= 0;
+        final char suffix = position < query.length() ? Character.toLowerCase(query.charAt(position)) : 0;
+        try {
+            // Same types as Groovy number literals.
+            switch (suffix) {
+                case 'i':
+                    position++;
+                    return Integer.valueOf(number);
+                case 'l':
+                    position++;
+                    return Long.valueOf(number);
+                case 'g':
+                    position++;
+                    return isDecimal ? new BigDecimal(number) : new BigInteger(number);
+                case 'd':
+                    position++;
+                    return Double.valueOf(number);
+                case 'f':
+                    position++;
+                    return Float.valueOf(number);
+                default:
+                    if (isDecimal) {
+                        return new BigDecimal(number);
+                    }
+                    final BigInteger value = new BigInteger(number);
+                    if (value.bitLength() < Integer.SIZE) {
+                        return value.intValue();
+                    }
+                    return value.bitLength() < Long.SIZE ? value.longValue() : value;
+            }
+        } catch (final NumberFormatException e) {
+            throw error("Invalid number " + number);
+        }
+    }
+
+    private String parseIdentifier() {
+        skipWhitespace();
+        final int start = position;
+        while (position < query.length() && Character.isJavaIdentifierPart(query.charAt(position))) {
+            position++;
+        }
+        if (start == position || !Character.isJavaIdentifierStart(query.charAt(start))) {
+            throw error("Missing identifier");
+        }
+        return query.substring(start, position);
+    }
+
+    private Method resolve(final Map<String, List<Method>> methods, final String name, final Object[] arguments) {
+        final Method method = find(methods, name, arguments);
+        if (method == null) {
+            throw error("Unknown step " + name);
+        }
+        return method;
+    }
+
+    private static Method find(final Map<String, List<Method>> methods, final String name, final Object[] arguments) {
+        for (final Method method : methods.getOrDefault(name, ImmutableList.of())) {
+            if (isApplicable(method, arguments)) {
+                return method;
+            }
+        }
+        return null;
+    }
+
+    private static boolean isApplicable(final Method method, final Object[] arguments) {
+        final Class<?>[] types = method.getParameterTypes();
+        final int fixed = method.isVarArgs() ? types.length - 1 : types.length;
+        if (arguments.length < fixed || (!method.isVarArgs() && arguments.length != fixed)) {
+            return false;
+        }
+        for (int i = 0; i < arguments.length; i++) {
+            final Class<?> type = i < fixed ? types[i] : types[fixed].getComponentType();
+            if (!isAssignable(type, arguments[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAssignable(final Class<?> type, final Object argument) {
+        if (argument == null) {
+            return !type.isPrimitive();
+        } else if (type == boolean.class) {
+            return argument instanceof Boolean;
+        } else if (type.isPrimitive()) {
+            return argument instanceof Number;
+        } else if (argument instanceof Bytecode) {
+            return type.isAssignableFrom(Traversal.class) || Traversal.class.isAssignableFrom(type);
+        }
+        return type.isInstance(argument);
+    }
+
+    private static Object[] coerce(final Method method, final Object[] arguments) {
+        // Numbers are converted to the type of the parameter, as Groovy does when it calls the method.
+        final Class<?>[] types = method.getParameterTypes();
+        final int fixed = method.isVarArgs() ? types.length - 1 : types.length;
+        final Object[] coerced = arguments.clone();
+        for (int i = 0; i < fixed; i++) {
+            if (coerced[i] instanceof Number) {
+                final Number number = (Number) coerced[i];
+                if (types[i] == long.class) {
+                    coerced[i] = number.longValue();
+                } else if (types[i] == int.class) {
+                    coerced[i] = number.intValue();
+                } else if (types[i] == double.class) {
+                    coerced[i] = number.doubleValue();
+                } else if (types[i] == float.class) {
+                    coerced[i] = number.floatValue();
+                }
+            }
+        }
+        return coerced;
+    }
+
+    private Object invoke(final Method method, final Object[] arguments) {
+        final Object[] coerced = coerce(method, arguments);
+        final Object[] invocationArguments;
+        if (method.isVarArgs()) {
+            final int fixed = method.getParameterCount() - 1;
+            final Object varArgs = Array.newInstance(method.getParameterTypes()[fixed].getComponentType(),
+                    coerced.length - fixed);
+            for (int i = fixed; i < coerced.length; i++) {
+                Array.set(varArgs, i - fixed, coerced[i]);
+            }
+            invocationArguments = Arrays.copyOf(coerced, fixed + 1);
+            invocationArguments[fixed] = varArgs;
+        } else {
+            invocationArguments = coerced;
+        }
+        try {
+            return method.invoke(null, invocationArguments);
+        } catch (final IllegalAccessException | InvocationTargetException e) {
+            throw error("Invalid predicate " + method.getName());
+        }
+    }
+
+    private void expect(final char c) {
+        if (!skipIf(c)) {
+            throw error("Expected '" + c + "'");
+        }
+    }
+
+    private boolean peek(final char c) {
+        skipWhitespace();
+        return position < query.length() && query.charAt(position) == c;
+    }
+
+    private boolean skipIf(final char c) {
+        if (peek(c)) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (position < query.length() && Character.isWhitespace(query.charAt(position))) {
+            position++;
+        }
+    }
+
+    private IllegalArgumentException error(final String message) {
+        return new IllegalArgumentException(String.format("%s at position %d.", message, position));
+    }
+}
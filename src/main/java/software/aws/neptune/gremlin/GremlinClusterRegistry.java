@@ -0,0 +1,293 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.apache.tinkerpop.gremlin.driver.Client;
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.aws.neptune.jdbc.utilities.ConnectionProperties;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+
+/**
+ * Registry of Gremlin Clusters shared by all connections with the same cluster properties.
+ * Connections retain a Cluster while they are open and release it when they close. A Cluster that is no longer
+ * retained is closed once it has been idle for the eviction delay, so a connection that is opened shortly after
+ * another one was closed still gets a warm connection pool.
+ * Each Cluster has a single Client, and a traversal source on top of it, which all queries share. They are closed
+ * together with their Cluster.
+ */
+final class GremlinClusterRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GremlinClusterRegistry.class);
+    // Properties that createClusterBuilder reads, only these decide whether two connections can share a Cluster.
+    private static final Set<String> CLUSTER_KEYS = ImmutableSet.of(
+            GremlinConnectionProperties.CONTACT_POINT_KEY,
+            GremlinConnectionProperties.PATH_KEY,
+            GremlinConnectionProperties.PORT_KEY,
+            GremlinConnectionProperties.SERIALIZER_KEY,
+            GremlinConnectionProperties.ENABLE_SSL_KEY,
+            GremlinConnectionProperties.SSL_CONTEXT_KEY,
+            GremlinConnectionProperties.SSL_ENABLED_PROTOCOLS_KEY,
+            GremlinConnectionProperties.SSL_CIPHER_SUITES_KEY,
+            GremlinConnectionProperties.SSL_SKIP_VALIDATION_KEY,
+            GremlinConnectionProperties.KEY_STORE_KEY,
+            GremlinConnectionProperties.KEY_STORE_PASSWORD_KEY,
+            GremlinConnectionProperties.KEY_STORE_TYPE_KEY,
+            GremlinConnectionProperties.TRUST_STORE_KEY,
+            GremlinConnectionProperties.TRUST_STORE_PASSWORD_KEY,
+            GremlinConnectionProperties.TRUST_STORE_TYPE_KEY,
+            GremlinConnectionProperties.NIO_POOL_SIZE_KEY,
+            GremlinConnectionProperties.WORKER_POOL_SIZE_KEY,
+            GremlinConnectionProperties.MAX_CONNECTION_POOL_SIZE_KEY,
+            GremlinConnectionProperties.MIN_CONNECTION_POOL_SIZE_KEY,
+            GremlinConnectionProperties.MAX_IN_PROCESS_PER_CONNECTION_KEY,
+            GremlinConnectionProperties.MIN_IN_PROCESS_PER_CONNECTION_KEY,
+            GremlinConnectionProperties.MAX_SIMULT_USAGE_PER_CONNECTION_KEY,
+            GremlinConnectionProperties.MIN_SIMULT_USAGE_PER_CONNECTION_KEY,
+            GremlinConnectionProperties.CHANNELIZER_KEY,
+            GremlinConnectionProperties.KEEPALIVE_INTERVAL_KEY,
+            GremlinConnectionProperties.RESULT_ITERATION_BATCH_SIZE_KEY,
+            GremlinConnectionProperties.MAX_WAIT_FOR_CONNECTION_KEY,
+            GremlinConnectionProperties.MAX_WAIT_FOR_CLOSE_KEY,
+            GremlinConnectionProperties.MAX_CONTENT_LENGTH_KEY,
+            GremlinConnectionProperties.VALIDATION_REQUEST_KEY,
+            GremlinConnectionProperties.RECONNECT_INTERVAL_KEY,
+            GremlinConnectionProperties.LOAD_BALANCING_STRATEGY_KEY,
+            // The auth scheme picks the channelizer, and the region is used to sign IAMSigV4 requests.
+            ConnectionProperties.AUTH_SCHEME_KEY,
+            ConnectionProperties.SERVICE_REGION_KEY);
+    private static final long DEFAULT_IDLE_EVICTION_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final Object REGISTRY_LOCK = new Object();
+    private static final Map<Map<Object, Object>, Entry> ENTRIES = new HashMap<>();
+    private static final ScheduledExecutorService EVICTION_EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("gremlin-cluster-eviction").setDaemon(true).build());
+    private static long idleEvictionMillis = DEFAULT_IDLE_EVICTION_MILLIS;
+
+    private GremlinClusterRegistry() {
+    }
+
+    /**
+     * Retains the Cluster for the given properties, it will not be closed until it is released again.
+     *
+     * @param properties GremlinConnectionProperties of the connection.
+     */
+    static void retain(final GremlinConnectionProperties properties) {
+        synchronized (REGISTRY_LOCK) {
+            final Entry entry = ENTRIES.computeIfAbsent(getKey(properties), k -> new Entry());
+            entry.cancelEviction();
+            entry.referenceCount++;
+        }
+    }
+
+    /**
+     * Releases the Cluster for the given properties. Once no connection retains it the Cluster is closed after the
+     * idle eviction delay.
+     *
+     * @param properties GremlinConnectionProperties of the connection.
+     */
+    static void release(final GremlinConnectionProperties properties) {
+        synchronized (REGISTRY_LOCK) {
+            final Map<Object, Object> key = getKey(properties);
+            final Entry entry = ENTRIES.get(key);
+            if (entry == null || entry.referenceCount == 0) {
+                LOGGER.warn("Released a Gremlin Cluster that was not retained.");
+                return;
+            }
+            entry.referenceCount--;
+            if (entry.referenceCount == 0) {
+                scheduleEviction(key, entry);
+            }
+        }
+    }
+
+    /**
+     * Gets the Cluster for the given properties, creating it if there is none yet.
+     *
+     * @param properties GremlinConnectionProperties of the connection.
+     * @return Cluster for the properties.
+     * @throws SQLException if the Cluster cannot be built from the properties.
+     */
+    static Cluster getCluster(final GremlinConnectionProperties properties) throws SQLException {
+        synchronized (REGISTRY_LOCK) {
+            final Map<Object, Object> key = getKey(properties);
+            Entry entry = ENTRIES.get(key);
+            if (entry == null) {
+                // Used without being retained, let it be evicted once it goes idle.
+                entry = new Entry();
+                ENTRIES.put(key, entry);
+                scheduleEviction(key, entry);
+            }
+            if (entry.cluster == null) {
+                LOGGER.info("Creating Gremlin Cluster for " + properties.getContactPoint() + ".");
+                entry.cluster = GremlinQueryExecutor.createClusterBuilder(properties).create();
+            }
+            return entry.cluster;
+        }
+    }
+
+    /**
+     * Gets the shared Client of the Cluster for the given properties, initializing it if there is none yet.
+     *
+     * @param properties GremlinConnectionProperties of the connection.
+     * @return Initialized Client for the properties.
+     * @throws SQLException if the Cluster cannot be built from the properties.
+     */
+    static Client getClient(final GremlinConnectionProperties properties) throws SQLException {
+        final Cluster cluster = getCluster(properties);
+        synchronized (REGISTRY_LOCK) {
+            final Entry entry = ENTRIES.get(getKey(properties));
+            if (entry != null && entry.cluster == cluster && entry.client != null) {
+                return entry.client;
+            }
+        }
+        // Initializing opens the connection pool, so it is done outside of the lock.
+        final Client client = cluster.connect().init();
+        synchronized (REGISTRY_LOCK) {
+            final Entry entry = ENTRIES.get(getKey(properties));
+            if (entry == null || entry.cluster != cluster) {
+                // The Cluster was evicted in the meantime, closing it closes this Client as well.
+                return client;
+            }
+            if (entry.client == null) {
+                entry.client = client;
+                return client;
+            }
+        }
+        // Another thread initialized a Client first.
+        client.close();
+        return getClient(properties);
+    }
+
+    /**
+     * Gets a traversal source over the shared Client of the Cluster for the given properties.
+     *
+     * @param properties GremlinConnectionProperties of the connection.
+     * @return GraphTraversalSource for the properties.
+     * @throws SQLException if the Cluster cannot be built from the properties.
+     */
+    static GraphTraversalSource getTraversalSource(final GremlinConnectionProperties properties)
+            throws SQLException {
+        final Client client = getClient(properties);
+        synchronized (REGISTRY_LOCK) {
+            final Entry entry = ENTRIES.get(getKey(properties));
+            if (entry == null || entry.client != client) {
+                return traversal().withRemote(DriverRemoteConnection.using(client));
+            }
+            if (entry.traversalSource == null) {
+                entry.traversalSource = traversal().withRemote(DriverRemoteConnection.using(client));
+            }
+            return entry.traversalSource;
+        }
+    }
+
+    /**
+     * Gets the number of connections retaining the Cluster for the given properties.
+     *
+     * @param properties GremlinConnectionProperties of the connection.
+     * @return Reference count of the Cluster.
+     */
+    static int getReferenceCount(final GremlinConnectionProperties properties) {
+        synchronized (REGISTRY_LOCK) {
+            final Entry entry = ENTRIES.get(getKey(properties));
+            return entry == null ? 0 : entry.referenceCount;
+        }
+    }
+
+    /**
+     * Sets how long an unreferenced Cluster is kept open before it is closed.
+     *
+     * @param millis Idle eviction delay in milliseconds.
+     */
+    static void setIdleEvictionMillis(final long millis) {
+        synchronized (REGISTRY_LOCK) {
+            idleEvictionMillis = millis;
+        }
+    }
+
+    private static void scheduleEviction(final Map<Object, Object> key, final Entry entry) {
+        entry.cancelEviction();
+        entry.eviction = EVICTION_EXECUTOR.schedule(() -> evict(key, entry), idleEvictionMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private static void evict(final Map<Object, Object> key, final Entry entry) {
+        synchronized (REGISTRY_LOCK) {
+            // The entry may have been retained again, or replaced, since the eviction was scheduled.
+            if (entry.referenceCount != 0 || ENTRIES.get(key) != entry) {
+                return;
+            }
+            ENTRIES.remove(key);
+        }
+        entry.close();
+    }
+
+    private static Map<Object, Object> getKey(final GremlinConnectionProperties properties) {
+        final ImmutableMap.Builder<Object, Object> key = ImmutableMap.builder();
+        for (final String name : CLUSTER_KEYS) {
+            if (properties.containsKey(name)) {
+                key.put(name, properties.get(name));
+            }
+        }
+        return key.build();
+    }
+
+    private static final class Entry {
+        private Cluster cluster = null;
+        private Client client = null;
+        private GraphTraversalSource traversalSource = null;
+        private int referenceCount = 0;
+        private ScheduledFuture<?> eviction = null;
+
+        private void close() {
+            if (traversalSource != null) {
+                try {
+                    traversalSource.close();
+                } catch (final Exception e) {
+                    LOGGER.warn("Failed to close traversal source", e);
+                }
+            }
+            if (client != null) {
+                client.close();
+            }
+            if (cluster != null) {
+                LOGGER.info("Closing idle Gremlin Cluster.");
+                cluster.close();
+            }
+        }
+
+        private void cancelEviction() {
+            if (eviction != null) {
+                eviction.cancel(false);
+                eviction = null;
+            }
+        }
+    }
+}
@@ -19,6 +19,7 @@ package software.aws.neptune.gremlin;
 import lombok.Getter;
 import lombok.NonNull;
 import software.aws.neptune.NeptuneDatabaseMetadata;
+import software.aws.neptune.common.gremlindatamodel.MetadataCache;
 import software.aws.neptune.jdbc.Connection;
 import software.aws.neptune.jdbc.utilities.ConnectionProperties;
 import software.aws.neptune.jdbc.utilities.QueryExecutor;
@@ -40,11 +41,15 @@ public class GremlinConnection extends Connection implements java.sql.Connection
     public GremlinConnection(@NonNull final ConnectionProperties connectionProperties) throws SQLException {
         super(connectionProperties);
         this.gremlinConnectionProperties = new GremlinConnectionProperties(getConnectionProperties());
+        GremlinQueryExecutor.retainCluster(gremlinConnectionProperties);
+        if (gremlinConnectionProperties.getRefreshSchema()) {
+            MetadataCache.invalidateCache(gremlinConnectionProperties.getContactPoint());
+        }
     }
 
     @Override
     public void doClose() {
-        GremlinQueryExecutor.close();
+        GremlinQueryExecutor.close(gremlinConnectionProperties);
     }
 
     @Override
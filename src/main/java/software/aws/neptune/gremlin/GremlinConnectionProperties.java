@@ -76,10 +76,12 @@ public class GremlinConnectionProperties extends ConnectionProperties {
     public static final String VALIDATION_REQUEST_KEY = "validationRequest";
     public static final String RECONNECT_INTERVAL_KEY = "reconnectInterval";
     public static final String LOAD_BALANCING_STRATEGY_KEY = "loadBalancingStrategy";
+    public static final String SUBMIT_BYTECODE_KEY = "submitBytecode";
     public static final String DEFAULT_PATH = "/gremlin";
     public static final int DEFAULT_PORT = 8182;
     public static final boolean DEFAULT_ENABLE_SSL = true;
     public static final boolean DEFAULT_SSL_SKIP_VALIDATION = false;
+    public static final boolean DEFAULT_SUBMIT_BYTECODE = false;
     public static final Serializers DEFAULT_SERIALIZER = Serializers.GRAPHBINARY_V1D0;
     public static final Map<String, Object> DEFAULT_PROPERTIES_MAP = new HashMap<>();
     private static final List<String> SUPPORTED_PROPERTIES_LIST = ImmutableList.<String>builder()
@@ -115,6 +117,7 @@ public class GremlinConnectionProperties extends ConnectionProperties {
             .add(VALIDATION_REQUEST_KEY)
             .add(RECONNECT_INTERVAL_KEY)
             .add(LOAD_BALANCING_STRATEGY_KEY)
+            .add(SUBMIT_BYTECODE_KEY)
             .build();
     private static final Map<String, ConnectionProperties.PropertyConverter<?>> PROPERTY_CONVERTER_MAP =
             new HashMap<>();
@@ -140,6 +143,7 @@ public class GremlinConnectionProperties extends ConnectionProperties {
         PROPERTY_CONVERTER_MAP.put(MAX_CONTENT_LENGTH_KEY, ConnectionProperties::toUnsigned);
         PROPERTY_CONVERTER_MAP.put(RECONNECT_INTERVAL_KEY, ConnectionProperties::toUnsigned);
         PROPERTY_CONVERTER_MAP.put(SSL_SKIP_VALIDATION_KEY, ConnectionProperties::toBoolean);
+        PROPERTY_CONVERTER_MAP.put(SUBMIT_BYTECODE_KEY, ConnectionProperties::toBoolean);
     }
 
     static {
@@ -149,6 +153,7 @@ public class GremlinConnectionProperties extends ConnectionProperties {
         DEFAULT_PROPERTIES_MAP.put(ENABLE_SSL_KEY, DEFAULT_ENABLE_SSL);
         DEFAULT_PROPERTIES_MAP.put(SSL_SKIP_VALIDATION_KEY, DEFAULT_SSL_SKIP_VALIDATION);
         DEFAULT_PROPERTIES_MAP.put(SERIALIZER_KEY, DEFAULT_SERIALIZER);
+        DEFAULT_PROPERTIES_MAP.put(SUBMIT_BYTECODE_KEY, DEFAULT_SUBMIT_BYTECODE);
         // Set to maximum value by default. Apparently max value is 1 GB.
         // https://stackoverflow.com/questions/58055662/aws-neptune-io-netty-handler-codec-corruptedframeexception
         DEFAULT_PROPERTIES_MAP.put(MAX_CONTENT_LENGTH_KEY, 1024 * 1024 * 1024);
@@ -1092,6 +1097,24 @@ public class GremlinConnectionProperties extends ConnectionProperties {
         put(LOAD_BALANCING_STRATEGY_KEY, strategy);
     }
 
+    /**
+     * Gets whether traversal queries are compiled to bytecode locally and submitted as bytecode instead of scripts.
+     *
+     * @return The submit bytecode flag.
+     */
+    public boolean getSubmitBytecode() {
+        return (boolean) get(SUBMIT_BYTECODE_KEY);
+    }
+
+    /**
+     * Sets whether traversal queries are compiled to bytecode locally and submitted as bytecode instead of scripts.
+     *
+     * @param submitBytecode The submit bytecode flag.
+     */
+    public void setSubmitBytecode(final boolean submitBytecode) {
+        put(SUBMIT_BYTECODE_KEY, submitBytecode);
+    }
+
     /**
      * Validate the supported properties.
      */
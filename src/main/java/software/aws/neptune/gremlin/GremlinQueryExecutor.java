@@ -19,8 +19,11 @@ package software.aws.neptune.gremlin;
 import lombok.SneakyThrows;
 import org.apache.tinkerpop.gremlin.driver.Client;
 import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.driver.RequestOptions;
 import org.apache.tinkerpop.gremlin.driver.Result;
 import org.apache.tinkerpop.gremlin.driver.SigV4WebSocketChannelizer;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.aws.neptune.common.gremlindatamodel.MetadataCache;
@@ -31,7 +34,9 @@ import software.aws.neptune.gremlin.resultset.GremlinResultSetGetSchemas;
 import software.aws.neptune.gremlin.resultset.GremlinResultSetGetTableTypes;
 import software.aws.neptune.gremlin.resultset.GremlinResultSetGetTables;
 import software.aws.neptune.gremlin.resultset.GremlinResultSetGetTypeInfo;
+import software.aws.neptune.gremlin.resultset.GremlinRowDecoder;
 import software.aws.neptune.jdbc.utilities.AuthScheme;
+import software.aws.neptune.jdbc.utilities.ParameterizedQuery;
 import software.aws.neptune.jdbc.utilities.QueryExecutor;
 import software.aws.neptune.jdbc.utilities.SqlError;
 import software.aws.neptune.jdbc.utilities.SqlState;
@@ -39,26 +44,26 @@ import java.lang.reflect.Constructor;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
 
 /**
  * Implementation of QueryExecutor for Gremlin.
  */
 public class GremlinQueryExecutor extends QueryExecutor {
     private static final Logger LOGGER = LoggerFactory.getLogger(GremlinQueryExecutor.class);
-    private static final Object CLUSTER_LOCK = new Object();
-    private static Cluster cluster = null;
-    private static GremlinConnectionProperties previousGremlinConnectionProperties = null;
+    // Name of the traversal source that bytecode requests are bound to on the server.
+    private static final String TRAVERSAL_SOURCE_ALIAS = "g";
     private final Object completableFutureLock = new Object();
     private final GremlinConnectionProperties gremlinConnectionProperties;
-    private CompletableFuture<org.apache.tinkerpop.gremlin.driver.ResultSet> completableFuture;
+    // Future of the stage of the running query that is being waited on, cancelling it interrupts the query.
+    private CompletableFuture<?> completableFuture;
+    private CompletableFuture<Void> openStream;
 
     /**
      * GremlinQueryExecutor constructor.
@@ -194,32 +199,49 @@ public class GremlinQueryExecutor extends QueryExecutor {
 
     protected static Cluster getCluster(final GremlinConnectionProperties gremlinConnectionProperties)
             throws SQLException {
-        if (cluster == null ||
-                !propertiesEqual(previousGremlinConnectionProperties, gremlinConnectionProperties)) {
-            previousGremlinConnectionProperties = gremlinConnectionProperties;
-            return createClusterBuilder(gremlinConnectionProperties).create();
-        }
-        return cluster;
+        return GremlinClusterRegistry.getCluster(gremlinConnectionProperties);
     }
 
     /**
-     * Function to close down the cluster.
+     * Function to retain the cluster of a connection while it is open.
+     *
+     * @param gremlinConnectionProperties GremlinConnectionProperties of the connection.
      */
-    public static void close() {
-        synchronized (CLUSTER_LOCK) {
-            if (cluster != null) {
-                cluster.close();
-                cluster = null;
-            }
-        }
+    public static void retainCluster(final GremlinConnectionProperties gremlinConnectionProperties) {
+        GremlinClusterRegistry.retain(gremlinConnectionProperties);
+    }
+
+    /**
+     * Function to release the cluster of a connection, it is closed once no open connection uses it.
+     *
+     * @param gremlinConnectionProperties GremlinConnectionProperties of the connection.
+     */
+    public static void close(final GremlinConnectionProperties gremlinConnectionProperties) {
+        GremlinClusterRegistry.release(gremlinConnectionProperties);
     }
 
+    /**
+     * Function to get the Client shared by all queries on the cluster of the connection.
+     *
+     * @param gremlinConnectionProperties GremlinConnectionProperties of the connection.
+     * @return Initialized Client, it is closed together with its cluster and must not be closed by the caller.
+     * @throws SQLException if the cluster cannot be built from the properties.
+     */
     protected static Client getClient(final GremlinConnectionProperties gremlinConnectionProperties)
             throws SQLException {
-        synchronized (CLUSTER_LOCK) {
-            cluster = getCluster(gremlinConnectionProperties);
-            return cluster.connect().init();
-        }
+        return GremlinClusterRegistry.getClient(gremlinConnectionProperties);
+    }
+
+    /**
+     * Function to get the traversal source shared by all queries on the cluster of the connection.
+     *
+     * @param gremlinConnectionProperties GremlinConnectionProperties of the connection.
+     * @return GraphTraversalSource, it is closed together with its cluster and must not be closed by the caller.
+     * @throws SQLException if the cluster cannot be built from the properties.
+     */
+    protected static GraphTraversalSource getGraphTraversalSource(
+            final GremlinConnectionProperties gremlinConnectionProperties) throws SQLException {
+        return GremlinClusterRegistry.getTraversalSource(gremlinConnectionProperties);
     }
 
     /**
@@ -239,31 +261,31 @@ public class GremlinQueryExecutor extends QueryExecutor {
      * @return true if the connection is valid, otherwise false.
      */
     @Override
-    @SneakyThrows
     public boolean isValid(final int timeout) {
         LOGGER.info("Checking timeout " + timeout + ".");
-        final Cluster tempCluster =
-                GremlinQueryExecutor.createClusterBuilder(gremlinConnectionProperties).maxWaitForConnection(timeout * 1000)
-                        .create();
-        final Client tempClient = tempCluster.connect();
-        tempClient.init();
-
         try {
+            // Ping over the shared Client instead of opening a new connection pool for every check.
             // Neptune doesn't support arbitrary math queries, but the below command is valid in Gremlin and is basically
             // saying return 0.
-            final CompletableFuture<List<Result>> tempCompletableFuture = tempClient.submit("g.inject(0)").all();
-            tempCompletableFuture.get(timeout, TimeUnit.SECONDS);
-            tempClient.close();
-            tempCluster.close();
-            return true;
-        } catch (final RuntimeException e) {
+            return awaitValidation(getClient(gremlinConnectionProperties).submitAsync("g.inject(0)")
+                    .thenCompose(org.apache.tinkerpop.gremlin.driver.ResultSet::all), timeout);
+        } catch (final SQLException | RuntimeException e) {
             LOGGER.error("Connecting to database failed.", e);
         }
-        tempClient.close();
-        tempCluster.close();
         return false;
     }
 
+    /**
+     * Gets the timeout used to validate the connection before the metadata is read, isValid takes it in seconds.
+     *
+     * @param gremlinConnectionProperties GremlinConnectionProperties of the connection.
+     * @return Connection timeout rounded up to whole seconds.
+     */
+    protected static int getValidationTimeoutSeconds(final GremlinConnectionProperties gremlinConnectionProperties) {
+        return (int) Math.max(1, TimeUnit.MILLISECONDS.toSeconds(
+                gremlinConnectionProperties.getConnectionTimeoutMillis() + TimeUnit.SECONDS.toMillis(1) - 1));
+    }
+
     /**
      * Function to execute query.
      *
@@ -275,17 +297,78 @@ public class GremlinQueryExecutor extends QueryExecutor {
     @Override
     public ResultSet executeQuery(final String sql, final Statement statement) throws SQLException {
         LOGGER.info("GremlinQueryExecutor executeQuery");
-        final Constructor<?> constructor;
+        return runCancellableQuery(getResultSetConstructor(), statement, sql);
+    }
+
+    /**
+     * Function to execute query asynchronously, the query is submitted without blocking a thread until it completes.
+     *
+     * @param sql       Query to execute.
+     * @param statement java.sql.Statement Object required for result set.
+     * @return Future of the java.sql.ResultSet object returned from query execution.
+     * @throws SQLException if the query cannot be started.
+     */
+    @Override
+    public CompletableFuture<ResultSet> executeQueryAsync(final String sql, final Statement statement)
+            throws SQLException {
+        LOGGER.info("GremlinQueryExecutor executeQueryAsync");
+        return runCancellableQueryAsync(getResultSetConstructor(), statement, sql);
+    }
+
+    /**
+     * Function to return the placeholder dialect of prepared queries.
+     *
+     * @return Groovy (GROOVY), so the ternary operator is not a placeholder.
+     */
+    @Override
+    public ParameterizedQuery.Dialect getParameterDialect() {
+        return ParameterizedQuery.Dialect.GROOVY;
+    }
+
+    /**
+     * Function to execute a prepared query, the parameters are sent as script bindings so the server can reuse the
+     * compiled script.
+     *
+     * @param query      Query with '?' placeholders.
+     * @param parameters Parameter values, in placeholder order.
+     * @param statement  java.sql.Statement Object required for result set.
+     * @return java.sql.ResultSet object returned from query execution.
+     * @throws SQLException if query execution fails, or it was cancelled.
+     */
+    @Override
+    public ResultSet executeQuery(final ParameterizedQuery query, final List<Object> parameters,
+                                  final Statement statement) throws SQLException {
+        LOGGER.info("GremlinQueryExecutor executeQuery with parameters");
+        final Map<String, Object> bindings = new HashMap<>();
+        for (int i = 0; i < parameters.size(); i++) {
+            bindings.put(ParameterizedQuery.getParameterName(i + 1), toBindingValue(parameters.get(i)));
+        }
+        return runCancellableQuery(getResultSetConstructor(), statement, query.getQuery(""), bindings);
+    }
+
+    private static Object toBindingValue(final Object value) {
+        // The serializers handle java.util.Date but not its java.sql subclasses.
+        if (value instanceof java.util.Date) {
+            return new java.util.Date(((java.util.Date) value).getTime());
+        } else if (value instanceof java.net.URI || value instanceof java.net.URL) {
+            // Property graphs have no IRIs, they are stored as strings.
+            return value.toString();
+        }
+        return value;
+    }
+
+    private Constructor<?> getResultSetConstructor() throws SQLException {
         try {
-            constructor = GremlinResultSet.class
-                    .getConstructor(java.sql.Statement.class, GremlinResultSet.ResultSetInfoWithRows.class);
+            return GremlinResultSet.class
+                    .getConstructor(java.sql.Statement.class, isStreamingQuery()
+                            ? GremlinResultSet.ResultSetInfoWithStream.class
+                            : GremlinResultSet.ResultSetInfoWithRows.class);
         } catch (final NoSuchMethodException e) {
             throw SqlError.createSQLException(
                     LOGGER,
                     SqlState.INVALID_QUERY_EXPRESSION,
                     SqlError.QUERY_FAILED, e);
         }
-        return runCancellableQuery(constructor, statement, sql);
     }
 
     /**
@@ -303,7 +386,7 @@ public class GremlinQueryExecutor extends QueryExecutor {
         final String endpoint = this.gremlinConnectionProperties.getContactPoint();
         if (!MetadataCache.isMetadataCached(endpoint)) {
             // TODO AN-576: Temp isValid check. Find a better solution inside the export tool to check if connection is valid.
-            if (!statement.getConnection().isValid(3000)) {
+            if (!statement.getConnection().isValid(getValidationTimeoutSeconds(gremlinConnectionProperties))) {
                 throw new SQLException("Failed to execute getTables, could not connect to database.");
             }
         }
@@ -365,7 +448,7 @@ public class GremlinQueryExecutor extends QueryExecutor {
         final String endpoint = this.gremlinConnectionProperties.getContactPoint();
         if (!MetadataCache.isMetadataCached(endpoint)) {
             // TODO AN-576: Temp isValid check. Find a better solution inside the export tool to check if connection is valid.
-            if (!statement.getConnection().isValid(3000)) {
+            if (!statement.getConnection().isValid(getValidationTimeoutSeconds(gremlinConnectionProperties))) {
                 throw new SQLException("Failed to execute getTables, could not connect to database.");
             }
         }
@@ -388,56 +471,111 @@ public class GremlinQueryExecutor extends QueryExecutor {
         return new GremlinResultSetGetTypeInfo(statement);
     }
 
+    @Override
+    protected <T> T runQuery(final String query) throws SQLException {
+        return submitQuery(query, Collections.emptyMap());
+    }
+
+    @Override
+    protected <T> T runQuery(final String query, final Map<String, Object> parameters) throws SQLException {
+        // Without parameters, defer to runQuery so subclasses that translate the query still do so.
+        return parameters.isEmpty() ? runQuery(query) : submitQuery(query, parameters);
+    }
+
     @SneakyThrows
+    @SuppressWarnings("unchecked")
+    private <T> T submitQuery(final String query, final Map<String, Object> parameters) throws SQLException {
+        final org.apache.tinkerpop.gremlin.driver.ResultSet resultSet = awaitStage(submit(query, parameters));
+        if (isStreamingQuery()) {
+            return (T) createResultSetInfoWithStream(resultSet, awaitStage(resultSet.some(getLookaheadSize())));
+        }
+        return (T) createResultSetInfoWithRows(awaitStage(resultSet.all()));
+    }
+
     @Override
     @SuppressWarnings("unchecked")
-    protected <T> T runQuery(final String query) throws SQLException {
+    protected <T> CompletableFuture<T> runQueryAsync(final String query) throws SQLException {
+        final CompletableFuture<org.apache.tinkerpop.gremlin.driver.ResultSet> submitted =
+                submit(query, Collections.emptyMap());
+        final CompletableFuture<T> intermediateResult = isStreamingQuery()
+                ? submitted.thenCompose(resultSet -> resultSet.some(getLookaheadSize())
+                        .thenApply(lookahead -> (T) createResultSetInfoWithStream(resultSet, lookahead)))
+                : submitted.thenCompose(org.apache.tinkerpop.gremlin.driver.ResultSet::all)
+                        .thenApply(results -> (T) createResultSetInfoWithRows(results));
+        synchronized (completableFutureLock) {
+            completableFuture = intermediateResult;
+        }
+        return intermediateResult;
+    }
+
+    private CompletableFuture<org.apache.tinkerpop.gremlin.driver.ResultSet> submit(
+            final String query, final Map<String, Object> parameters) throws SQLException {
         final Client client = getClient(gremlinConnectionProperties);
+        if (gremlinConnectionProperties.getSubmitBytecode()) {
+            final Bytecode bytecode = GremlinBytecodeCompiler.compile(query, parameters);
+            if (bytecode != null) {
+                // The parameter values are part of the bytecode. Results come back as traversers.
+                return client.alias(TRAVERSAL_SOURCE_ALIAS)
+                        .submitAsync(bytecode, createRequestOptions(Collections.emptyMap()));
+            }
+        }
+        return client.submitAsync(query, createRequestOptions(parameters));
+    }
+
+    private RequestOptions createRequestOptions(final Map<String, Object> parameters) {
+        final RequestOptions.Builder requestOptions = RequestOptions.build();
+        parameters.forEach(requestOptions::addParameter);
+        if (getQueryTimeout() > 0) {
+            // Let the server stop evaluating the query once the JDBC query timeout is reached.
+            requestOptions.timeout(TimeUnit.SECONDS.toMillis(getQueryTimeout()));
+        }
+        return requestOptions.create();
+    }
+
+    private int getLookaheadSize() {
+        return Math.max(1, gremlinConnectionProperties.getResultLookaheadSize());
+    }
 
+    private GremlinResultSet.ResultSetInfoWithStream createResultSetInfoWithStream(
+            final org.apache.tinkerpop.gremlin.driver.ResultSet resultSet, final List<Result> lookahead) {
+        // Only the lookahead window is read up front to infer the columns and their types, the rest of the
+        // results are pulled in fetch size chunks as the ResultSet is iterated.
+        final GremlinRowDecoder rowDecoder = new GremlinRowDecoder();
+        final List<Object[]> lookaheadRows = rowDecoder.decode(lookahead);
+        final CompletableFuture<Void> streamCompletion = new CompletableFuture<>();
         synchronized (completableFutureLock) {
-            completableFuture = client.submitAsync(query);
-        }
-
-        final List<Result> results = completableFuture.get().all().get();
-        final List<Map<String, Object>> rows = new ArrayList<>();
-        final Map<String, Class<?>> columns = new HashMap<>();
-        for (final Object result : results.stream().map(Result::getObject).collect(Collectors.toList())) {
-            if (!(result instanceof LinkedHashMap)) {
-                // Best way to handle it seems to be to issue a warning.
-                LOGGER.warn(String.format("Result of type '%s' is not convertible to a Map and will be skipped.",
-                        result.getClass().getCanonicalName()));
-                continue;
-            }
+            // Kept so the query can still be cancelled while its results are streamed.
+            openStream = streamCompletion;
+        }
+        return new GremlinResultSet.ResultSetInfoWithStream(resultSet, lookaheadRows, rowDecoder, getFetchSize(),
+                streamCompletion);
+    }
 
-            // We don't know key or value types, so pull it out raw.
-            final Map<?, ?> uncastedRow = (LinkedHashMap<?, ?>) result;
-
-            // Convert generic key types to string and insert in new map with corresponding value.
-            final Map<String, Object> row = new HashMap<>();
-            uncastedRow.forEach((key, value) -> row.put(key.toString(), value));
-
-            // Add row to List of rows.
-            rows.add(row);
-
-            // Get columns from row and put in columns List if they aren't already in there.
-            for (final String key : row.keySet()) {
-                if (!columns.containsKey(key)) {
-                    final Object value = row.get(key);
-                    if (GremlinTypeMapping.checkContains(value.getClass())) {
-                        columns.put(key, value.getClass());
-                    } else {
-                        columns.put(key, String.class);
-                    }
-                } else if (columns.get(key) != row.get(key)) {
-                    columns.put(key, String.class);
-                }
-            }
+    private static GremlinResultSet.ResultSetInfoWithRows createResultSetInfoWithRows(final List<Result> results) {
+        final GremlinRowDecoder rowDecoder = new GremlinRowDecoder();
+        final List<Object[]> rows = rowDecoder.decode(results);
+        return new GremlinResultSet.ResultSetInfoWithRows(rows, rowDecoder.getColumnTypes(),
+                rowDecoder.getColumns());
+    }
+
+    private <V> V awaitStage(final CompletableFuture<V> stage) throws ExecutionException, InterruptedException {
+        synchronized (completableFutureLock) {
+            completableFuture = stage;
         }
+        return stage.get();
+    }
 
-        final List<String> listColumns = new ArrayList<>(columns.keySet());
-        return (T) new GremlinResultSet.ResultSetInfoWithRows(rows, columns, listColumns);
+    private boolean isStreamingQuery() {
+        // Results are streamed once a fetch size has been set on the Statement.
+        return getFetchSize() != Integer.MAX_VALUE;
     }
 
+    /**
+     * Cancels the query on the client only. Gremlin Server has no request to abort a running query, and closing the
+     * connection would abort the other queries sharing it, so the server keeps evaluating the query until it
+     * completes or reaches the query timeout, which is sent along with the query. Results it still sends are
+     * discarded by the driver.
+     */
     @Override
     protected void performCancel() throws SQLException {
         synchronized (completableFutureLock) {
@@ -446,4 +584,16 @@ public class GremlinQueryExecutor extends QueryExecutor {
             }
         }
     }
+
+    /**
+     * Cancels streamed results on the client only, like performCancel. The ResultSet stops reading and fails, the
+     * server still sends the remaining results unless the query timeout stops it first.
+     */
+    @Override
+    protected boolean cancelOpenStream() {
+        synchronized (completableFutureLock) {
+            // Only succeeds while the ResultSet has neither been closed nor read to the end.
+            return openStream != null && openStream.cancel(true);
+        }
+    }
 }
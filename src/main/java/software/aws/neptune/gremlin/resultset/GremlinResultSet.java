@@ -18,6 +18,7 @@ package software.aws.neptune.gremlin.resultset;
 
 import lombok.AllArgsConstructor;
 import lombok.Getter;
+import org.apache.tinkerpop.gremlin.driver.Result;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.aws.neptune.common.ResultSetInfoWithoutRows;
@@ -27,10 +28,14 @@ import software.aws.neptune.jdbc.utilities.SqlError;
 import software.aws.neptune.jdbc.utilities.SqlState;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
 /**
  * Gremlin ResultSet class.
@@ -38,8 +43,16 @@ import java.util.Map;
 public class GremlinResultSet extends ResultSet implements java.sql.ResultSet {
     private static final Logger LOGGER = LoggerFactory.getLogger(GremlinResultSet.class);
     private final List<String> columns;
-    private final List<Map<String, Object>> rows;
-    private final Map<String, Class<?>> columnTypes;
+    private final List<Object[]> rows;
+    private final List<Class<?>> columnTypes;
+    // Streaming state, only used when rows are pulled from the server as the cursor advances.
+    private final org.apache.tinkerpop.gremlin.driver.ResultSet streamResultSet;
+    private final GremlinRowDecoder rowDecoder;
+    private final Queue<Object[]> bufferedRows;
+    // Completed once the stream is exhausted or closed, cancelled if the query is cancelled while streaming.
+    private final CompletableFuture<Void> streamCompletion;
+    private Object[] currentRow = null;
+    private int fetchSize = 0;
     private boolean wasNull = false;
 
     /**
@@ -53,6 +66,30 @@ public class GremlinResultSet extends ResultSet implements java.sql.ResultSet {
         this.columns = resultSetInfo.getColumns();
         this.rows = resultSetInfo.getRows();
         this.columnTypes = resultSetInfo.getColumnsTypes();
+        this.streamResultSet = null;
+        this.rowDecoder = null;
+        this.bufferedRows = null;
+        this.streamCompletion = null;
+    }
+
+    /**
+     * GremlinResultSet constructor for streaming results, initializes super class.
+     *
+     * @param statement     Statement Object.
+     * @param resultSetInfo ResultSetInfoWithStream Object.
+     */
+    public GremlinResultSet(final java.sql.Statement statement, final ResultSetInfoWithStream resultSetInfo) {
+        super(statement, resultSetInfo.getRowDecoder().getColumns());
+        this.columns = resultSetInfo.getRowDecoder().getColumns();
+        this.columnTypes = resultSetInfo.getRowDecoder().getColumnTypes();
+        this.rows = null;
+        this.streamResultSet = resultSetInfo.getResultSet();
+        this.rowDecoder = resultSetInfo.getRowDecoder();
+        // The columns are reported from here on, later rows are decoded into them.
+        this.rowDecoder.fixColumns();
+        this.bufferedRows = new ArrayDeque<>(resultSetInfo.getLookaheadRows());
+        this.fetchSize = resultSetInfo.getFetchSize();
+        this.streamCompletion = resultSetInfo.getStreamCompletion();
     }
 
     /**
@@ -64,12 +101,95 @@ public class GremlinResultSet extends ResultSet implements java.sql.ResultSet {
     public GremlinResultSet(final java.sql.Statement statement, final ResultSetInfoWithoutRows resultSetInfo) {
         super(statement, resultSetInfo.getColumns(), resultSetInfo.getRowCount());
         this.columns = resultSetInfo.getColumns();
-        this.columnTypes = new HashMap<>();
+        this.columnTypes = Collections.emptyList();
         this.rows = null;
+        this.streamResultSet = null;
+        this.rowDecoder = null;
+        this.bufferedRows = null;
+        this.streamCompletion = null;
     }
 
     @Override
     protected void doClose() throws SQLException {
+        if (bufferedRows != null) {
+            bufferedRows.clear();
+        }
+        if (streamCompletion != null) {
+            streamCompletion.complete(null);
+        }
+        currentRow = null;
+    }
+
+    @Override
+    protected boolean fetchNextRow() throws SQLException {
+        if (bufferedRows.isEmpty()) {
+            fillBuffer();
+        }
+        currentRow = bufferedRows.poll();
+        return currentRow != null;
+    }
+
+    @Override
+    public boolean isLast() throws SQLException {
+        if (!isStreaming()) {
+            return super.isLast();
+        }
+        verifyOpen();
+        if (currentRow == null) {
+            return false;
+        }
+        if (bufferedRows.isEmpty()) {
+            // Read one chunk ahead of the cursor, its rows are returned by the following calls of next.
+            fillBuffer();
+        }
+        return bufferedRows.isEmpty();
+    }
+
+    private void fillBuffer() throws SQLException {
+        try {
+            // Keep pulling until a chunk produces rows or the stream is exhausted, some() returns an empty list
+            // once all results are consumed.
+            while (bufferedRows.isEmpty()) {
+                final CompletableFuture<List<Result>> chunk = streamResultSet.some(fetchSize);
+                // Wait for the next chunk, unless the query is cancelled first. Failures of the chunk are reported
+                // when it is read.
+                CompletableFuture.anyOf(chunk, streamCompletion).handle((result, error) -> null).get();
+                if (streamCompletion.isCancelled()) {
+                    throw SqlError.createSQLException(
+                            LOGGER,
+                            SqlState.OPERATION_CANCELED,
+                            SqlError.QUERY_CANCELED);
+                }
+                final List<Result> results = chunk.get();
+                if (results.isEmpty()) {
+                    streamCompletion.complete(null);
+                    return;
+                }
+                rowDecoder.decode(results, bufferedRows);
+            }
+        } catch (final InterruptedException | ExecutionException e) {
+            throw SqlError.createSQLException(
+                    LOGGER,
+                    SqlState.OPERATION_CANCELED,
+                    SqlError.QUERY_FAILED, e);
+        }
+    }
+
+    @Override
+    protected int getDriverFetchSize() throws SQLException {
+        if (!isStreaming()) {
+            return super.getDriverFetchSize();
+        }
+        return fetchSize;
+    }
+
+    @Override
+    protected void setDriverFetchSize(final int rows) {
+        if (!isStreaming()) {
+            super.setDriverFetchSize(rows);
+        } else if (rows > 0) {
+            fetchSize = rows;
+        }
     }
 
     @Override
@@ -80,8 +200,9 @@ public class GremlinResultSet extends ResultSet implements java.sql.ResultSet {
     @Override
     protected ResultSetMetaData getResultMetadata() throws SQLException {
         final List<Class<?>> rowTypes = new ArrayList<>();
-        for (final String column : columns) {
-            rowTypes.add(columnTypes.getOrDefault(column, String.class));
+        for (int i = 0; i < columns.size(); i++) {
+            final Class<?> columnType = (i < columnTypes.size()) ? columnTypes.get(i) : null;
+            rowTypes.add((columnType == null) ? String.class : columnType);
         }
         return new GremlinResultSetMetadata(columns, rowTypes);
     }
@@ -95,7 +216,7 @@ public class GremlinResultSet extends ResultSet implements java.sql.ResultSet {
 
     private Object getValue(final int columnIndex) throws SQLException {
         verifyOpen();
-        if (rows == null) {
+        if (rows == null && !isStreaming()) {
             throw SqlError.createSQLException(
                     LOGGER,
                     SqlState.DATA_EXCEPTION,
@@ -103,9 +224,9 @@ public class GremlinResultSet extends ResultSet implements java.sql.ResultSet {
         }
         validateRowColumn(columnIndex);
 
-        final String colName = columns.get(columnIndex - 1);
-        final Map<String, Object> row = rows.get(getRowIndex());
-        final Object value = row.getOrDefault(colName, null);
+        // Rows decoded before a column was first seen are shorter than the columns.
+        final Object[] row = isStreaming() ? currentRow : rows.get(getRowIndex());
+        final Object value = (columnIndex <= row.length) ? row[columnIndex - 1] : null;
         wasNull = (value == null);
 
         return value;
@@ -121,8 +242,18 @@ public class GremlinResultSet extends ResultSet implements java.sql.ResultSet {
     @AllArgsConstructor
     @Getter
     public static class ResultSetInfoWithRows {
-        private final List<Map<String, Object>> rows;
-        private final Map<String, Class<?>> columnsTypes;
+        private final List<Object[]> rows;
+        private final List<Class<?>> columnsTypes;
         private final List<String> columns;
     }
+
+    @AllArgsConstructor
+    @Getter
+    public static class ResultSetInfoWithStream {
+        private final org.apache.tinkerpop.gremlin.driver.ResultSet resultSet;
+        private final List<Object[]> lookaheadRows;
+        private final GremlinRowDecoder rowDecoder;
+        private final int fetchSize;
+        private final CompletableFuture<Void> streamCompletion;
+    }
 }
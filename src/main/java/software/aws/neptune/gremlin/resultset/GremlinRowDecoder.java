@@ -0,0 +1,160 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin.resultset;
+
+import lombok.Getter;
+import org.apache.tinkerpop.gremlin.driver.Result;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import software.aws.neptune.gremlin.GremlinTypeMapping;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Decodes the Map results of a Gremlin query into rows.
+ * Each row is an array indexed by column, the index of a key is resolved the first time the key is seen in the
+ * response and reused for every following result, so the result Maps are read once and not copied.
+ * Columns are ordered by when they are first seen, and a column's type falls back to String if it differs between
+ * rows.
+ */
+public class GremlinRowDecoder {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GremlinRowDecoder.class);
+    private final Map<String, Integer> columnIndices = new HashMap<>();
+    @Getter
+    private final List<String> columns = new ArrayList<>();
+    @Getter
+    private final List<Class<?>> columnTypes = new ArrayList<>();
+    // Once the columns have been reported to the caller, keys that are not a column yet are skipped.
+    private boolean columnsFixed = false;
+
+    /**
+     * Gets how many times a Gremlin result occurs, a traverser returned for a bytecode request stands for as many
+     * results as its bulk.
+     *
+     * @param result Result Object returned by the server.
+     * @return Number of rows for the result.
+     */
+    public static long getBulk(final Object result) {
+        return (result instanceof Traverser) ? ((Traverser<?>) result).bulk() : 1;
+    }
+
+    /**
+     * Stops adding columns and updating their types, rows decoded afterwards only contain the current columns.
+     */
+    public void fixColumns() {
+        columnsFixed = true;
+    }
+
+    /**
+     * Decodes a list of results into rows.
+     *
+     * @param results Results returned by the server.
+     * @return Decoded rows.
+     */
+    public List<Object[]> decode(final List<Result> results) {
+        final List<Object[]> rows = new ArrayList<>(results.size());
+        decode(results, rows);
+        return rows;
+    }
+
+    /**
+     * Decodes a list of results into rows, adding each row once for every result it stands for.
+     *
+     * @param results Results returned by the server.
+     * @param rows    Collection to add the decoded rows to.
+     */
+    public void decode(final List<Result> results, final Collection<Object[]> rows) {
+        for (final Result result : results) {
+            final Object object = result.getObject();
+            final Object[] row = decodeRow(object);
+            if (row == null) {
+                continue;
+            }
+            for (long i = getBulk(object); i > 0; i--) {
+                rows.add(row);
+            }
+        }
+    }
+
+    /**
+     * Decodes a single result into a row, keyed by the String value of the original keys.
+     *
+     * @param result Result Object returned by the server.
+     * @return Row with a value for each column, or null if the result is not a Map.
+     */
+    public Object[] decodeRow(final Object result) {
+        if (result instanceof Traverser) {
+            // Bytecode requests return traversers, with the result as their object.
+            return decodeRow(((Traverser<?>) result).get());
+        }
+        if (!(result instanceof Map)) {
+            // Best way to handle it seems to be to issue a warning.
+            LOGGER.warn(String.format("Result of type '%s' is not convertible to a Map and will be skipped.",
+                    result == null ? null : result.getClass().getCanonicalName()));
+            return null;
+        }
+
+        // We don't know key or value types, so pull it out raw.
+        final Map<?, ?> map = (Map<?, ?>) result;
+        Object[] row = new Object[columns.size()];
+        for (final Map.Entry<?, ?> entry : map.entrySet()) {
+            final Integer index = getColumnIndex(entry.getKey().toString());
+            if (index == null) {
+                continue;
+            }
+            if (index >= row.length) {
+                // New column, grow the row once for all the keys that may still be new.
+                row = Arrays.copyOf(row, columns.size() + map.size());
+            }
+            final Object value = entry.getValue();
+            row[index] = value;
+            if (!columnsFixed) {
+                updateColumnType(index, value);
+            }
+        }
+        return (row.length > columns.size()) ? Arrays.copyOf(row, columns.size()) : row;
+    }
+
+    private Integer getColumnIndex(final String key) {
+        final Integer index = columnIndices.get(key);
+        if (index != null || columnsFixed) {
+            return index;
+        }
+        final int newIndex = columns.size();
+        columnIndices.put(key, newIndex);
+        columns.add(key);
+        columnTypes.add(null);
+        return newIndex;
+    }
+
+    private void updateColumnType(final int index, final Object value) {
+        final Class<?> valueType = (value != null) && GremlinTypeMapping.checkContains(value.getClass())
+                ? value.getClass()
+                : String.class;
+        final Class<?> columnType = columnTypes.get(index);
+        if (columnType == null) {
+            columnTypes.set(index, valueType);
+        } else if (!columnType.equals(valueType)) {
+            columnTypes.set(index, String.class);
+        }
+    }
+}
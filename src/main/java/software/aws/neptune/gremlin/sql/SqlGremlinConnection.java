@@ -17,6 +17,7 @@
 package software.aws.neptune.gremlin.sql;
 
 import lombok.NonNull;
+import org.twilmes.sql.gremlin.adapter.converter.SqlPlanCache;
 import software.aws.neptune.NeptuneDatabaseMetadata;
 import software.aws.neptune.gremlin.GremlinConnection;
 import software.aws.neptune.jdbc.utilities.ConnectionProperties;
@@ -25,6 +26,9 @@ import java.sql.DatabaseMetaData;
 import java.sql.SQLException;
 
 public class SqlGremlinConnection extends GremlinConnection {
+    // Shared by the statements of the connection, BI tools typically run each query on a new statement.
+    private final SqlPlanCache sqlPlanCache = new SqlPlanCache();
+
     /**
      * Gremlin constructor, initializes super class.
      *
@@ -38,7 +42,7 @@ public class SqlGremlinConnection extends GremlinConnection {
 
     @Override
     public void doClose() {
-        SqlGremlinQueryExecutor.close();
+        SqlGremlinQueryExecutor.close(getGremlinConnectionProperties());
     }
 
     @Override
@@ -48,6 +52,6 @@ public class SqlGremlinConnection extends GremlinConnection {
 
     @Override
     public QueryExecutor getQueryExecutor() throws SQLException {
-        return new SqlGremlinQueryExecutor(getGremlinConnectionProperties());
+        return new SqlGremlinQueryExecutor(getGremlinConnectionProperties(), sqlPlanCache);
     }
 }
@@ -17,35 +17,41 @@
 package software.aws.neptune.gremlin.sql;
 
 import lombok.SneakyThrows;
-import org.apache.tinkerpop.gremlin.driver.remote.DriverRemoteConnection;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.twilmes.sql.gremlin.adapter.converter.SqlConverter;
+import org.twilmes.sql.gremlin.adapter.converter.SqlPlanCache;
+import org.twilmes.sql.gremlin.adapter.converter.schema.calcite.GremlinSchema;
 import org.twilmes.sql.gremlin.adapter.results.SqlGremlinQueryResult;
 import software.aws.neptune.common.gremlindatamodel.MetadataCache;
 import software.aws.neptune.gremlin.GremlinConnectionProperties;
 import software.aws.neptune.gremlin.GremlinQueryExecutor;
 import software.aws.neptune.gremlin.resultset.GremlinResultSetGetColumns;
 import software.aws.neptune.gremlin.resultset.GremlinResultSetGetTables;
+import software.aws.neptune.jdbc.utilities.ParameterizedQuery;
 import software.aws.neptune.jdbc.utilities.SqlError;
 import software.aws.neptune.jdbc.utilities.SqlState;
 import java.lang.reflect.Constructor;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
-
-import static org.apache.tinkerpop.gremlin.process.traversal.AnonymousTraversalSource.traversal;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Implementation of QueryExecutor for SQL via Gremlin.
  */
 public class SqlGremlinQueryExecutor extends GremlinQueryExecutor {
     private static final Logger LOGGER = LoggerFactory.getLogger(SqlGremlinQueryExecutor.class);
-    private static final Object TRAVERSAL_LOCK = new Object();
     private SqlConverter gremlinSqlConverter = null;
-    private static GraphTraversalSource graphTraversalSource = null;
     private final GremlinConnectionProperties gremlinConnectionProperties;
+    private final SqlPlanCache sqlPlanCache;
+    private final Object queryResultLock = new Object();
+    // Results of the last query, they are paged in from the database until they are read to the end or cancelled.
+    private SqlGremlinQueryResult queryResult = null;
 
     /**
      * Constructor for SqlGremlinQueryExecutor.
@@ -53,46 +59,40 @@ public class SqlGremlinQueryExecutor extends GremlinQueryExecutor {
      * @param gremlinConnectionProperties GremlinConnectionProperties for connection.
      */
     public SqlGremlinQueryExecutor(final GremlinConnectionProperties gremlinConnectionProperties) throws SQLException {
-        super(gremlinConnectionProperties);
-        this.gremlinConnectionProperties = gremlinConnectionProperties;
+        this(gremlinConnectionProperties, new SqlPlanCache());
     }
 
     /**
-     * Function to release the SqlGremlinQueryExecutor resources.
+     * Constructor for SqlGremlinQueryExecutor that shares the translated queries of its connection.
+     *
+     * @param gremlinConnectionProperties GremlinConnectionProperties for connection.
+     * @param sqlPlanCache                SqlPlanCache of the connection.
      */
-    public static void close() {
-        try {
-            synchronized (TRAVERSAL_LOCK) {
-                if (graphTraversalSource != null) {
-                    graphTraversalSource.close();
-                }
-                graphTraversalSource = null;
-            }
-        } catch (final Exception e) {
-            LOGGER.warn("Failed to close traversal source", e);
-        }
-        GremlinQueryExecutor.close();
+    public SqlGremlinQueryExecutor(final GremlinConnectionProperties gremlinConnectionProperties,
+                                   final SqlPlanCache sqlPlanCache) throws SQLException {
+        super(gremlinConnectionProperties);
+        this.gremlinConnectionProperties = gremlinConnectionProperties;
+        this.sqlPlanCache = sqlPlanCache;
     }
 
-    private GraphTraversalSource getGraphTraversalSource(
-            final GremlinConnectionProperties gremlinConnectionProperties)
-            throws SQLException {
-        synchronized (TRAVERSAL_LOCK) {
-            if (graphTraversalSource == null) {
-                graphTraversalSource =
-                        traversal().withRemote(DriverRemoteConnection.using(getClient(gremlinConnectionProperties)));
-            }
-        }
-        return graphTraversalSource;
-
+    /**
+     * Function to release the SqlGremlinQueryExecutor resources of a connection.
+     *
+     * @param gremlinConnectionProperties GremlinConnectionProperties of the connection.
+     */
+    public static void close(final GremlinConnectionProperties gremlinConnectionProperties) {
+        // The traversal source is shared by the cluster and closed together with it.
+        GremlinQueryExecutor.close(gremlinConnectionProperties);
     }
 
     private SqlConverter getGremlinSqlConverter(final GremlinConnectionProperties gremlinConnectionProperties)
             throws SQLException {
         MetadataCache.updateCacheIfNotUpdated(gremlinConnectionProperties);
-        if (gremlinSqlConverter == null) {
-            gremlinSqlConverter = new SqlConverter(MetadataCache.getGremlinSchema(
-                    gremlinConnectionProperties.getContactPoint()));
+        final GremlinSchema gremlinSchema =
+                MetadataCache.getGremlinSchema(gremlinConnectionProperties.getContactPoint());
+        // The cached schema is replaced when it is refreshed, queries are then translated against the new schema.
+        if (gremlinSqlConverter == null || gremlinSqlConverter.getGremlinSchema() != gremlinSchema) {
+            gremlinSqlConverter = new SqlConverter(gremlinSchema, sqlPlanCache);
         }
         return gremlinSqlConverter;
     }
@@ -110,7 +110,7 @@ public class SqlGremlinQueryExecutor extends GremlinQueryExecutor {
         LOGGER.info("Running executeGetColumns.");
         final String endpoint = this.gremlinConnectionProperties.getContactPoint();
         if (!MetadataCache.isMetadataCached(endpoint)) {
-            if (!statement.getConnection().isValid(3000)) {
+            if (!statement.getConnection().isValid(getValidationTimeoutSeconds(gremlinConnectionProperties))) {
                 throw new SQLException("Failed to execute getTables, could not connect to database.");
             }
         }
@@ -133,7 +133,7 @@ public class SqlGremlinQueryExecutor extends GremlinQueryExecutor {
         LOGGER.info("Running executeGetTables.");
         final String endpoint = this.gremlinConnectionProperties.getContactPoint();
         if (!MetadataCache.isMetadataCached(endpoint)) {
-            if (!statement.getConnection().isValid(3000)) {
+            if (!statement.getConnection().isValid(getValidationTimeoutSeconds(gremlinConnectionProperties))) {
                 throw new SQLException("Failed to execute getTables, could not connect to database.");
             }
         }
@@ -153,9 +153,52 @@ public class SqlGremlinQueryExecutor extends GremlinQueryExecutor {
      */
     @Override
     public ResultSet executeQuery(final String sql, final Statement statement) throws SQLException {
-        final Constructor<?> constructor;
+        return runCancellableQuery(getResultSetConstructor(), statement, sql);
+    }
+
+    /**
+     * Function to return the placeholder dialect of prepared queries.
+     *
+     * @return SQL (DEFAULT) rather than the Groovy dialect of Gremlin scripts.
+     */
+    @Override
+    public ParameterizedQuery.Dialect getParameterDialect() {
+        return ParameterizedQuery.Dialect.DEFAULT;
+    }
+
+    /**
+     * Function to execute a prepared query. The SQL translation has no dynamic parameters, so unlike Gremlin
+     * scripts, SQL cannot be sent with bindings.
+     *
+     * @param query      Query with '?' placeholders.
+     * @param parameters Parameter values, in placeholder order.
+     * @param statement  java.sql.Statement Object required for result set.
+     * @return java.sql.ResultSet object returned from query execution.
+     * @throws SQLException always, parameters are not supported.
+     */
+    @Override
+    public ResultSet executeQuery(final ParameterizedQuery query, final List<Object> parameters,
+                                  final Statement statement) throws SQLException {
+        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+    }
+
+    /**
+     * Function to execute query asynchronously.
+     *
+     * @param sql       Query to execute.
+     * @param statement java.sql.Statement Object required for result set.
+     * @return Future of the java.sql.ResultSet object returned from query execution.
+     * @throws SQLException if the query cannot be started.
+     */
+    @Override
+    public CompletableFuture<ResultSet> executeQueryAsync(final String sql, final Statement statement)
+            throws SQLException {
+        return runCancellableQueryAsync(getResultSetConstructor(), statement, sql);
+    }
+
+    private Constructor<?> getResultSetConstructor() throws SQLException {
         try {
-            constructor = SqlGremlinResultSet.class
+            return SqlGremlinResultSet.class
                     .getConstructor(java.sql.Statement.class, SqlGremlinQueryResult.class);
         } catch (final NoSuchMethodException e) {
             throw SqlError.createSQLException(
@@ -163,18 +206,69 @@ public class SqlGremlinQueryExecutor extends GremlinQueryExecutor {
                     SqlState.DATA_EXCEPTION,
                     SqlError.QUERY_FAILED, e);
         }
-        return runCancellableQuery(constructor, statement, sql);
     }
 
     @SneakyThrows
     @Override
     @SuppressWarnings("unchecked")
     protected <T> T runQuery(final String query) {
-        return (T) getGremlinSqlConverter(gremlinConnectionProperties).executeQuery(getGraphTraversalSource(gremlinConnectionProperties), query);
+        // The fetch size bounds the pages the SQL translation hands over, unset it falls back to the default page.
+        final int pageSize = (getFetchSize() != Integer.MAX_VALUE && getFetchSize() > 0)
+                ? getFetchSize() : SqlGremlinQueryResult.DEFAULT_PAGE_SIZE;
+        synchronized (queryResultLock) {
+            // JDBC closes the previous results of the Statement, cancelling now only concerns this query.
+            queryResult = null;
+        }
+        GraphTraversalSource g = getGraphTraversalSource(gremlinConnectionProperties);
+        if (getQueryTimeout() > 0) {
+            // Let the server stop evaluating the traversal once the JDBC query timeout is reached.
+            g = g.with(Tokens.ARGS_EVAL_TIMEOUT, TimeUnit.SECONDS.toMillis(getQueryTimeout()));
+        }
+        final SqlGremlinQueryResult result =
+                getGremlinSqlConverter(gremlinConnectionProperties).executeQuery(g, query, pageSize);
+        // Published while the query cannot be cancelled, so a cancel either sees the results or happened before.
+        final boolean inProgress = runIfInProgress(() -> {
+            synchronized (queryResultLock) {
+                queryResult = result;
+            }
+        });
+        if (!inProgress) {
+            // Cancelled or timed out while translating, the pagination already started and has to be stopped.
+            result.cancel();
+        }
+        return (T) result;
+    }
+
+    @Override
+    protected <T> CompletableFuture<T> runQueryAsync(final String query) {
+        // The SQL translation walks the traversal synchronously, so it runs on the async query pool.
+        return runOnAsyncQueryPool(() -> runQuery(query));
     }
 
-    // TODO AN-540: Look into query cancellation.
     @Override
     protected void performCancel() {
+        // While the query is translated there are no results yet, runQuery stops them once they are published.
+        cancelOpenStream();
+    }
+
+    @Override
+    protected boolean cancelOpenStream() {
+        synchronized (queryResultLock) {
+            // Stops the pagination thread and its traversal, unless the results were read to the end or closed.
+            return queryResult != null && queryResult.cancel();
+        }
+    }
+
+    @Override
+    protected boolean timeOutOpenStream() {
+        synchronized (queryResultLock) {
+            return queryResult != null && queryResult.timeOut();
+        }
+    }
+
+    @Override
+    protected CompletableFuture<?> getOpenStreamCompletion(final Object intermediateResult) {
+        // The query returns once the first pages are paged in, the query timeout also covers the remaining pages.
+        return ((SqlGremlinQueryResult) intermediateResult).getCompletion();
     }
 }
@@ -24,6 +24,7 @@ import software.aws.neptune.gremlin.GremlinTypeMapping;
 import software.aws.neptune.gremlin.resultset.GremlinResultSetMetadata;
 import software.aws.neptune.jdbc.ResultSet;
 import software.aws.neptune.jdbc.utilities.SqlError;
+import software.aws.neptune.jdbc.utilities.SqlState;
 import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.util.ArrayList;
@@ -73,6 +74,8 @@ public class SqlGremlinResultSet extends ResultSet implements java.sql.ResultSet
 
     @Override
     protected void doClose() throws SQLException {
+        // Unblock the pagination thread if the results were not fully read.
+        sqlQueryResult.cancel();
     }
 
     @Override
@@ -80,6 +83,18 @@ public class SqlGremlinResultSet extends ResultSet implements java.sql.ResultSet
         final Object res;
         res = sqlQueryResult.getResult();
         if (res instanceof SqlGremlinQueryResult.EmptyResult) {
+            if (sqlQueryResult.isTimedOut() && !isClosed()) {
+                throw SqlError.createSQLTimeoutException(
+                        LOGGER,
+                        SqlError.QUERY_TIMED_OUT);
+            }
+            if (sqlQueryResult.isCancelled() && !isClosed()) {
+                // The results were cancelled through the Statement before they were read to the end.
+                throw SqlError.createSQLException(
+                        LOGGER,
+                        SqlState.OPERATION_CANCELED,
+                        SqlError.QUERY_CANCELED);
+            }
             return false;
         }
         this.row = (List<Object>) res;
@@ -102,14 +117,14 @@ public class SqlGremlinResultSet extends ResultSet implements java.sql.ResultSet
     }
 
     @Override
-    // TODO use fetch size for page size?
     protected int getDriverFetchSize() throws SQLException {
-        return 0;
+        return sqlQueryResult.getPageSize();
     }
 
     @Override
-    // TODO use fetch size for page size?
     protected void setDriverFetchSize(final int rows) {
+        // Applies to pages the pagination thread has not produced yet.
+        sqlQueryResult.setPageSize(rows == 0 ? SqlGremlinQueryResult.DEFAULT_PAGE_SIZE : rows);
     }
 
     @Override
@@ -40,6 +40,7 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
 import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -52,6 +53,9 @@ public abstract class Connection implements java.sql.Connection {
     private Map<String, Class<?>> typeMap = new HashMap<>();
     private SQLWarning warnings = null;
     private final SshTunnel sshTunnel;
+    // Time of the last successful validation, as System.nanoTime(), or null if the last validation failed.
+    private volatile Long lastValidNanos = null;
+    private volatile long lastValidationLatencyMillis = -1;
 
     protected Connection(@NonNull final ConnectionProperties connectionProperties) throws SQLException {
         this.connectionProperties = connectionProperties;
@@ -65,7 +69,9 @@ public abstract class Connection implements java.sql.Connection {
     }
 
     /**
-     * Function to get QueryExecutor of underlying connection.
+     * Function to get a new QueryExecutor for the underlying connection.
+     * Every Statement gets its own QueryExecutor, which holds the state of the query it runs, so statements sharing a
+     * connection can execute, be cancelled and time out concurrently.
      *
      * @return QueryExecutor Object.
      */
@@ -511,7 +517,32 @@ public abstract class Connection implements java.sql.Connection {
         if (timeout < 0) {
             throw new SQLException("Timeout value must be greater than or equal to 0");
         }
-        return getQueryExecutor().isValid(timeout);
+        if (isClosed()) {
+            // A closed connection is never valid, whatever an earlier validation returned.
+            return false;
+        }
+        final long windowNanos = TimeUnit.MILLISECONDS.toNanos(connectionProperties.getValidationCacheMillis());
+        final Long validNanos = lastValidNanos;
+        if (validNanos != null && System.nanoTime() - validNanos < windowNanos) {
+            // Connection pools validate on every borrow, reuse a recent successful check instead of a round trip.
+            return true;
+        }
+        final long startNanos = System.nanoTime();
+        final boolean valid = getQueryExecutor().isValid(timeout);
+        final long endNanos = System.nanoTime();
+        lastValidationLatencyMillis = TimeUnit.NANOSECONDS.toMillis(endNanos - startNanos);
+        LOGGER.debug("Connection validation returned {} in {} ms.", valid, lastValidationLatencyMillis);
+        lastValidNanos = valid ? endNanos : null;
+        return valid;
+    }
+
+    /**
+     * Gets the round trip time of the last validation that reached the server.
+     *
+     * @return Validation latency in milliseconds, or -1 if the connection has not been validated yet.
+     */
+    public long getLastValidationLatencyMillis() {
+        return lastValidationLatencyMillis;
     }
 }
 
@@ -19,8 +19,10 @@ package software.aws.neptune.jdbc;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.aws.neptune.jdbc.utilities.ParameterizedQuery;
 import software.aws.neptune.jdbc.utilities.QueryExecutor;
 import software.aws.neptune.jdbc.utilities.SqlError;
+import software.aws.neptune.jdbc.utilities.SqlState;
 import java.io.InputStream;
 import java.io.Reader;
 import java.math.BigDecimal;
@@ -40,7 +42,11 @@ import java.sql.SQLException;
 import java.sql.SQLXML;
 import java.sql.Time;
 import java.sql.Timestamp;
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Implementation of PreparedStatement for JDBC Driver.
@@ -48,6 +54,9 @@ import java.util.Calendar;
 public class PreparedStatement extends Statement implements java.sql.PreparedStatement {
     private static final Logger LOGGER = LoggerFactory.getLogger(software.aws.neptune.jdbc.Connection.class);
     private final String sql;
+    // Placeholders are parsed once, the values are bound for each execution.
+    private final ParameterizedQuery parameterizedQuery;
+    private final Map<Integer, Object> parameters = new HashMap<>();
     @Getter
     private final QueryExecutor queryExecutor;
     private ResultSet resultSet;
@@ -64,6 +73,7 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
             throws SQLException {
         super(connection, queryExecutor);
         this.sql = sql;
+        this.parameterizedQuery = new ParameterizedQuery(sql, queryExecutor.getParameterDialect());
         this.queryExecutor = queryExecutor;
     }
 
@@ -94,7 +104,7 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
     @Override
     public void clearParameters() throws SQLException {
         verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        parameters.clear();
     }
 
     @Override
@@ -137,8 +147,7 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
 
     @Override
     public void setBigDecimal(final int parameterIndex, final BigDecimal x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
@@ -183,20 +192,17 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
 
     @Override
     public void setBoolean(final int parameterIndex, final boolean x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
     public void setByte(final int parameterIndex, final byte x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
     public void setBytes(final int parameterIndex, final byte[] x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
@@ -241,8 +247,7 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
 
     @Override
     public void setDate(final int parameterIndex, final Date x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
@@ -254,26 +259,22 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
 
     @Override
     public void setDouble(final int parameterIndex, final double x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
     public void setFloat(final int parameterIndex, final float x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
     public void setInt(final int parameterIndex, final int x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
     public void setLong(final int parameterIndex, final long x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
@@ -311,42 +312,36 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
 
     @Override
     public void setNString(final int parameterIndex, final String value) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, value);
     }
 
     @Override
     public void setNull(final int parameterIndex, final int sqlType) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, null);
     }
 
     @Override
     public void setNull(final int parameterIndex, final int sqlType, final String typeName)
             throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, null);
     }
 
     @Override
     public void setObject(final int parameterIndex, final Object x, final int targetSqlType)
             throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
     public void setObject(final int parameterIndex, final Object x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
     public void setObject(final int parameterIndex, final Object x, final int targetSqlType,
                           final int scaleOrLength)
             throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
@@ -369,20 +364,17 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
 
     @Override
     public void setShort(final int parameterIndex, final short x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
     public void setString(final int parameterIndex, final String x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
     public void setTime(final int parameterIndex, final Time x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
@@ -394,8 +386,7 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
 
     @Override
     public void setTimestamp(final int parameterIndex, final Timestamp x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Override
@@ -407,8 +398,7 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
 
     @Override
     public void setURL(final int parameterIndex, final URL x) throws SQLException {
-        verifyOpen();
-        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        setParameter(parameterIndex, x);
     }
 
     @Deprecated
@@ -428,15 +418,47 @@ public class PreparedStatement extends Statement implements java.sql.PreparedSta
     @Override
     public void setQueryTimeout(final int seconds) throws SQLException {
         verifyOpen();
+        if (seconds < 0) {
+            throw SqlError.createSQLException(
+                    LOGGER,
+                    SqlState.DATA_EXCEPTION,
+                    SqlError.INVALID_TIMEOUT, seconds);
+        }
         queryExecutor.setQueryTimeout(seconds);
     }
 
     @Override
     public java.sql.ResultSet executeQuery() throws SQLException {
-        resultSet = queryExecutor.executeQuery(sql, this);
+        if (parameters.isEmpty()) {
+            // Nothing was bound, so a '?' in the query is not treated as a placeholder.
+            resultSet = trackResultSet(queryExecutor.executeQuery(sql, this));
+            return resultSet;
+        }
+        final List<Object> parameterValues = new ArrayList<>(parameterizedQuery.getParameterCount());
+        for (int i = 1; i <= parameterizedQuery.getParameterCount(); i++) {
+            if (!parameters.containsKey(i)) {
+                throw SqlError.createSQLException(
+                        LOGGER,
+                        SqlState.DATA_EXCEPTION,
+                        SqlError.PARAMETER_NOT_SET, i);
+            }
+            parameterValues.add(parameters.get(i));
+        }
+        resultSet = trackResultSet(queryExecutor.executeQuery(parameterizedQuery, parameterValues, this));
         return resultSet;
     }
 
+    private void setParameter(final int parameterIndex, final Object value) throws SQLException {
+        verifyOpen();
+        if (parameterIndex < 1 || parameterIndex > parameterizedQuery.getParameterCount()) {
+            throw SqlError.createSQLException(
+                    LOGGER,
+                    SqlState.INVALID_DESCRIPTOR_INDEX,
+                    SqlError.INVALID_PARAMETER_INDEX, parameterIndex, parameterizedQuery.getParameterCount());
+        }
+        parameters.put(parameterIndex, value);
+    }
+
     @Override
     public ResultSetMetaData getMetaData() throws SQLException {
         return (resultSet == null) ? null : resultSet.getMetaData();
@@ -63,8 +63,10 @@ public abstract class ResultSet implements java.sql.ResultSet {
     private static final Calendar DEFAULT_CALENDAR = new GregorianCalendar();
     private final AtomicBoolean isClosed = new AtomicBoolean(false);
     private final List<String> columns;
-    private final int rowCount;
     private final java.sql.Statement statement;
+    // True if rows are pulled from the server as the cursor advances and the row count is not known up front.
+    private final boolean streaming;
+    private int rowCount;
     @Getter
     private int rowIndex;
     private SQLWarning warnings = null;
@@ -74,6 +76,22 @@ public abstract class ResultSet implements java.sql.ResultSet {
         this.columns = columns;
         this.rowCount = rowCount;
         this.rowIndex = -1;
+        this.streaming = false;
+    }
+
+    /**
+     * Constructor for a streaming ResultSet, where rows are fetched through fetchNextRow as the cursor advances and
+     * the row count is only known once the underlying source is exhausted.
+     *
+     * @param statement Statement Object.
+     * @param columns   Columns of the result.
+     */
+    protected ResultSet(final java.sql.Statement statement, final List<String> columns) {
+        this.statement = statement;
+        this.columns = columns;
+        this.rowCount = Integer.MAX_VALUE;
+        this.rowIndex = -1;
+        this.streaming = true;
     }
 
     private static Date getCalendarDate(final Date date, final Calendar calendar) {
@@ -105,6 +123,26 @@ public abstract class ResultSet implements java.sql.ResultSet {
         LOGGER.warn("Feature is not supported");
     }
 
+    /**
+     * Advances a streaming ResultSet to its next row. Only called for ResultSets created with the streaming
+     * constructor.
+     *
+     * @return true if the next row is now the current row, false if there are no more rows.
+     * @throws SQLException if fetching the next row from the server fails.
+     */
+    protected boolean fetchNextRow() throws SQLException {
+        return false;
+    }
+
+    /**
+     * Checks whether rows are streamed from the server.
+     *
+     * @return true if this ResultSet is streaming.
+     */
+    protected boolean isStreaming() {
+        return streaming;
+    }
+
     protected abstract Object getConvertedValue(int columnIndex) throws SQLException;
 
     protected abstract ResultSetMetaData getResultMetadata() throws SQLException;
@@ -139,6 +177,18 @@ public abstract class ResultSet implements java.sql.ResultSet {
     @Override
     public boolean next() throws SQLException {
         LOGGER.trace("Getting next row.");
+        if (streaming) {
+            if (this.rowIndex >= rowCount) {
+                return false;
+            }
+            this.rowIndex++;
+            if (!fetchNextRow()) {
+                // Source is exhausted, row count is now known.
+                this.rowCount = this.rowIndex;
+                return false;
+            }
+            return true;
+        }
         // Increment row index, if it exceeds capacity, set it to one after the last element.
         if (++this.rowIndex >= rowCount) {
             this.rowIndex = rowCount;
@@ -222,6 +272,10 @@ public abstract class ResultSet implements java.sql.ResultSet {
     @Override
     public boolean isLast() throws SQLException {
         verifyOpen();
+        if (streaming) {
+            // Optional for TYPE_FORWARD_ONLY, would require reading ahead of the cursor.
+            throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        }
         return (getRowIndex() == (rowCount - 1));
     }
 
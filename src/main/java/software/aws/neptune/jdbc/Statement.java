@@ -19,6 +19,7 @@ package software.aws.neptune.jdbc;
 import lombok.Getter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import software.aws.neptune.NeptuneStatement;
 import software.aws.neptune.jdbc.utilities.CastHelper;
 import software.aws.neptune.jdbc.utilities.QueryExecutor;
 import software.aws.neptune.jdbc.utilities.SqlError;
@@ -27,12 +28,15 @@ import software.aws.neptune.jdbc.utilities.Warning;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLWarning;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Implementation of Statement for JDBC Driver.
  */
-public class Statement implements java.sql.Statement {
+public class Statement implements NeptuneStatement {
     private static final Logger LOGGER = LoggerFactory.getLogger(Statement.class);
     private final java.sql.Connection connection;
     private final AtomicBoolean isClosed = new AtomicBoolean(false);
@@ -44,6 +48,8 @@ public class Statement implements java.sql.Statement {
     private SQLWarning warnings;
     private int fetchSize = 0;
     private ResultSet resultSet;
+    // ResultSets returned by the statement that may still be open, they are closed together with the statement.
+    private final List<ResultSet> openResultSets = new ArrayList<>();
 
     /**
      * Constructor for seeding the statement with the parent connection.
@@ -93,11 +99,43 @@ public class Statement implements java.sql.Statement {
                         + e.getMessage() + "'");
             }
 
-            if (this.resultSet != null) {
-                LOGGER.debug("Closing ResultSet, which was left open in Statement.");
-                this.resultSet.close();
+            final List<ResultSet> resultSets;
+            synchronized (openResultSets) {
+                resultSets = new ArrayList<>(openResultSets);
+                openResultSets.clear();
+            }
+            for (final ResultSet openResultSet : resultSets) {
+                if (!openResultSet.isClosed()) {
+                    // Results may still be streamed from the database until their ResultSet is closed.
+                    LOGGER.debug("Closing ResultSet, which was left open in Statement.");
+                    openResultSet.close();
+                }
+            }
+        }
+    }
+
+    /**
+     * Keeps track of a ResultSet returned by the statement, so that it is closed when the statement is closed.
+     *
+     * @param returnedResultSet ResultSet returned by the statement.
+     * @return the ResultSet.
+     */
+    protected ResultSet trackResultSet(final ResultSet returnedResultSet) {
+        if (returnedResultSet != null) {
+            synchronized (openResultSets) {
+                openResultSets.removeIf(Statement::isResultSetClosed);
+                openResultSets.add(returnedResultSet);
             }
         }
+        return returnedResultSet;
+    }
+
+    private static boolean isResultSetClosed(final ResultSet resultSet) {
+        try {
+            return resultSet.isClosed();
+        } catch (final SQLException e) {
+            return true;
+        }
     }
 
     @Override
@@ -230,6 +268,7 @@ public class Statement implements java.sql.Statement {
 
         // Silently truncate to the maximum number of rows that can be retrieved at a time.
         this.fetchSize = Math.min(rows, queryExecutor.getMaxFetchSize());
+        queryExecutor.setFetchSize(this.fetchSize);
     }
 
     @Override
@@ -431,7 +470,13 @@ public class Statement implements java.sql.Statement {
 
     @Override
     public java.sql.ResultSet executeQuery(final String sql) throws SQLException {
-        return queryExecutor.executeQuery(sql, this);
+        return trackResultSet(queryExecutor.executeQuery(sql, this));
+    }
+
+    @Override
+    public CompletableFuture<java.sql.ResultSet> executeQueryAsync(final String sql) throws SQLException {
+        verifyOpen();
+        return queryExecutor.executeQueryAsync(sql, this).thenApply(this::trackResultSet);
     }
 
     @Override
@@ -443,6 +488,12 @@ public class Statement implements java.sql.Statement {
     @Override
     public void setQueryTimeout(final int seconds) throws SQLException {
         verifyOpen();
+        if (seconds < 0) {
+            throw SqlError.createSQLException(
+                    LOGGER,
+                    SqlState.DATA_EXCEPTION,
+                    SqlError.INVALID_TIMEOUT, seconds);
+        }
         queryExecutor.setQueryTimeout(seconds);
     }
 }
@@ -42,6 +42,7 @@ import java.util.regex.Pattern;
  */
 public abstract class ConnectionProperties extends Properties {
     public static final String SCAN_TYPE_KEY = "scanType";
+    public static final String SCAN_SAMPLE_SIZE_KEY = "scanSampleSize";
     public static final String APPLICATION_NAME_KEY = "applicationName";
     public static final String AUTH_SCHEME_KEY = "authScheme";
     public static final String CONNECTION_TIMEOUT_MILLIS_KEY = "connectionTimeout";
@@ -54,13 +55,28 @@ public abstract class ConnectionProperties extends Properties {
     public static final String SSH_STRICT_HOST_KEY_CHECKING = "sshStrictHostKeyChecking";
     public static final String SSH_KNOWN_HOSTS_FILE = "sshKnownHostsFile";
     public static final String SERVICE_REGION_KEY = "serviceRegion";
+    public static final String RESULT_LOOKAHEAD_SIZE_KEY = "resultLookaheadSize";
+    public static final String VALIDATION_CACHE_MILLIS_KEY = "validationCacheMillis";
+    public static final String SCHEMA_CACHE_SIZE_KEY = "schemaCacheSize";
+    public static final String SCHEMA_CACHE_TTL_MILLIS_KEY = "schemaCacheTtlMillis";
+    public static final String REFRESH_SCHEMA_KEY = "refreshSchema";
+    public static final String SCHEMA_CACHE_DIRECTORY_KEY = "schemaCacheDirectory";
+    public static final String INCREMENTAL_SCHEMA_REFRESH_KEY = "incrementalSchemaRefresh";
     public static final AuthScheme DEFAULT_AUTH_SCHEME = AuthScheme.IAMSigV4;
     public static final SqlSchemaGrabber.ScanType DEFAULT_SCAN_TYPE = SqlSchemaGrabber.ScanType.All;
+    public static final int DEFAULT_SCAN_SAMPLE_SIZE = SqlSchemaGrabber.DEFAULT_SAMPLE_SIZE;
     public static final int DEFAULT_CONNECTION_TIMEOUT_MILLIS = 5000;
     public static final int DEFAULT_CONNECTION_RETRY_COUNT = 3;
     public static final String DEFAULT_SSH_STRICT_CHECKING = "true";
     public static final Level DEFAULT_LOG_LEVEL = Level.OFF;
     public static final String DEFAULT_SERVICE_REGION = "";
+    public static final int DEFAULT_RESULT_LOOKAHEAD_SIZE = 1000;
+    public static final int DEFAULT_VALIDATION_CACHE_MILLIS = 1000;
+    public static final int DEFAULT_SCHEMA_CACHE_SIZE = 3;
+    public static final int DEFAULT_SCHEMA_CACHE_TTL_MILLIS = 0;
+    public static final boolean DEFAULT_REFRESH_SCHEMA = false;
+    public static final String DEFAULT_SCHEMA_CACHE_DIRECTORY = "";
+    public static final boolean DEFAULT_INCREMENTAL_SCHEMA_REFRESH = false;
 
     public static final Map<String, Object> DEFAULT_PROPERTIES_MAP = new HashMap<>();
     private static final Map<String, ConnectionProperties.PropertyConverter<?>> PROPERTY_CONVERTER_MAP =
@@ -69,12 +85,20 @@ public abstract class ConnectionProperties extends Properties {
 
     static {
         PROPERTY_CONVERTER_MAP.put(SCAN_TYPE_KEY, ConnectionProperties::toScanType);
+        PROPERTY_CONVERTER_MAP.put(SCAN_SAMPLE_SIZE_KEY, ConnectionProperties::toPositive);
         PROPERTY_CONVERTER_MAP.put(APPLICATION_NAME_KEY, (key, value) -> value);
         PROPERTY_CONVERTER_MAP.put(AUTH_SCHEME_KEY, ConnectionProperties::toAuthScheme);
         PROPERTY_CONVERTER_MAP.put(CONNECTION_TIMEOUT_MILLIS_KEY, ConnectionProperties::toUnsigned);
         PROPERTY_CONVERTER_MAP.put(CONNECTION_RETRY_COUNT_KEY, ConnectionProperties::toUnsigned);
         PROPERTY_CONVERTER_MAP.put(LOG_LEVEL_KEY, ConnectionProperties::toLogLevel);
         PROPERTY_CONVERTER_MAP.put(SERVICE_REGION_KEY, (key, value) -> value);
+        PROPERTY_CONVERTER_MAP.put(RESULT_LOOKAHEAD_SIZE_KEY, ConnectionProperties::toUnsigned);
+        PROPERTY_CONVERTER_MAP.put(VALIDATION_CACHE_MILLIS_KEY, ConnectionProperties::toUnsigned);
+        PROPERTY_CONVERTER_MAP.put(SCHEMA_CACHE_SIZE_KEY, ConnectionProperties::toPositive);
+        PROPERTY_CONVERTER_MAP.put(SCHEMA_CACHE_TTL_MILLIS_KEY, ConnectionProperties::toUnsigned);
+        PROPERTY_CONVERTER_MAP.put(REFRESH_SCHEMA_KEY, ConnectionProperties::toBoolean);
+        PROPERTY_CONVERTER_MAP.put(SCHEMA_CACHE_DIRECTORY_KEY, (key, value) -> value);
+        PROPERTY_CONVERTER_MAP.put(INCREMENTAL_SCHEMA_REFRESH_KEY, ConnectionProperties::toBoolean);
         PROPERTY_CONVERTER_MAP.put(SSH_USER, (key, value) -> value);
         PROPERTY_CONVERTER_MAP.put(SSH_HOSTNAME, (key, value) -> value);
         PROPERTY_CONVERTER_MAP.put(SSH_PRIVATE_KEY_FILE, (key, value) -> value);
@@ -85,11 +109,19 @@ public abstract class ConnectionProperties extends Properties {
 
     static {
         DEFAULT_PROPERTIES_MAP.put(SCAN_TYPE_KEY, DEFAULT_SCAN_TYPE);
+        DEFAULT_PROPERTIES_MAP.put(SCAN_SAMPLE_SIZE_KEY, DEFAULT_SCAN_SAMPLE_SIZE);
         DEFAULT_PROPERTIES_MAP.put(CONNECTION_TIMEOUT_MILLIS_KEY, DEFAULT_CONNECTION_TIMEOUT_MILLIS);
         DEFAULT_PROPERTIES_MAP.put(CONNECTION_RETRY_COUNT_KEY, DEFAULT_CONNECTION_RETRY_COUNT);
         DEFAULT_PROPERTIES_MAP.put(AUTH_SCHEME_KEY, DEFAULT_AUTH_SCHEME);
         DEFAULT_PROPERTIES_MAP.put(LOG_LEVEL_KEY, DEFAULT_LOG_LEVEL);
         DEFAULT_PROPERTIES_MAP.put(SERVICE_REGION_KEY, DEFAULT_SERVICE_REGION);
+        DEFAULT_PROPERTIES_MAP.put(RESULT_LOOKAHEAD_SIZE_KEY, DEFAULT_RESULT_LOOKAHEAD_SIZE);
+        DEFAULT_PROPERTIES_MAP.put(VALIDATION_CACHE_MILLIS_KEY, DEFAULT_VALIDATION_CACHE_MILLIS);
+        DEFAULT_PROPERTIES_MAP.put(SCHEMA_CACHE_SIZE_KEY, DEFAULT_SCHEMA_CACHE_SIZE);
+        DEFAULT_PROPERTIES_MAP.put(SCHEMA_CACHE_TTL_MILLIS_KEY, DEFAULT_SCHEMA_CACHE_TTL_MILLIS);
+        DEFAULT_PROPERTIES_MAP.put(REFRESH_SCHEMA_KEY, DEFAULT_REFRESH_SCHEMA);
+        DEFAULT_PROPERTIES_MAP.put(SCHEMA_CACHE_DIRECTORY_KEY, DEFAULT_SCHEMA_CACHE_DIRECTORY);
+        DEFAULT_PROPERTIES_MAP.put(INCREMENTAL_SCHEMA_REFRESH_KEY, DEFAULT_INCREMENTAL_SCHEMA_REFRESH);
     }
 
     /**
@@ -175,6 +207,14 @@ public abstract class ConnectionProperties extends Properties {
         }
     }
 
+    protected static int toPositive(@NonNull final String key, @NonNull final String value) throws SQLException {
+        final int intValue = toUnsigned(key, value);
+        if (intValue < 1) {
+            throw invalidConnectionPropertyError(key, value);
+        }
+        return intValue;
+    }
+
     protected static boolean toBoolean(@NonNull final String key, @NonNull final String value) throws SQLException {
         if (isWhitespace(value)) {
             if (DEFAULT_PROPERTIES_MAP.containsKey(key)) {
@@ -262,6 +302,28 @@ public abstract class ConnectionProperties extends Properties {
         put(SCAN_TYPE_KEY, scanType);
     }
 
+    /**
+     * Gets the number of values of a property the Sample scan type reads.
+     *
+     * @return The scan sample size.
+     */
+    public int getScanSampleSize() {
+        return (int) get(SCAN_SAMPLE_SIZE_KEY);
+    }
+
+    /**
+     * Sets the number of values of a property the Sample scan type reads.
+     *
+     * @param sampleSize The scan sample size.
+     * @throws SQLException if value is invalid.
+     */
+    public void setScanSampleSize(final int sampleSize) throws SQLException {
+        if (sampleSize < 1) {
+            throw invalidConnectionPropertyError(SCAN_SAMPLE_SIZE_KEY, sampleSize);
+        }
+        put(SCAN_SAMPLE_SIZE_KEY, sampleSize);
+    }
+
     /**
      * Function to get the hostname.
      *
@@ -396,6 +458,148 @@ public abstract class ConnectionProperties extends Properties {
         put(CONNECTION_RETRY_COUNT_KEY, retryCount);
     }
 
+    /**
+     * Gets the number of rows read ahead of a streaming result set to infer column types.
+     *
+     * @return The result lookahead size.
+     */
+    public int getResultLookaheadSize() {
+        return (int) get(RESULT_LOOKAHEAD_SIZE_KEY);
+    }
+
+    /**
+     * Sets the number of rows read ahead of a streaming result set to infer column types.
+     *
+     * @param lookaheadSize The result lookahead size.
+     * @throws SQLException if value is invalid.
+     */
+    public void setResultLookaheadSize(final int lookaheadSize) throws SQLException {
+        if (lookaheadSize < 0) {
+            throw invalidConnectionPropertyError(RESULT_LOOKAHEAD_SIZE_KEY, lookaheadSize);
+        }
+        put(RESULT_LOOKAHEAD_SIZE_KEY, lookaheadSize);
+    }
+
+    /**
+     * Gets how long a successful connection validation is reused before the server is checked again.
+     *
+     * @return The validation cache time in milliseconds.
+     */
+    public int getValidationCacheMillis() {
+        return (int) get(VALIDATION_CACHE_MILLIS_KEY);
+    }
+
+    /**
+     * Sets how long a successful connection validation is reused before the server is checked again.
+     *
+     * @param cacheMillis The validation cache time in milliseconds, 0 to check the server every time.
+     * @throws SQLException if value is invalid.
+     */
+    public void setValidationCacheMillis(final int cacheMillis) throws SQLException {
+        if (cacheMillis < 0) {
+            throw invalidConnectionPropertyError(VALIDATION_CACHE_MILLIS_KEY, cacheMillis);
+        }
+        put(VALIDATION_CACHE_MILLIS_KEY, cacheMillis);
+    }
+
+    /**
+     * Gets the maximum number of endpoints whose schema is cached.
+     *
+     * @return The schema cache size.
+     */
+    public int getSchemaCacheSize() {
+        return (int) get(SCHEMA_CACHE_SIZE_KEY);
+    }
+
+    /**
+     * Sets the maximum number of endpoints whose schema is cached.
+     *
+     * @param cacheSize The schema cache size.
+     * @throws SQLException if value is invalid.
+     */
+    public void setSchemaCacheSize(final int cacheSize) throws SQLException {
+        if (cacheSize < 1) {
+            throw invalidConnectionPropertyError(SCHEMA_CACHE_SIZE_KEY, cacheSize);
+        }
+        put(SCHEMA_CACHE_SIZE_KEY, cacheSize);
+    }
+
+    /**
+     * Gets how long a cached schema is used before it is refreshed in the background.
+     *
+     * @return The schema cache time to live in milliseconds.
+     */
+    public int getSchemaCacheTtlMillis() {
+        return (int) get(SCHEMA_CACHE_TTL_MILLIS_KEY);
+    }
+
+    /**
+     * Sets how long a cached schema is used before it is refreshed in the background.
+     *
+     * @param ttlMillis The schema cache time to live in milliseconds, 0 to never refresh it.
+     * @throws SQLException if value is invalid.
+     */
+    public void setSchemaCacheTtlMillis(final int ttlMillis) throws SQLException {
+        if (ttlMillis < 0) {
+            throw invalidConnectionPropertyError(SCHEMA_CACHE_TTL_MILLIS_KEY, ttlMillis);
+        }
+        put(SCHEMA_CACHE_TTL_MILLIS_KEY, ttlMillis);
+    }
+
+    /**
+     * Gets whether the cached schema is discarded when the connection is opened.
+     *
+     * @return True if the schema is loaded again, false otherwise.
+     */
+    public boolean getRefreshSchema() {
+        return (boolean) get(REFRESH_SCHEMA_KEY);
+    }
+
+    /**
+     * Sets whether the cached schema is discarded when the connection is opened.
+     *
+     * @param refreshSchema True to load the schema again, false otherwise.
+     */
+    public void setRefreshSchema(final boolean refreshSchema) {
+        put(REFRESH_SCHEMA_KEY, refreshSchema);
+    }
+
+    /**
+     * Gets the directory loaded schemas are stored in.
+     *
+     * @return The schema cache directory, empty if schemas are not stored.
+     */
+    public String getSchemaCacheDirectory() {
+        return getProperty(SCHEMA_CACHE_DIRECTORY_KEY);
+    }
+
+    /**
+     * Sets the directory loaded schemas are stored in.
+     *
+     * @param directory The schema cache directory, empty to not store schemas.
+     */
+    public void setSchemaCacheDirectory(@NonNull final String directory) {
+        put(SCHEMA_CACHE_DIRECTORY_KEY, directory);
+    }
+
+    /**
+     * Gets whether a schema refresh only queries the labels and property keys that changed.
+     *
+     * @return True if schema refreshes are incremental, false otherwise.
+     */
+    public boolean getIncrementalSchemaRefresh() {
+        return (boolean) get(INCREMENTAL_SCHEMA_REFRESH_KEY);
+    }
+
+    /**
+     * Sets whether a schema refresh only queries the labels and property keys that changed.
+     *
+     * @param incrementalSchemaRefresh True to refresh schemas incrementally, false to scan the whole graph.
+     */
+    public void setIncrementalSchemaRefresh(final boolean incrementalSchemaRefresh) {
+        put(INCREMENTAL_SCHEMA_REFRESH_KEY, incrementalSchemaRefresh);
+    }
+
     /**
      * Gets the region.
      *
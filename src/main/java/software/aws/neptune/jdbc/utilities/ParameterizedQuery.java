@@ -0,0 +1,163 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.jdbc.utilities;
+
+import lombok.Getter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Query with JDBC '?' placeholders, parsed once when the statement is prepared.
+ * A '?' inside a quoted string, or directly followed by a name (e.g. a SPARQL variable) or an operator character,
+ * is not a placeholder. The dialect of the query language excludes the other uses of '?' it has.
+ * Executors rewrite the placeholders into named parameters of their query language so the query text stays the
+ * same across executions and the parameter values are sent separately.
+ */
+public class ParameterizedQuery {
+    private static final String PARAMETER_NAME_PREFIX = "jdbcParam";
+    @Getter
+    private final String sql;
+    // Offsets of the placeholders in the sql.
+    private final List<Integer> placeholders = new ArrayList<>();
+    private final Map<String, String> namedQueries = new ConcurrentHashMap<>();
+
+    /**
+     * Query languages with uses of '?' that are not placeholders.
+     */
+    public enum Dialect {
+        /**
+         * No other uses of '?', e.g. SQL and openCypher.
+         */
+        DEFAULT,
+        /**
+         * Gremlin Groovy scripts, a '?' after an operand and followed by whitespace is the ternary operator,
+         * e.g. "x > 1 ? 'a' : 'b'".
+         */
+        GROOVY,
+        /**
+         * SPARQL, a '?' directly after a path element is a property path modifier, e.g. "ex:knows?" or "(ex:a/ex:b)?".
+         */
+        SPARQL
+    }
+
+    /**
+     * ParameterizedQuery constructor.
+     *
+     * @param sql Query with '?' placeholders.
+     */
+    public ParameterizedQuery(final String sql) {
+        this(sql, Dialect.DEFAULT);
+    }
+
+    /**
+     * ParameterizedQuery constructor.
+     *
+     * @param sql     Query with '?' placeholders.
+     * @param dialect Dialect of the query language.
+     */
+    public ParameterizedQuery(final String sql, final Dialect dialect) {
+        this.sql = sql;
+        char quote = 0;
+        for (int i = 0; i < sql.length(); i++) {
+            final char c = sql.charAt(i);
+            if (quote != 0) {
+                if (c == '\\') {
+                    i++;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+            } else if (c == '\'' || c == '"') {
+                quote = c;
+            } else if (c == '?' && isPlaceholderEnd(sql, i + 1) && !isOperator(sql, i, dialect)) {
+                placeholders.add(i);
+            }
+        }
+    }
+
+    /**
+     * Gets the name of a parameter.
+     *
+     * @param parameterIndex Index of the parameter, starting at 1.
+     * @return Name of the parameter.
+     */
+    public static String getParameterName(final int parameterIndex) {
+        return PARAMETER_NAME_PREFIX + parameterIndex;
+    }
+
+    private static boolean isPlaceholderEnd(final String sql, final int index) {
+        if (index >= sql.length()) {
+            return true;
+        }
+        final char next = sql.charAt(index);
+        // Groovy uses '?.', '?:' and '?[' as operators.
+        return !Character.isJavaIdentifierPart(next) && next != '.' && next != ':' && next != '[' && next != '?';
+    }
+
+    private static boolean isOperator(final String sql, final int index, final Dialect dialect) {
+        if (dialect == Dialect.GROOVY) {
+            if (index + 1 >= sql.length() || !Character.isWhitespace(sql.charAt(index + 1))) {
+                return false;
+            }
+            int previous = index - 1;
+            while (previous >= 0 && Character.isWhitespace(sql.charAt(previous))) {
+                previous--;
+            }
+            // A placeholder follows an operator, a bracket or a comma, the ternary follows its condition.
+            return previous >= 0 && (isOperandEnd(sql.charAt(previous)) || sql.charAt(previous) == '?');
+        } else if (dialect == Dialect.SPARQL) {
+            // A path modifier directly follows a prefixed name, an IRI or a parenthesized path.
+            return index > 0 && (isOperandEnd(sql.charAt(index - 1)) || sql.charAt(index - 1) == ':'
+                    || sql.charAt(index - 1) == '>');
+        }
+        return false;
+    }
+
+    private static boolean isOperandEnd(final char c) {
+        return Character.isJavaIdentifierPart(c) || c == ')' || c == ']' || c == '\'' || c == '"';
+    }
+
+    /**
+     * Gets the number of placeholders in the query.
+     *
+     * @return Number of placeholders.
+     */
+    public int getParameterCount() {
+        return placeholders.size();
+    }
+
+    /**
+     * Gets the query with each placeholder replaced by the prefix followed by the parameter name, the result is
+     * computed once for each prefix.
+     *
+     * @param prefix Prefix of a parameter reference in the target query language, e.g. "$" for openCypher.
+     * @return Query with named parameters.
+     */
+    public String getQuery(final String prefix) {
+        return namedQueries.computeIfAbsent(prefix, p -> {
+            final StringBuilder query = new StringBuilder(sql.length() + placeholders.size() * 16);
+            int start = 0;
+            for (int i = 0; i < placeholders.size(); i++) {
+                final int placeholder = placeholders.get(i);
+                query.append(sql, start, placeholder).append(p).append(getParameterName(i + 1));
+                start = placeholder + 1;
+            }
+            return query.append(sql.substring(start)).toString();
+        });
+    }
+}
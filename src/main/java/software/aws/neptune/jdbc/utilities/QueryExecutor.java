@@ -16,6 +16,7 @@
 
 package software.aws.neptune.jdbc.utilities;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.Getter;
 import lombok.Setter;
 import org.slf4j.Logger;
@@ -24,34 +25,39 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.lang.reflect.Constructor;
 import java.sql.SQLException;
-import java.util.Properties;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 public abstract class QueryExecutor {
     private static final Logger LOGGER = LoggerFactory.getLogger(QueryExecutor.class);
+    private static final ExecutorService ASYNC_QUERY_EXECUTOR = Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder().setNameFormat("async-query-%d").setDaemon(true).build());
+    private static final ScheduledExecutorService QUERY_TIMEOUT_EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("query-timeout").setDaemon(true).build());
     private final Object lock = new Object();
     @Setter
     @Getter
-    private int queryTimeout = -1;
+    private int queryTimeout = 0;
     @Setter
     @Getter
     private int fetchSize = Integer.MAX_VALUE;
     private QueryState queryState = QueryState.NOT_STARTED;
-
-    protected static boolean propertiesEqual(
-            final ConnectionProperties connectionProperties1,
-            final ConnectionProperties connectionProperties2) {
-        final Properties properties1 = connectionProperties1.getProperties();
-        final Properties properties2 = connectionProperties2.getProperties();
-        if (!properties1.keySet().equals(properties2.keySet())) {
-            return false;
-        }
-        for (final Object key : properties1.keySet()) {
-            if (!properties1.get(key).equals(properties2.get(key))) {
-                return false;
-            }
-        }
-        return true;
-    }
+    // Incremented for every query, so a late deadline does not cancel the next query.
+    private long queryCount = 0;
+    // Number of the last query whose deadline stays armed while its results are streamed.
+    private long streamingQueryCount = 0;
 
     /**
      * Function to get max fetch size for driver.
@@ -68,6 +74,31 @@ public abstract class QueryExecutor {
      */
     public abstract boolean isValid(final int timeout);
 
+    /**
+     * Waits for a validation request sent over the shared transport of the executor.
+     *
+     * @param validation Future of the validation request.
+     * @param timeout    Time in seconds to wait for the validation, 0 to wait without a timeout.
+     * @return true if the validation completed successfully within the timeout, otherwise false.
+     */
+    protected static boolean awaitValidation(final Future<?> validation, final int timeout) {
+        try {
+            if (timeout == 0) {
+                validation.get();
+            } else {
+                validation.get(timeout, TimeUnit.SECONDS);
+            }
+            return true;
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            LOGGER.error("Interrupted while validating connection.", e);
+        } catch (final ExecutionException | TimeoutException e) {
+            validation.cancel(true);
+            LOGGER.error("Connecting to database failed.", e);
+        }
+        return false;
+    }
+
     /**
      * Function to execute query.
      *
@@ -140,6 +171,51 @@ public abstract class QueryExecutor {
     public abstract java.sql.ResultSet executeGetTypeInfo(final java.sql.Statement statement)
             throws SQLException;
 
+    /**
+     * Gets the dialect used to find the '?' placeholders of prepared queries.
+     *
+     * @return Placeholder dialect of the query language.
+     */
+    public ParameterizedQuery.Dialect getParameterDialect() {
+        return ParameterizedQuery.Dialect.DEFAULT;
+    }
+
+    /**
+     * Function to execute a prepared query with its parameters bound to the placeholders.
+     * Executors whose query language supports parameters override this to send the values separately from the
+     * query text, so the server can reuse its compiled query.
+     *
+     * @param query      Query with '?' placeholders.
+     * @param parameters Parameter values, in placeholder order.
+     * @param statement  java.sql.Statement Object required for result set.
+     * @return java.sql.ResultSet object returned from query execution.
+     * @throws SQLException if parameters are not supported, or query execution fails, or it was cancelled.
+     */
+    public java.sql.ResultSet executeQuery(final ParameterizedQuery query, final List<Object> parameters,
+                                           final java.sql.Statement statement) throws SQLException {
+        throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+    }
+
+    /**
+     * Function to execute query asynchronously.
+     * By default the query runs on a shared pool of query threads, executors whose driver has an asynchronous API
+     * override this to submit the query without blocking a thread while it executes.
+     *
+     * @param sql       Query to execute.
+     * @param statement java.sql.Statement Object required for result set.
+     * @return Future of the java.sql.ResultSet object returned from query execution.
+     * @throws SQLException if another query is already in progress, or the query cannot be started.
+     */
+    public CompletableFuture<java.sql.ResultSet> executeQueryAsync(final String sql,
+                                                                  final java.sql.Statement statement)
+            throws SQLException {
+        synchronized (lock) {
+            // Report a query in progress to the caller, rather than through the future.
+            throwIfInProgress();
+        }
+        return runOnAsyncQueryPool(() -> executeQuery(sql, statement));
+    }
+
     /**
      * This function is supposed to run the queries and construct the target ResultSet using reflection.
      *
@@ -152,49 +228,228 @@ public abstract class QueryExecutor {
     protected <T> java.sql.ResultSet runCancellableQuery(final Constructor<?> constructor,
                                                          final java.sql.Statement statement,
                                                          final String query) throws SQLException {
-        synchronized (lock) {
-            if (queryState.equals(QueryState.IN_PROGRESS)) {
-                throw SqlError.createSQLException(
-                        LOGGER,
-                        SqlState.OPERATION_CANCELED,
-                        SqlError.QUERY_IN_PROGRESS);
+        return runCancellableQuery(constructor, statement, query, Collections.emptyMap());
+    }
+
+    /**
+     * Version of runCancellableQuery that sends parameter values along with the query.
+     *
+     * @param constructor Target ResultSet type.
+     * @param statement   Statement which is issuing query.
+     * @param query       Query to execute.
+     * @param parameters  Parameter values by name.
+     * @return Target ResultSet Object.
+     * @throws SQLException if query execution fails, or it was cancelled.
+     */
+    protected <T> java.sql.ResultSet runCancellableQuery(final Constructor<?> constructor,
+                                                         final java.sql.Statement statement,
+                                                         final String query,
+                                                         final Map<String, Object> parameters)
+            throws SQLException {
+        final long queryNumber = startQuery();
+        final ScheduledFuture<?> timeoutTask = scheduleQueryTimeout(queryNumber);
+        T intermediateResult = null;
+        Exception error = null;
+        try {
+            intermediateResult = runQuery(query, parameters);
+        } catch (final Exception e) {
+            error = e;
+        } finally {
+            cancelQueryTimeout(queryNumber, timeoutTask, intermediateResult);
+        }
+        return completeQuery(constructor, statement, intermediateResult, error);
+    }
+
+    /**
+     * Asynchronous version of runCancellableQuery, the query is cancelled and times out the same way.
+     *
+     * @param constructor Target ResultSet type.
+     * @param statement   Statement which is issuing query.
+     * @param query       Query to execute.
+     * @return Future of the target ResultSet Object.
+     * @throws SQLException if another query is already in progress.
+     */
+    protected <T> CompletableFuture<java.sql.ResultSet> runCancellableQueryAsync(final Constructor<?> constructor,
+                                                                              final java.sql.Statement statement,
+                                                                              final String query)
+            throws SQLException {
+        final long queryNumber = startQuery();
+        final ScheduledFuture<?> timeoutTask = scheduleQueryTimeout(queryNumber);
+        CompletableFuture<T> intermediateResult;
+        try {
+            intermediateResult = runQueryAsync(query);
+        } catch (final SQLException | RuntimeException e) {
+            intermediateResult = new CompletableFuture<>();
+            intermediateResult.completeExceptionally(e);
+        }
+        return intermediateResult.handle((result, error) -> {
+            cancelQueryTimeout(queryNumber, timeoutTask, result);
+            try {
+                return completeQuery(constructor, statement, result,
+                        (error instanceof CompletionException) ? error.getCause() : error);
+            } catch (final SQLException e) {
+                throw new CompletionException(e);
             }
+        });
+    }
+
+    /**
+     * Runs the query without blocking the calling thread, by default by running runQuery on the async query pool.
+     *
+     * @param query Query to execute.
+     * @return Future of the intermediate result that is passed to the ResultSet constructor.
+     * @throws SQLException if the query cannot be started.
+     */
+    protected <T> CompletableFuture<T> runQueryAsync(final String query) throws SQLException {
+        return runOnAsyncQueryPool(() -> runQuery(query));
+    }
+
+    /**
+     * Runs a blocking task on the shared pool of query threads.
+     *
+     * @param task Task to run.
+     * @return Future of the result of the task.
+     */
+    protected static <V> CompletableFuture<V> runOnAsyncQueryPool(final Callable<V> task) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return task.call();
+            } catch (final Exception e) {
+                throw new CompletionException(e);
+            }
+        }, ASYNC_QUERY_EXECUTOR);
+    }
+
+    private long startQuery() throws SQLException {
+        synchronized (lock) {
+            throwIfInProgress();
             queryState = QueryState.IN_PROGRESS;
+            return ++queryCount;
         }
+    }
 
-        try {
-            final T intermediateResult = runQuery(query);
-            synchronized (lock) {
-                if (queryState.equals(QueryState.CANCELLED)) {
-                    resetQueryState();
-                    throw SqlError.createSQLException(
-                            LOGGER,
-                            SqlState.OPERATION_CANCELED,
-                            SqlError.QUERY_CANCELED);
-                }
-                resetQueryState();
+    private void throwIfInProgress() throws SQLException {
+        if (queryState.equals(QueryState.IN_PROGRESS)) {
+            throw SqlError.createSQLException(
+                    LOGGER,
+                    SqlState.OPERATION_CANCELED,
+                    SqlError.QUERY_IN_PROGRESS);
+        }
+    }
+
+    private <T> java.sql.ResultSet completeQuery(final Constructor<?> constructor,
+                                                 final java.sql.Statement statement,
+                                                 final T intermediateResult,
+                                                 final Throwable error) throws SQLException {
+        synchronized (lock) {
+            throwIfCancelled();
+            resetQueryState();
+        }
+        if (error instanceof SQLException) {
+            throw (SQLException) error;
+        }
+        Throwable failure = error;
+        if (failure == null) {
+            try {
+                return (java.sql.ResultSet) constructor.newInstance(statement, intermediateResult);
+            } catch (final Exception e) {
+                failure = e;
             }
-            return (java.sql.ResultSet) constructor.newInstance(statement, intermediateResult);
-        } catch (final SQLException e) {
-            throw e;
-        } catch (final Exception e) {
-            synchronized (lock) {
-                if (queryState.equals(QueryState.CANCELLED)) {
-                    resetQueryState();
-                    throw SqlError.createSQLException(
-                            LOGGER,
-                            SqlState.OPERATION_CANCELED,
-                            SqlError.QUERY_CANCELED);
-                } else {
-                    resetQueryState();
-                    final StringWriter sw = new StringWriter();
-                    final PrintWriter pw = new PrintWriter(sw);
-                    e.printStackTrace(pw);
-                    throw SqlError.createSQLException(
-                            LOGGER,
-                            SqlState.OPERATION_CANCELED,
-                            SqlError.QUERY_FAILED, e + "Stack Trace: " + sw.toString());
+        }
+        final StringWriter sw = new StringWriter();
+        final PrintWriter pw = new PrintWriter(sw);
+        failure.printStackTrace(pw);
+        throw SqlError.createSQLException(
+                LOGGER,
+                SqlState.OPERATION_CANCELED,
+                SqlError.QUERY_FAILED, failure + "Stack Trace: " + sw.toString());
+    }
+
+    private void throwIfCancelled() throws SQLException {
+        if (queryState.equals(QueryState.CANCELLED)) {
+            resetQueryState();
+            throw SqlError.createSQLException(
+                    LOGGER,
+                    SqlState.OPERATION_CANCELED,
+                    SqlError.QUERY_CANCELED);
+        } else if (queryState.equals(QueryState.TIMED_OUT)) {
+            resetQueryState();
+            throw SqlError.createSQLTimeoutException(
+                    LOGGER,
+                    SqlError.QUERY_TIMED_OUT);
+        }
+    }
+
+    /**
+     * Schedules the client side deadline of the query that was just started, if a query timeout is set.
+     * Executors also pass the timeout to the server, so the deadline only fires if the server does not stop in time.
+     *
+     * @param queryNumber Number of the query that was started.
+     * @return Future of the deadline, or null if there is no query timeout.
+     */
+    private ScheduledFuture<?> scheduleQueryTimeout(final long queryNumber) {
+        if (queryTimeout <= 0) {
+            return null;
+        }
+        return QUERY_TIMEOUT_EXECUTOR.schedule(() -> timeOutQuery(queryNumber), queryTimeout, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Cancels the deadline of a query once it returned, or once its results are no longer streamed if it returned
+     * a stream of results.
+     *
+     * @param queryNumber        Number of the query.
+     * @param timeoutTask        Future of the deadline, or null if there is no query timeout.
+     * @param intermediateResult Intermediate result of the query, or null if it failed.
+     */
+    private void cancelQueryTimeout(final long queryNumber, final ScheduledFuture<?> timeoutTask,
+                                    final Object intermediateResult) {
+        if (timeoutTask == null) {
+            return;
+        }
+        final CompletableFuture<?> streamCompletion =
+                (intermediateResult == null) ? null : getOpenStreamCompletion(intermediateResult);
+        if (streamCompletion == null) {
+            timeoutTask.cancel(false);
+            return;
+        }
+        synchronized (lock) {
+            streamingQueryCount = queryNumber;
+        }
+        streamCompletion.whenComplete((result, error) -> timeoutTask.cancel(false));
+    }
+
+    private void timeOutQuery(final long queryNumber) {
+        synchronized (lock) {
+            // The deadline may fire just after the query completed, or while a later query is running.
+            if (queryNumber != queryCount) {
+                return;
+            }
+            if (queryState.equals(QueryState.NOT_STARTED)) {
+                if (queryNumber != streamingQueryCount) {
+                    return;
                 }
+                // The query returned, but its results are still streamed into the ResultSet.
+                try {
+                    if (timeOutOpenStream()) {
+                        LOGGER.warn("Query results exceeded the query timeout of " + queryTimeout
+                                + " seconds, cancelling them.");
+                    }
+                } catch (final SQLException e) {
+                    LOGGER.warn("Failed to cancel query results that timed out.", e);
+                }
+                return;
+            }
+            if (!queryState.equals(QueryState.IN_PROGRESS)) {
+                return;
+            }
+            LOGGER.warn("Query exceeded the query timeout of " + queryTimeout + " seconds, cancelling it.");
+            // Set before cancelling, the query may complete from within performCancel and must see the timeout.
+            queryState = QueryState.TIMED_OUT;
+            try {
+                performCancel();
+            } catch (final SQLException e) {
+                LOGGER.warn("Failed to cancel query that timed out.", e);
             }
         }
     }
@@ -205,6 +460,21 @@ public abstract class QueryExecutor {
 
     protected abstract <T> T runQuery(final String query) throws SQLException;
 
+    /**
+     * Runs the query with parameter values, executors that support parameters override this.
+     *
+     * @param query      Query to execute.
+     * @param parameters Parameter values by name.
+     * @return Intermediate result that is passed to the ResultSet constructor.
+     * @throws SQLException if parameters are not supported, or query execution fails.
+     */
+    protected <T> T runQuery(final String query, final Map<String, Object> parameters) throws SQLException {
+        if (!parameters.isEmpty()) {
+            throw SqlError.createSQLFeatureNotSupportedException(LOGGER);
+        }
+        return runQuery(query);
+    }
+
     /**
      * Function to cancel running query.
      * This has to be run in the different thread from the one running the query.
@@ -214,6 +484,11 @@ public abstract class QueryExecutor {
     public void cancelQuery(final boolean isClosing) throws SQLException {
         synchronized (lock) {
             if (queryState.equals(QueryState.NOT_STARTED)) {
+                // The query completed, but its results may still be streaming into the ResultSet.
+                if (cancelOpenStream()) {
+                    LOGGER.debug("Cancel of streamed query results succeeded.");
+                    return;
+                }
                 if (isClosing) {
                     return;
                 }
@@ -221,24 +496,85 @@ public abstract class QueryExecutor {
                         LOGGER,
                         SqlState.OPERATION_CANCELED,
                         SqlError.QUERY_NOT_STARTED_OR_COMPLETE);
-            } else if (queryState.equals(QueryState.CANCELLED)) {
+            } else if (queryState.equals(QueryState.CANCELLED) || queryState.equals(QueryState.TIMED_OUT)) {
                 throw SqlError.createSQLException(
                         LOGGER,
                         SqlState.OPERATION_CANCELED,
                         SqlError.QUERY_CANCELED);
             }
 
-            performCancel();
+            // Set before cancelling, the query may complete from within performCancel and must see the cancel.
             queryState = QueryState.CANCELLED;
+            try {
+                performCancel();
+            } catch (final SQLException e) {
+                if (queryState.equals(QueryState.CANCELLED)) {
+                    // The query is still running.
+                    queryState = QueryState.IN_PROGRESS;
+                }
+                throw e;
+            }
             LOGGER.debug("Cancel query succeeded.");
         }
     }
 
     protected abstract void performCancel() throws SQLException;
 
+    /**
+     * Cancels the results of the last query that are still streamed from the server into its ResultSet.
+     * Executors that stream results override this, the ResultSet then fails when it reads the next results.
+     *
+     * @return true if open results were cancelled, false if there are none.
+     * @throws SQLException if cancelling the results fails.
+     */
+    protected boolean cancelOpenStream() throws SQLException {
+        return false;
+    }
+
+    /**
+     * Cancels the results of the last query that are still streamed when the query timeout is reached.
+     * By default they are cancelled like on cancelOpenStream, executors can override this to report a timeout.
+     *
+     * @return true if open results were cancelled, false if there are none.
+     * @throws SQLException if cancelling the results fails.
+     */
+    protected boolean timeOutOpenStream() throws SQLException {
+        return cancelOpenStream();
+    }
+
+    /**
+     * Gets the completion of the results a query returned, if they are streamed after the query returned.
+     * The query timeout then stays armed until the future completes, so it also bounds the time spent streaming.
+     *
+     * @param intermediateResult Intermediate result of the query.
+     * @return Future that completes once the results are read to the end, closed or cancelled, or null if the
+     * results are complete once the query returned.
+     */
+    protected CompletableFuture<?> getOpenStreamCompletion(final Object intermediateResult) {
+        return null;
+    }
+
+    /**
+     * Runs an action of the running query while it cannot be cancelled or time out, typically to publish a handle
+     * that performCancel uses to cancel the query.
+     *
+     * @param action Action to run.
+     * @return true if the action ran, false if the query was already cancelled or timed out.
+     */
+    protected boolean runIfInProgress(final Runnable action) {
+        synchronized (lock) {
+            if (!queryState.equals(QueryState.IN_PROGRESS)) {
+                return false;
+            }
+            action.run();
+            return true;
+        }
+    }
+
     enum QueryState {
         NOT_STARTED,
         IN_PROGRESS,
-        CANCELLED
+        CANCELLED,
+        TIMED_OUT
     }
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.jdbc.utilities;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registry of transports, like a driver or an HTTP connection, shared by all connections with the same transport
+ * properties. It works like the registry of Gremlin Clusters: connections retain a transport while they are open and
+ * release it when they close, and a transport that is no longer retained is closed once it has been idle for the
+ * eviction delay. Closing one connection therefore never closes the transport under another open connection.
+ *
+ * @param <T> Type of the transport.
+ */
+public class SharedTransportRegistry<T extends AutoCloseable> {
+    private static final Logger LOGGER = LoggerFactory.getLogger(SharedTransportRegistry.class);
+    private static final long DEFAULT_IDLE_EVICTION_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    private static final ScheduledExecutorService EVICTION_EXECUTOR = Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder().setNameFormat("transport-eviction").setDaemon(true).build());
+    private final Object lock = new Object();
+    private final Map<Map<Object, Object>, Entry<T>> entries = new HashMap<>();
+    private final String name;
+    // Properties that the factory reads, only these decide whether two connections can share a transport.
+    private final Set<String> transportKeys;
+    private long idleEvictionMillis = DEFAULT_IDLE_EVICTION_MILLIS;
+
+    /**
+     * Constructor for SharedTransportRegistry.
+     *
+     * @param name          Name of the transport, used for logging.
+     * @param transportKeys Properties that are used to create the transport.
+     */
+    public SharedTransportRegistry(final String name, final Set<String> transportKeys) {
+        this.name = name;
+        this.transportKeys = transportKeys;
+    }
+
+    /**
+     * Retains the transport for the given properties, it will not be closed until it is released again.
+     *
+     * @param properties ConnectionProperties of the connection.
+     */
+    public void retain(final ConnectionProperties properties) {
+        synchronized (lock) {
+            final Entry<T> entry = entries.computeIfAbsent(getKey(properties), k -> new Entry<>());
+            entry.cancelEviction();
+            entry.referenceCount++;
+        }
+    }
+
+    /**
+     * Releases the transport for the given properties. Once no connection retains it the transport is closed after
+     * the idle eviction delay.
+     *
+     * @param properties ConnectionProperties of the connection.
+     */
+    public void release(final ConnectionProperties properties) {
+        synchronized (lock) {
+            final Map<Object, Object> key = getKey(properties);
+            final Entry<T> entry = entries.get(key);
+            if (entry == null || entry.referenceCount == 0) {
+                LOGGER.warn("Released a " + name + " that was not retained.");
+                return;
+            }
+            entry.referenceCount--;
+            if (entry.referenceCount == 0) {
+                scheduleEviction(key, entry);
+            }
+        }
+    }
+
+    /**
+     * Gets the transport for the given properties, creating it if there is none yet.
+     *
+     * @param properties ConnectionProperties of the connection.
+     * @param factory    Factory creating the transport from the properties.
+     * @return Transport for the properties, it is closed by the registry and must not be closed by the caller.
+     * @throws SQLException if the transport cannot be created from the properties.
+     */
+    public T get(final ConnectionProperties properties, final Factory<T> factory) throws SQLException {
+        synchronized (lock) {
+            final Map<Object, Object> key = getKey(properties);
+            Entry<T> entry = entries.get(key);
+            if (entry == null) {
+                // Used without being retained, let it be evicted once it goes idle.
+                entry = new Entry<>();
+                entries.put(key, entry);
+                scheduleEviction(key, entry);
+            }
+            if (entry.transport == null) {
+                LOGGER.info("Creating " + name + ".");
+                entry.transport = factory.create();
+            }
+            return entry.transport;
+        }
+    }
+
+    /**
+     * Gets the number of connections retaining the transport for the given properties.
+     *
+     * @param properties ConnectionProperties of the connection.
+     * @return Reference count of the transport.
+     */
+    public int getReferenceCount(final ConnectionProperties properties) {
+        synchronized (lock) {
+            final Entry<T> entry = entries.get(getKey(properties));
+            return entry == null ? 0 : entry.referenceCount;
+        }
+    }
+
+    /**
+     * Sets how long an unreferenced transport is kept open before it is closed.
+     *
+     * @param millis Idle eviction delay in milliseconds.
+     */
+    public void setIdleEvictionMillis(final long millis) {
+        synchronized (lock) {
+            idleEvictionMillis = millis;
+        }
+    }
+
+    private void scheduleEviction(final Map<Object, Object> key, final Entry<T> entry) {
+        entry.cancelEviction();
+        entry.eviction = EVICTION_EXECUTOR.schedule(() -> evict(key, entry), idleEvictionMillis,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void evict(final Map<Object, Object> key, final Entry<T> entry) {
+        synchronized (lock) {
+            // The entry may have been retained again, or replaced, since the eviction was scheduled.
+            if (entry.referenceCount != 0 || entries.get(key) != entry) {
+                return;
+            }
+            entries.remove(key);
+        }
+        if (entry.transport != null) {
+            LOGGER.info("Closing idle " + name + ".");
+            try {
+                entry.transport.close();
+            } catch (final Exception e) {
+                LOGGER.warn("Failed to close " + name + ".", e);
+            }
+        }
+    }
+
+    private Map<Object, Object> getKey(final ConnectionProperties properties) {
+        final ImmutableMap.Builder<Object, Object> key = ImmutableMap.builder();
+        for (final String transportKey : transportKeys) {
+            if (properties.containsKey(transportKey)) {
+                key.put(transportKey, properties.get(transportKey));
+            }
+        }
+        return key.build();
+    }
+
+    /**
+     * Creates the transport of a registry.
+     *
+     * @param <T> Type of the transport.
+     */
+    @FunctionalInterface
+    public interface Factory<T> {
+        /**
+         * Creates the transport.
+         *
+         * @return New transport.
+         * @throws SQLException if the transport cannot be created.
+         */
+        T create() throws SQLException;
+    }
+
+    private static final class Entry<E> {
+        private E transport = null;
+        private int referenceCount = 0;
+        private ScheduledFuture<?> eviction = null;
+
+        private void cancelEviction() {
+            if (eviction != null) {
+                eviction.cancel(false);
+                eviction = null;
+            }
+        }
+    }
+}
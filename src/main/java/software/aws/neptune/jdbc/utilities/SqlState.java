@@ -27,11 +27,13 @@ public enum SqlState {
     DATA_EXCEPTION_NULL_VALUE("22002"),
     EMPTY_STRING("2200F"),
     INVALID_AUTHORIZATION_SPECIFICATION("28000"),
+    INVALID_DESCRIPTOR_INDEX("07009"),
     INVALID_QUERY_EXPRESSION("2201S"),
     RESTRICTED_DATA_TYPE_VIOLATION("07006"),
     NUMERIC_VALUE_OUT_OF_RANGE("22003"),
     NO_RESULT_SET_RETURNED("02001"),
-    OPERATION_CANCELED("HY008");
+    OPERATION_CANCELED("HY008"),
+    TIMEOUT_EXPIRED("HYT00");
 
     /**
      * The SQLSTATE code.
@@ -16,6 +16,7 @@
 
 package software.aws.neptune.opencypher;
 
+import com.google.common.collect.ImmutableSet;
 import org.neo4j.driver.AuthToken;
 import org.neo4j.driver.AuthTokens;
 import org.neo4j.driver.Config;
@@ -24,11 +25,17 @@ import org.neo4j.driver.GraphDatabase;
 import org.neo4j.driver.Record;
 import org.neo4j.driver.Result;
 import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.TransactionConfig;
+import org.neo4j.driver.async.AsyncSession;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.aws.neptune.common.gremlindatamodel.MetadataCache;
 import software.aws.neptune.jdbc.utilities.AuthScheme;
+import software.aws.neptune.jdbc.utilities.ConnectionProperties;
+import software.aws.neptune.jdbc.utilities.ParameterizedQuery;
 import software.aws.neptune.jdbc.utilities.QueryExecutor;
+import software.aws.neptune.jdbc.utilities.SharedTransportRegistry;
 import software.aws.neptune.jdbc.utilities.SqlError;
 import software.aws.neptune.jdbc.utilities.SqlState;
 import software.aws.neptune.opencypher.resultset.OpenCypherResultSet;
@@ -40,33 +47,64 @@ import software.aws.neptune.opencypher.resultset.OpenCypherResultSetGetTables;
 import software.aws.neptune.opencypher.resultset.OpenCypherResultSetGetTypeInfo;
 
 import java.lang.reflect.Constructor;
+import java.math.BigDecimal;
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 public class OpenCypherQueryExecutor extends QueryExecutor {
     private static final Logger LOGGER = LoggerFactory.getLogger(OpenCypherQueryExecutor.class);
-    private static final Object DRIVER_LOCK = new Object();
-    private static OpenCypherConnectionProperties previousOpenCypherConnectionProperties = null;
-    private static Driver driver = null;
+    // Drivers shared by all connections with the same properties that createDriver and createConfigBuilder read.
+    private static final SharedTransportRegistry<Driver> DRIVERS = new SharedTransportRegistry<>("openCypher Driver",
+            ImmutableSet.of(
+                    OpenCypherConnectionProperties.ENDPOINT_KEY,
+                    OpenCypherConnectionProperties.USE_ENCRYPTION_KEY,
+                    OpenCypherConnectionProperties.CONNECTION_POOL_SIZE_KEY,
+                    OpenCypherConnectionProperties.AWS_CREDENTIALS_PROVIDER_CLASS_KEY,
+                    OpenCypherConnectionProperties.CUSTOM_CREDENTIALS_FILE_PATH_KEY,
+                    ConnectionProperties.CONNECTION_TIMEOUT_MILLIS_KEY,
+                    ConnectionProperties.AUTH_SCHEME_KEY,
+                    ConnectionProperties.SERVICE_REGION_KEY));
     private final OpenCypherConnectionProperties openCypherConnectionProperties;
     private final Object sessionLock = new Object();
     private Session session = null;
+    private AsyncSession asyncSession = null;
 
     OpenCypherQueryExecutor(final OpenCypherConnectionProperties openCypherConnectionProperties) {
         this.openCypherConnectionProperties = openCypherConnectionProperties;
     }
 
     /**
-     * Function to close down the driver.
+     * Function to retain the driver of a connection while it is open.
+     *
+     * @param openCypherConnectionProperties OpenCypherConnectionProperties of the connection.
      */
-    public static void close() {
-        synchronized (DRIVER_LOCK) {
-            if (driver != null) {
-                driver.close();
-                driver = null;
-            }
-        }
+    public static void retainDriver(final OpenCypherConnectionProperties openCypherConnectionProperties) {
+        DRIVERS.retain(openCypherConnectionProperties);
+    }
+
+    /**
+     * Function to release the driver of a connection, it is closed once no open connection uses it.
+     *
+     * @param openCypherConnectionProperties OpenCypherConnectionProperties of the connection.
+     */
+    public static void close(final OpenCypherConnectionProperties openCypherConnectionProperties) {
+        DRIVERS.release(openCypherConnectionProperties);
+    }
+
+    /**
+     * Function to get the number of open connections using the driver of a connection.
+     *
+     * @param openCypherConnectionProperties OpenCypherConnectionProperties of the connection.
+     * @return Reference count of the driver.
+     */
+    static int getDriverReferenceCount(final OpenCypherConnectionProperties openCypherConnectionProperties) {
+        return DRIVERS.getReferenceCount(openCypherConnectionProperties);
     }
 
     private static Driver createDriver(final Config config,
@@ -82,19 +120,9 @@ public class OpenCypherQueryExecutor extends QueryExecutor {
         return GraphDatabase.driver(openCypherConnectionProperties.getEndpoint(), authToken, config);
     }
 
-    private static Driver getDriver(final Config config,
-                                    final OpenCypherConnectionProperties openCypherConnectionProperties,
-                                    final boolean returnNew)
-            throws SQLException {
-        if (returnNew) {
-            return createDriver(config, openCypherConnectionProperties);
-        }
-        if ((driver == null) ||
-                !propertiesEqual(previousOpenCypherConnectionProperties, openCypherConnectionProperties)) {
-            previousOpenCypherConnectionProperties = openCypherConnectionProperties;
-            return createDriver(config, openCypherConnectionProperties);
-        }
-        return driver;
+    private Driver getDriver() throws SQLException {
+        return DRIVERS.get(openCypherConnectionProperties,
+                () -> createDriver(createConfigBuilder().build(), openCypherConnectionProperties));
     }
 
     /**
@@ -115,13 +143,8 @@ public class OpenCypherQueryExecutor extends QueryExecutor {
      */
     public boolean isValid(final int timeout) {
         try {
-            final Config config = createConfigBuilder().withConnectionTimeout(timeout, TimeUnit.SECONDS).build();
-            final Driver tempDriver;
-            synchronized (DRIVER_LOCK) {
-                tempDriver = getDriver(config, openCypherConnectionProperties, true);
-            }
-            tempDriver.verifyConnectivity();
-            return true;
+            // Ping over the shared Driver instead of creating a new connection pool for every check.
+            return awaitValidation(getDriver().verifyConnectivityAsync().toCompletableFuture(), timeout);
         } catch (final Exception e) {
             LOGGER.error("Connection to database returned an error:", e);
             return false;
@@ -158,17 +181,73 @@ public class OpenCypherQueryExecutor extends QueryExecutor {
     @Override
     public java.sql.ResultSet executeQuery(final String sql, final java.sql.Statement statement) throws
             SQLException {
-        final Constructor<?> constructor;
+        return runCancellableQuery(getResultSetConstructor(), statement, sql);
+    }
+
+    /**
+     * Function to execute query asynchronously, the query runs on an asynchronous Bolt session.
+     *
+     * @param sql       Query to execute.
+     * @param statement java.sql.Statement Object required for result set.
+     * @return Future of the java.sql.ResultSet object returned from query execution.
+     * @throws SQLException if the query cannot be started.
+     */
+    @Override
+    public CompletableFuture<java.sql.ResultSet> executeQueryAsync(final String sql,
+                                                                  final java.sql.Statement statement)
+            throws SQLException {
+        return runCancellableQueryAsync(getResultSetConstructor(), statement, sql);
+    }
+
+    /**
+     * Function to execute a prepared query, the parameters are sent as Bolt query parameters so the server can reuse
+     * the query plan.
+     *
+     * @param query      Query with '?' placeholders.
+     * @param parameters Parameter values, in placeholder order.
+     * @param statement  java.sql.Statement Object required for result set.
+     * @return java.sql.ResultSet object returned from query execution.
+     * @throws SQLException if query execution fails, or it was cancelled.
+     */
+    @Override
+    public java.sql.ResultSet executeQuery(final ParameterizedQuery query, final List<Object> parameters,
+                                           final java.sql.Statement statement) throws SQLException {
+        final Map<String, Object> queryParameters = new HashMap<>();
+        for (int i = 0; i < parameters.size(); i++) {
+            queryParameters.put(ParameterizedQuery.getParameterName(i + 1), toParameterValue(parameters.get(i)));
+        }
+        return runCancellableQuery(getResultSetConstructor(), statement, query.getQuery("$"), queryParameters);
+    }
+
+    private static Object toParameterValue(final Object value) {
+        // Bolt has temporal types but no java.sql types, and no decimal type.
+        if (value instanceof java.sql.Timestamp) {
+            return ((java.sql.Timestamp) value).toLocalDateTime();
+        } else if (value instanceof java.sql.Date) {
+            return ((java.sql.Date) value).toLocalDate();
+        } else if (value instanceof java.sql.Time) {
+            return ((java.sql.Time) value).toLocalTime();
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).doubleValue();
+        } else if (value instanceof java.net.URI || value instanceof java.net.URL) {
+            // Property graphs have no IRIs, they are stored as strings.
+            return value.toString();
+        }
+        return value;
+    }
+
+    private Constructor<?> getResultSetConstructor() throws SQLException {
         try {
-            constructor = OpenCypherResultSet.class
-                    .getConstructor(java.sql.Statement.class, OpenCypherResultSet.ResultSetInfoWithRows.class);
+            return OpenCypherResultSet.class
+                    .getConstructor(java.sql.Statement.class, isStreamingQuery()
+                            ? OpenCypherResultSet.ResultSetInfoWithStream.class
+                            : OpenCypherResultSet.ResultSetInfoWithRows.class);
         } catch (final NoSuchMethodException e) {
             throw SqlError.createSQLException(
                     LOGGER,
                     SqlState.INVALID_QUERY_EXPRESSION,
                     SqlError.QUERY_FAILED, e);
         }
-        return runCancellableQuery(constructor, statement, sql);
     }
 
     /**
@@ -254,26 +333,80 @@ public class OpenCypherQueryExecutor extends QueryExecutor {
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     protected <T> T runQuery(final String query) throws SQLException {
+        return runQuery(query, Collections.emptyMap());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T> T runQuery(final String query, final Map<String, Object> parameters) throws SQLException {
+        final Driver sharedDriver = getDriver();
+        final Session querySession = isStreamingQuery()
+                ? sharedDriver.session(SessionConfig.builder().withFetchSize(getFetchSize()).build())
+                : sharedDriver.session();
         synchronized (sessionLock) {
-            synchronized (DRIVER_LOCK) {
-                driver = getDriver(createConfigBuilder().build(), openCypherConnectionProperties, false);
-            }
-            session = driver.session();
+            session = querySession;
         }
 
-        final Result result = session.run(query);
-        final List<Record> rows = result.list();
+        final Result result = querySession.run(query, parameters, createTransactionConfig());
         final List<String> columns = result.keys();
-        final OpenCypherResultSet.ResultSetInfoWithRows openCypherResultSet =
-                new OpenCypherResultSet.ResultSetInfoWithRows(session, result, rows, columns);
+        final Object openCypherResultSet;
+        if (isStreamingQuery()) {
+            // Records are pulled lazily in fetch size batches as the ResultSet is iterated.
+            openCypherResultSet = new OpenCypherResultSet.ResultSetInfoWithStream(querySession, result, columns);
+        } else {
+            final List<Record> rows = result.list();
+            openCypherResultSet = new OpenCypherResultSet.ResultSetInfoWithRows(querySession, result, rows,
+                    columns);
+        }
         synchronized (sessionLock) {
-            session = null;
+            // A streaming ResultSet keeps reading through the session, so it can still be cancelled until the
+            // ResultSet closes it.
+            session = isStreamingQuery() ? querySession : null;
         }
         return (T) openCypherResultSet;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    protected <T> CompletableFuture<T> runQueryAsync(final String query) throws SQLException {
+        if (isStreamingQuery()) {
+            // Streaming result sets pull records through a blocking session as they are iterated.
+            return super.runQueryAsync(query);
+        }
+        final Driver sharedDriver = getDriver();
+        final AsyncSession queryAsyncSession = sharedDriver.asyncSession();
+        synchronized (sessionLock) {
+            asyncSession = queryAsyncSession;
+        }
+        return queryAsyncSession.runAsync(query, createTransactionConfig())
+                .thenCompose(cursor -> cursor.listAsync()
+                        // All records are read, so the ResultSet does not need to keep the session open.
+                        .thenApply(rows -> (T) new OpenCypherResultSet.ResultSetInfoWithRows(null, null, rows,
+                                cursor.keys())))
+                .whenComplete((result, error) -> {
+                    synchronized (sessionLock) {
+                        asyncSession = null;
+                    }
+                    queryAsyncSession.closeAsync();
+                })
+                .toCompletableFuture();
+    }
+
+    private TransactionConfig createTransactionConfig() {
+        final TransactionConfig.Builder transactionConfig = TransactionConfig.builder();
+        if (getQueryTimeout() > 0) {
+            // Let the server stop the transaction once the JDBC query timeout is reached.
+            transactionConfig.withTimeout(Duration.ofSeconds(getQueryTimeout()));
+        }
+        return transactionConfig.build();
+    }
+
+    private boolean isStreamingQuery() {
+        // Results are streamed once a fetch size has been set on the Statement.
+        return getFetchSize() != Integer.MAX_VALUE;
+    }
+
     @Override
     protected void performCancel() throws SQLException {
         synchronized (sessionLock) {
@@ -281,6 +414,22 @@ public class OpenCypherQueryExecutor extends QueryExecutor {
                 //noinspection deprecation
                 session.reset();
             }
+            if (asyncSession != null) {
+                // Closing the session rolls back its transaction, failing the pending query.
+                asyncSession.closeAsync();
+            }
+        }
+    }
+
+    @Override
+    protected boolean cancelOpenStream() throws SQLException {
+        synchronized (sessionLock) {
+            if (session == null || !session.isOpen()) {
+                return false;
+            }
+            //noinspection deprecation
+            session.reset();
+            return true;
         }
     }
 }
@@ -47,6 +47,9 @@ public class OpenCypherResultSet extends ResultSet implements java.sql.ResultSet
     private final List<Record> rows;
     private final Result result;
     private final Session session;
+    // Current record when records are pulled lazily from the Result.
+    private Record currentRecord = null;
+    private List<Type> streamRowTypes = null;
     private boolean wasNull = false;
 
     // TODO: Separate the result set without info to a common result set that this can use.
@@ -65,6 +68,20 @@ public class OpenCypherResultSet extends ResultSet implements java.sql.ResultSet
         this.rows = resultSetInfo.getRows();
     }
 
+    /**
+     * OpenCypherResultSet constructor for streaming results, initializes super class.
+     *
+     * @param statement     Statement Object.
+     * @param resultSetInfo ResultSetInfoWithStream Object.
+     */
+    public OpenCypherResultSet(final java.sql.Statement statement, final ResultSetInfoWithStream resultSetInfo) {
+        super(statement, resultSetInfo.getColumns());
+        this.session = resultSetInfo.getSession();
+        this.result = resultSetInfo.getResult();
+        this.columns = resultSetInfo.getColumns();
+        this.rows = null;
+    }
+
     /**
      * OpenCypherResultSet constructor, initializes super class.
      *
@@ -89,13 +106,55 @@ public class OpenCypherResultSet extends ResultSet implements java.sql.ResultSet
         }
     }
 
+    @Override
+    protected boolean fetchNextRow() throws SQLException {
+        if (streamRowTypes == null) {
+            // Capture types before the first record is consumed.
+            streamRowTypes = getStreamRowTypes();
+        }
+        currentRecord = result.hasNext() ? result.next() : null;
+        return currentRecord != null;
+    }
+
+    @Override
+    public boolean isLast() throws SQLException {
+        if (!isStreaming()) {
+            return super.isLast();
+        }
+        verifyOpen();
+        return (currentRecord != null) && !result.hasNext();
+    }
+
+    @Override
+    protected int getDriverFetchSize() throws SQLException {
+        if (!isStreaming()) {
+            return super.getDriverFetchSize();
+        }
+        return getStatement().getFetchSize();
+    }
+
     @Override
     public boolean wasNull() throws SQLException {
         return wasNull;
     }
 
+    private List<Type> getStreamRowTypes() {
+        final List<Type> rowTypes = new ArrayList<>();
+        final Record record = result.hasNext() ? result.peek() : null;
+        for (int i = 0; i < columns.size(); i++) {
+            rowTypes.add(record == null ? InternalTypeSystem.TYPE_SYSTEM.STRING() : record.get(i).type());
+        }
+        return rowTypes;
+    }
+
     @Override
     protected ResultSetMetaData getResultMetadata() throws SQLException {
+        if (isStreaming()) {
+            if (streamRowTypes == null) {
+                streamRowTypes = getStreamRowTypes();
+            }
+            return new OpenCypherResultSetMetadata(columns, streamRowTypes);
+        }
         final List<Type> rowTypes = new ArrayList<>();
         if (rows == null) {
             for (int i = 0; i < columns.size(); i++) {
@@ -119,7 +178,7 @@ public class OpenCypherResultSet extends ResultSet implements java.sql.ResultSet
 
     private Value getValue(final int columnIndex) throws SQLException {
         verifyOpen();
-        if (rows == null) {
+        if (rows == null && !isStreaming()) {
             // TODO: investigate and change exception error type if needed
             throw SqlError.createSQLException(
                     LOGGER,
@@ -127,7 +186,8 @@ public class OpenCypherResultSet extends ResultSet implements java.sql.ResultSet
                     SqlError.UNSUPPORTED_RESULT_SET_TYPE);
         }
         validateRowColumn(columnIndex);
-        final Value value = rows.get(getRowIndex()).get(columnIndex - 1);
+        final Record record = isStreaming() ? currentRecord : rows.get(getRowIndex());
+        final Value value = record.get(columnIndex - 1);
         wasNull = value.isNull();
         return value;
     }
@@ -151,4 +211,12 @@ public class OpenCypherResultSet extends ResultSet implements java.sql.ResultSet
         private final List<Record> rows;
         private final List<String> columns;
     }
+
+    @AllArgsConstructor
+    @Getter
+    public static class ResultSetInfoWithStream {
+        private final Session session;
+        private final Result result;
+        private final List<String> columns;
+    }
 }
@@ -37,11 +37,12 @@ public class SparqlConnection extends Connection implements java.sql.Connection
     public SparqlConnection(@NonNull final ConnectionProperties connectionProperties) throws SQLException {
         super(connectionProperties);
         this.sparqlConnectionProperties = new SparqlConnectionProperties(getConnectionProperties());
+        SparqlQueryExecutor.retainRdfConnection(sparqlConnectionProperties);
     }
 
     @Override
     protected void doClose() {
-        SparqlQueryExecutor.close();
+        SparqlQueryExecutor.close(sparqlConnectionProperties);
     }
 
     @Override
@@ -20,6 +20,8 @@ import com.amazonaws.auth.AWSCredentialsProvider;
 import com.amazonaws.auth.DefaultAWSCredentialsProviderChain;
 import com.amazonaws.neptune.auth.NeptuneApacheHttpSigV4Signer;
 import com.amazonaws.neptune.auth.NeptuneSigV4SignerException;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
 import lombok.SneakyThrows;
 import org.apache.http.HttpRequest;
 import org.apache.http.HttpRequestInterceptor;
@@ -28,24 +30,39 @@ import org.apache.http.client.methods.HttpUriRequest;
 import org.apache.http.impl.client.HttpClientBuilder;
 import org.apache.http.protocol.HttpContext;
 import org.apache.jena.atlas.iterator.PeekIterator;
+import org.apache.jena.datatypes.xsd.XSDDatatype;
 import org.apache.jena.graph.Node;
+import org.apache.jena.graph.NodeFactory;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.query.Query;
+import org.apache.jena.query.QueryException;
 import org.apache.jena.query.QueryExecution;
 import org.apache.jena.query.QueryFactory;
 import org.apache.jena.query.QuerySolution;
 import org.apache.jena.query.QueryType;
 import org.apache.jena.rdf.model.RDFNode;
+import org.apache.jena.rdf.model.ResourceFactory;
 import org.apache.jena.rdfconnection.RDFConnection;
 import org.apache.jena.rdfconnection.RDFConnectionRemote;
 import org.apache.jena.rdfconnection.RDFConnectionRemoteBuilder;
+import org.apache.jena.sparql.core.TriplePath;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.syntax.Element;
+import org.apache.jena.sparql.syntax.ElementData;
+import org.apache.jena.sparql.syntax.ElementPathBlock;
+import org.apache.jena.sparql.syntax.ElementTriplesBlock;
+import org.apache.jena.sparql.syntax.syntaxtransform.ElementTransformCopyBase;
+import org.apache.jena.sparql.syntax.syntaxtransform.QueryTransformOps;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.twilmes.sql.gremlin.adapter.converter.schema.calcite.GremlinSchema;
 import software.aws.neptune.common.ResultSetInfoWithoutRows;
 import software.aws.neptune.common.gremlindatamodel.resultset.ResultSetGetTables;
 import software.aws.neptune.jdbc.utilities.AuthScheme;
+import software.aws.neptune.jdbc.utilities.ConnectionProperties;
+import software.aws.neptune.jdbc.utilities.ParameterizedQuery;
 import software.aws.neptune.jdbc.utilities.QueryExecutor;
+import software.aws.neptune.jdbc.utilities.SharedTransportRegistry;
 import software.aws.neptune.jdbc.utilities.SqlError;
 import software.aws.neptune.jdbc.utilities.SqlState;
 import software.aws.neptune.sparql.resultset.SparqlAskResultSet;
@@ -59,23 +76,48 @@ import software.aws.neptune.sparql.resultset.SparqlSelectResultSet;
 import software.aws.neptune.sparql.resultset.SparqlTriplesResultSet;
 
 import java.lang.reflect.Constructor;
+import java.net.URI;
+import java.net.URL;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
 
 public class SparqlQueryExecutor extends QueryExecutor {
     private static final Logger LOGGER = LoggerFactory.getLogger(SparqlQueryExecutor.class);
-    private static final Object RDF_CONNECTION_LOCK = new Object();
-    private static RDFConnection rdfConnection = null;
-    private static SparqlConnectionProperties previousSparqlConnectionProperties = null;
-    private static QueryExecution queryExecution = null;
+    // RDFConnections shared by all connections with the same properties that createRDFBuilder reads.
+    private static final SharedTransportRegistry<RDFConnection> RDF_CONNECTIONS =
+            new SharedTransportRegistry<>("SPARQL RDFConnection", ImmutableSet.of(
+                    SparqlConnectionProperties.ENDPOINT_KEY,
+                    SparqlConnectionProperties.PORT_KEY,
+                    SparqlConnectionProperties.DATASET_KEY,
+                    SparqlConnectionProperties.DESTINATION_KEY,
+                    SparqlConnectionProperties.QUERY_ENDPOINT_KEY,
+                    SparqlConnectionProperties.ACCEPT_HEADER_QUERY_KEY,
+                    SparqlConnectionProperties.ACCEPT_HEADER_ASK_QUERY_KEY,
+                    SparqlConnectionProperties.ACCEPT_HEADER_SELECT_QUERY_KEY,
+                    SparqlConnectionProperties.ACCEPT_HEADER_DATASET_KEY,
+                    SparqlConnectionProperties.PARSE_CHECK_SPARQL_KEY,
+                    SparqlConnectionProperties.HTTP_CLIENT_KEY,
+                    SparqlConnectionProperties.HTTP_CONTEXT_KEY,
+                    ConnectionProperties.AUTH_SCHEME_KEY,
+                    ConnectionProperties.SERVICE_REGION_KEY));
     private final Object queryExecutionLock = new Object();
+    // Execution of the running query of this statement, used to cancel it.
+    private QueryExecution queryExecution = null;
+    private final Object preparedQueryLock = new Object();
+    private ParameterizedQuery preparedQuery = null;
+    private Query preparedSparqlQuery = null;
     private final SparqlConnectionProperties sparqlConnectionProperties;
 
     SparqlQueryExecutor(final SparqlConnectionProperties sparqlConnectionProperties) throws SQLException {
@@ -175,24 +217,36 @@ public class SparqlQueryExecutor extends QueryExecutor {
     }
 
     /**
-     * Function to close down the RDF connection.
+     * Function to retain the RDF connection of a connection while it is open.
+     *
+     * @param sparqlConnectionProperties SparqlConnectionProperties of the connection.
      */
-    public static void close() {
-        synchronized (RDF_CONNECTION_LOCK) {
-            if (rdfConnection != null) {
-                rdfConnection.close();
-                rdfConnection = null;
-            }
-        }
+    public static void retainRdfConnection(final SparqlConnectionProperties sparqlConnectionProperties) {
+        RDF_CONNECTIONS.retain(sparqlConnectionProperties);
     }
 
-    private RDFConnection getRdfConnection(final SparqlConnectionProperties sparqlConnectionProperties)
-            throws SQLException {
-        if (rdfConnection == null || !propertiesEqual(previousSparqlConnectionProperties, sparqlConnectionProperties)) {
-            previousSparqlConnectionProperties = sparqlConnectionProperties;
-            return createRDFBuilder(sparqlConnectionProperties).build();
-        }
-        return rdfConnection;
+    /**
+     * Function to release the RDF connection of a connection, it is closed once no open connection uses it.
+     *
+     * @param sparqlConnectionProperties SparqlConnectionProperties of the connection.
+     */
+    public static void close(final SparqlConnectionProperties sparqlConnectionProperties) {
+        RDF_CONNECTIONS.release(sparqlConnectionProperties);
+    }
+
+    /**
+     * Function to get the number of open connections using the RDF connection of a connection.
+     *
+     * @param sparqlConnectionProperties SparqlConnectionProperties of the connection.
+     * @return Reference count of the RDF connection.
+     */
+    static int getRdfConnectionReferenceCount(final SparqlConnectionProperties sparqlConnectionProperties) {
+        return RDF_CONNECTIONS.getReferenceCount(sparqlConnectionProperties);
+    }
+
+    private RDFConnection getRdfConnection() throws SQLException {
+        return RDF_CONNECTIONS.get(sparqlConnectionProperties,
+                () -> createRDFBuilder(sparqlConnectionProperties).build());
     }
 
     /**
@@ -214,12 +268,14 @@ public class SparqlQueryExecutor extends QueryExecutor {
     @Override
     public boolean isValid(final int timeout) {
         try {
-            final RDFConnection tempConn =
-                    SparqlQueryExecutor.createRDFBuilder(sparqlConnectionProperties).build();
-            final QueryExecution executeQuery = tempConn.query("SELECT * { ?s ?p ?o } LIMIT 0");
-            // The 2nd parameter controls the timeout for the whole query execution.
-            executeQuery.setTimeout(timeout, TimeUnit.SECONDS, timeout, TimeUnit.SECONDS);
-            executeQuery.execSelect();
+            // Ping over the shared RDFConnection instead of building a new HTTP client for every check.
+            try (QueryExecution executeQuery = getRdfConnection().query("SELECT * { ?s ?p ?o } LIMIT 0")) {
+                if (timeout > 0) {
+                    // The 2nd parameter controls the timeout for the whole query execution.
+                    executeQuery.setTimeout(timeout, TimeUnit.SECONDS, timeout, TimeUnit.SECONDS);
+                }
+                executeQuery.execSelect();
+            }
             return true;
         } catch (final Exception e) {
             LOGGER.error("Connection to database returned an error:", e);
@@ -241,6 +297,103 @@ public class SparqlQueryExecutor extends QueryExecutor {
         return runCancellableQuery(constructor, statement, sparql);
     }
 
+    /**
+     * Function to execute query asynchronously. Jena has no asynchronous query API, so the query runs on the
+     * asynchronous query pool.
+     *
+     * @param sparql    Query to execute.
+     * @param statement java.sql.Statement Object required for result set.
+     * @return Future of the java.sql.ResultSet object returned from query execution.
+     * @throws SQLException if the query cannot be started.
+     */
+    @Override
+    public CompletableFuture<ResultSet> executeQueryAsync(final String sparql, final Statement statement)
+            throws SQLException {
+        return runCancellableQueryAsync(createConstructorBasedOnQueryType(sparql), statement, sparql);
+    }
+
+    /**
+     * Function to return the placeholder dialect of prepared queries.
+     *
+     * @return SPARQL (SPARQL), so property path modifiers are not placeholders.
+     */
+    @Override
+    public ParameterizedQuery.Dialect getParameterDialect() {
+        return ParameterizedQuery.Dialect.SPARQL;
+    }
+
+    /**
+     * Function to execute a prepared query. The SPARQL protocol has no parameters, so each placeholder is replaced
+     * by its value as an RDF term, wherever it is used in the query. Strings become plain literals and URIs or URLs
+     * become IRIs. A null value is an unbound variable, like a SQL NULL it matches no triple and makes comparisons
+     * fail.
+     *
+     * @param query      Query with '?' placeholders.
+     * @param parameters Parameter values, in placeholder order.
+     * @param statement  java.sql.Statement Object required for result set.
+     * @return java.sql.ResultSet object returned from query execution.
+     * @throws SQLException if query execution fails, or it was cancelled.
+     */
+    @Override
+    public ResultSet executeQuery(final ParameterizedQuery query, final List<Object> parameters,
+                                  final Statement statement) throws SQLException {
+        final Map<Var, Node> substitutions = new HashMap<>();
+        final Set<Var> nullParameters = new HashSet<>();
+        for (int i = 0; i < parameters.size(); i++) {
+            final Var var = Var.alloc(ParameterizedQuery.getParameterName(i + 1));
+            if (parameters.get(i) == null) {
+                nullParameters.add(var);
+            } else {
+                substitutions.put(var, toNode(parameters.get(i)));
+            }
+        }
+        Query sparqlQuery = QueryTransformOps.transform(getPreparedQuery(query), substitutions);
+        if (!nullParameters.isEmpty()) {
+            sparqlQuery = QueryTransformOps.transform(sparqlQuery, new NullParameterTransform(nullParameters));
+        }
+        return executeQuery(sparqlQuery.serialize(), statement);
+    }
+
+    private Query getPreparedQuery(final ParameterizedQuery query) throws SQLException {
+        synchronized (preparedQueryLock) {
+            // The template is parsed once for the statement it was prepared for.
+            if (preparedQuery != query) {
+                try {
+                    preparedSparqlQuery = QueryFactory.create(query.getQuery("?"));
+                } catch (final QueryException e) {
+                    throw SqlError.createSQLException(
+                            LOGGER,
+                            SqlState.INVALID_QUERY_EXPRESSION,
+                            SqlError.QUERY_FAILED, e);
+                }
+                preparedQuery = query;
+            }
+            return preparedSparqlQuery;
+        }
+    }
+
+    private static Node toNode(final Object value) throws SQLException {
+        if (value instanceof String) {
+            return NodeFactory.createLiteral((String) value);
+        } else if (value instanceof URI || value instanceof URL) {
+            return NodeFactory.createURI(value.toString());
+        } else if (value instanceof Number || value instanceof Boolean) {
+            return ResourceFactory.createTypedLiteral(value).asNode();
+        } else if (value instanceof java.sql.Timestamp) {
+            return NodeFactory.createLiteral(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(
+                    ((java.sql.Timestamp) value).toLocalDateTime()), XSDDatatype.XSDdateTime);
+        } else if (value instanceof java.sql.Date) {
+            return NodeFactory.createLiteral(value.toString(), XSDDatatype.XSDdate);
+        } else if (value instanceof java.sql.Time) {
+            return NodeFactory.createLiteral(DateTimeFormatter.ISO_LOCAL_TIME.format(
+                    ((java.sql.Time) value).toLocalTime()), XSDDatatype.XSDtime);
+        }
+        throw SqlError.createSQLException(
+                LOGGER,
+                SqlState.DATA_EXCEPTION,
+                SqlError.UNSUPPORTED_TYPE, value.getClass().getName());
+    }
+
     /**
      * Private function to get constructor based on the given query type
      */
@@ -251,8 +404,9 @@ public class SparqlQueryExecutor extends QueryExecutor {
             switch (query.queryType()) {
                 case SELECT:
                     constructor = SparqlSelectResultSet.class
-                            .getConstructor(java.sql.Statement.class,
-                                    SparqlSelectResultSet.ResultSetInfoWithRows.class);
+                            .getConstructor(java.sql.Statement.class, isStreamingQuery()
+                                    ? SparqlSelectResultSet.ResultSetInfoWithStream.class
+                                    : SparqlSelectResultSet.ResultSetInfoWithRows.class);
                     break;
                 case ASK:
                     constructor = SparqlAskResultSet.class
@@ -261,8 +415,9 @@ public class SparqlQueryExecutor extends QueryExecutor {
                 case CONSTRUCT:
                 case DESCRIBE:
                     constructor = SparqlTriplesResultSet.class
-                            .getConstructor(java.sql.Statement.class,
-                                    SparqlTriplesResultSet.ResultSetInfoWithRows.class);
+                            .getConstructor(java.sql.Statement.class, isStreamingQuery()
+                                    ? SparqlTriplesResultSet.ResultSetInfoWithStream.class
+                                    : SparqlTriplesResultSet.ResultSetInfoWithRows.class);
                     break;
                 default:
                     throw SqlError
@@ -353,44 +508,72 @@ public class SparqlQueryExecutor extends QueryExecutor {
     @Override
     @SuppressWarnings("unchecked")
     protected <T> T runQuery(final String query) throws SQLException {
+        final QueryExecution execution = getRdfConnection().query(query);
+        if (getQueryTimeout() > 0) {
+            // Bounds how long the server may take to answer, the query deadline aborts the execution.
+            execution.setTimeout(getQueryTimeout(), TimeUnit.SECONDS);
+        }
         synchronized (queryExecutionLock) {
-            synchronized (RDF_CONNECTION_LOCK) {
-                rdfConnection = getRdfConnection(sparqlConnectionProperties);
-            }
-            queryExecution = rdfConnection.query(query);
+            queryExecution = execution;
         }
 
-        final QueryType queryType = queryExecution.getQuery().queryType();
-        final Object sparqlResultSet = getResultSetBasedOnQueryType(queryType);
+        final QueryType queryType = execution.getQuery().queryType();
+        final Object sparqlResultSet;
+        try {
+            sparqlResultSet = getResultSetBasedOnQueryType(execution, queryType);
+        } catch (final SQLException | RuntimeException e) {
+            execution.close();
+            synchronized (queryExecutionLock) {
+                queryExecution = null;
+            }
+            throw e;
+        }
 
+        // Streaming result sets own the QueryExecution and close it once they are closed. Until then it is kept,
+        // so the query can still be cancelled while its results are read.
+        final boolean streaming = isStreamingQuery() && queryType != QueryType.ASK;
+        if (!streaming) {
+            execution.close();
+        }
         synchronized (queryExecutionLock) {
-            queryExecution.close();
-            queryExecution = null;
+            queryExecution = streaming ? execution : null;
         }
-
         return (T) sparqlResultSet;
     }
 
+    private boolean isStreamingQuery() {
+        // Results are streamed once a fetch size has been set on the Statement.
+        return getFetchSize() != Integer.MAX_VALUE;
+    }
+
+    private int getPrefixSize() {
+        // When streaming, only a bounded prefix of the results is read up front to infer the column types.
+        return isStreamingQuery()
+                ? Math.max(1, sparqlConnectionProperties.getResultLookaheadSize())
+                : Integer.MAX_VALUE;
+    }
+
     /**
      * Private function to get result set based on the given query type
      */
-    private Object getResultSetBasedOnQueryType(final QueryType queryType) throws SQLException {
+    private Object getResultSetBasedOnQueryType(final QueryExecution execution, final QueryType queryType)
+            throws SQLException {
         final Object sparqlResultSet;
         switch (queryType) {
             case SELECT:
-                final org.apache.jena.query.ResultSet selectResult = queryExecution.execSelect();
-                sparqlResultSet = getSelectResultSet(selectResult);
+                final org.apache.jena.query.ResultSet selectResult = execution.execSelect();
+                sparqlResultSet = getSelectResultSet(execution, selectResult);
                 break;
             case ASK:
-                sparqlResultSet = new SparqlAskResultSet.ResultSetInfoWithRows(queryExecution.execAsk());
+                sparqlResultSet = new SparqlAskResultSet.ResultSetInfoWithRows(execution.execAsk());
                 break;
             case CONSTRUCT:
-                final PeekIterator<Triple> constructResult = PeekIterator.create(queryExecution.execConstructTriples());
-                sparqlResultSet = getTriplesResultSet(constructResult);
+                final PeekIterator<Triple> constructResult = PeekIterator.create(execution.execConstructTriples());
+                sparqlResultSet = getTriplesResultSet(execution, constructResult);
                 break;
             case DESCRIBE:
-                final PeekIterator<Triple> describeResult = PeekIterator.create(queryExecution.execDescribeTriples());
-                sparqlResultSet = getTriplesResultSet(describeResult);
+                final PeekIterator<Triple> describeResult = PeekIterator.create(execution.execDescribeTriples());
+                sparqlResultSet = getTriplesResultSet(execution, describeResult);
                 break;
             default:
                 throw SqlError
@@ -402,7 +585,8 @@ public class SparqlQueryExecutor extends QueryExecutor {
     /**
      * Private function to get select result set
      */
-    private Object getSelectResultSet(final org.apache.jena.query.ResultSet selectResult) {
+    private Object getSelectResultSet(final QueryExecution execution,
+                                      final org.apache.jena.query.ResultSet selectResult) {
         final List<QuerySolution> selectRows = new ArrayList<>();
         final List<String> columns = selectResult.getResultVars();
 
@@ -410,7 +594,8 @@ public class SparqlQueryExecutor extends QueryExecutor {
         final Map<String, Object> tempColumnType = new LinkedHashMap<>();
 
         // TODO: Revisit type promotion in performance testing ticket
-        while (selectResult.hasNext()) {
+        final int prefixSize = getPrefixSize();
+        while (selectRows.size() < prefixSize && selectResult.hasNext()) {
             final QuerySolution row = selectResult.next();
             selectRows.add(row);
             final Iterator<String> tempColumnIterator = tempColumns.iterator();
@@ -429,6 +614,11 @@ public class SparqlQueryExecutor extends QueryExecutor {
         final Map<String, Object> selectColumnType = new LinkedHashMap<>();
         columns.forEach(c -> selectColumnType.put(c, tempColumnType.getOrDefault(c, String.class)));
 
+        if (isStreamingQuery()) {
+            return new SparqlSelectResultSet.ResultSetInfoWithStream(execution,
+                    Iterators.concat(selectRows.iterator(), selectResult), columns,
+                    new ArrayList<>(selectColumnType.values()));
+        }
         return new SparqlSelectResultSet.ResultSetInfoWithRows(selectRows, columns,
                 new ArrayList<>(selectColumnType.values()));
     }
@@ -436,13 +626,15 @@ public class SparqlQueryExecutor extends QueryExecutor {
     /**
      * Private function to get Triples result set
      */
-    private Object getTriplesResultSet(final PeekIterator<Triple> triplesResult) throws SQLException {
+    private Object getTriplesResultSet(final QueryExecution execution, final PeekIterator<Triple> triplesResult)
+            throws SQLException {
         final List<Triple> describeRows = new ArrayList<>();
 
         final List<String> tempColumns = new ArrayList<>(SparqlTriplesResultSet.TRIPLES_COLUMN_LIST);
         final Map<String, Object> tempColumnType = new LinkedHashMap<>();
 
-        while (triplesResult.hasNext()) {
+        final int prefixSize = getPrefixSize();
+        while (describeRows.size() < prefixSize && triplesResult.hasNext()) {
             final Triple row = triplesResult.next();
             describeRows.add(row);
             final Iterator<String> tempColumnIterator = tempColumns.iterator();
@@ -460,6 +652,11 @@ public class SparqlQueryExecutor extends QueryExecutor {
         SparqlTriplesResultSet.TRIPLES_COLUMN_LIST
                 .forEach(c -> triplesColumnType.put(c, tempColumnType.getOrDefault(c, String.class)));
 
+        if (isStreamingQuery()) {
+            return new SparqlTriplesResultSet.ResultSetInfoWithStream(execution,
+                    Iterators.concat(describeRows.iterator(), triplesResult),
+                    new ArrayList<>(triplesColumnType.values()));
+        }
         return new SparqlTriplesResultSet.ResultSetInfoWithRows(describeRows,
                 new ArrayList<>(triplesColumnType.values()));
     }
@@ -517,4 +714,58 @@ public class SparqlQueryExecutor extends QueryExecutor {
             }
         }
     }
+
+    @Override
+    protected boolean cancelOpenStream() throws SQLException {
+        synchronized (queryExecutionLock) {
+            // The ResultSet closes the execution once it is closed.
+            if (queryExecution == null || queryExecution.isClosed()) {
+                return false;
+            }
+            performCancel();
+            return true;
+        }
+    }
+
+    /**
+     * Replaces the triple patterns that use a null parameter by an empty VALUES block, so they match nothing.
+     * Expressions keep the unbound variable, where it raises an error that fails the comparison.
+     */
+    private static class NullParameterTransform extends ElementTransformCopyBase {
+        private final Set<Var> nullParameters;
+
+        NullParameterTransform(final Set<Var> nullParameters) {
+            this.nullParameters = nullParameters;
+        }
+
+        @Override
+        public Element transform(final ElementTriplesBlock el) {
+            for (final Triple triple : el.getPattern()) {
+                if (usesNullParameter(triple.getSubject(), triple.getPredicate(), triple.getObject())) {
+                    return new ElementData();
+                }
+            }
+            return super.transform(el);
+        }
+
+        @Override
+        public Element transform(final ElementPathBlock el) {
+            for (final TriplePath triplePath : el.getPattern()) {
+                if (usesNullParameter(triplePath.getSubject(), triplePath.getPredicate(), triplePath.getObject())) {
+                    return new ElementData();
+                }
+            }
+            return super.transform(el);
+        }
+
+        private boolean usesNullParameter(final Node... nodes) {
+            for (final Node node : nodes) {
+                // The predicate is null for property paths.
+                if (node != null && node.isVariable() && nullParameters.contains(Var.alloc(node))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
 }
@@ -30,6 +30,10 @@ public abstract class SparqlResultSet extends ResultSet {
         super(statement, columns, rowCount);
     }
 
+    protected SparqlResultSet(final Statement statement, final List<String> columns) {
+        super(statement, columns);
+    }
+
     @Override
     protected void doClose() throws SQLException {
     }
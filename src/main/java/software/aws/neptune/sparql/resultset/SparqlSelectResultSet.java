@@ -20,6 +20,7 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import org.apache.jena.datatypes.RDFDatatype;
 import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.query.QueryExecution;
 import org.apache.jena.query.QuerySolution;
 import org.apache.jena.rdf.model.Literal;
 import org.apache.jena.rdf.model.RDFNode;
@@ -31,6 +32,7 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -39,6 +41,10 @@ public class SparqlSelectResultSet extends SparqlResultSet {
     private final List<QuerySolution> rows;
     private final List<String> columns;
     private final List<Object> columnTypes;
+    // Streaming state, the QueryExecution is kept open until the ResultSet is closed.
+    private final QueryExecution queryExecution;
+    private final Iterator<QuerySolution> streamRows;
+    private QuerySolution currentRow = null;
 
     /**
      * SparqlResultSet constructor, initializes super class.
@@ -51,6 +57,23 @@ public class SparqlSelectResultSet extends SparqlResultSet {
         this.rows = resultSetInfo.getRows();
         this.columns = resultSetInfo.getColumns();
         this.columnTypes = resultSetInfo.getColumnTypes();
+        this.queryExecution = null;
+        this.streamRows = null;
+    }
+
+    /**
+     * SparqlResultSet constructor for streaming results, initializes super class.
+     *
+     * @param statement     Statement Object.
+     * @param resultSetInfo ResultSetInfoWithStream Object.
+     */
+    public SparqlSelectResultSet(final Statement statement, final ResultSetInfoWithStream resultSetInfo) {
+        super(statement, resultSetInfo.getColumns());
+        this.rows = null;
+        this.columns = resultSetInfo.getColumns();
+        this.columnTypes = resultSetInfo.getColumnTypes();
+        this.queryExecution = resultSetInfo.getQueryExecution();
+        this.streamRows = resultSetInfo.getRows();
     }
 
     /**
@@ -64,6 +87,22 @@ public class SparqlSelectResultSet extends SparqlResultSet {
         this.rows = null;
         this.columns = resultSetInfoWithoutRows.getColumns();
         this.columnTypes = columns.stream().map(c -> String.class).collect(Collectors.toList());
+        this.queryExecution = null;
+        this.streamRows = null;
+    }
+
+    @Override
+    protected void doClose() throws SQLException {
+        currentRow = null;
+        if (queryExecution != null) {
+            queryExecution.close();
+        }
+    }
+
+    @Override
+    protected boolean fetchNextRow() throws SQLException {
+        currentRow = streamRows.hasNext() ? streamRows.next() : null;
+        return currentRow != null;
     }
 
     @Override
@@ -99,7 +138,7 @@ public class SparqlSelectResultSet extends SparqlResultSet {
         validateRowColumn(columnIndex);
 
         final String colName = columns.get(columnIndex - 1);
-        final QuerySolution row = rows.get(getRowIndex());
+        final QuerySolution row = isStreaming() ? currentRow : rows.get(getRowIndex());
         final RDFNode value = row.get(colName);
         // literal: primitives
         // resource: relationships
@@ -114,7 +153,10 @@ public class SparqlSelectResultSet extends SparqlResultSet {
 
     @Override
     protected ResultSetMetaData getResultMetadata() throws SQLException {
-        if (rows.isEmpty()) {
+        if (isStreaming()) {
+            // Types were inferred from the prefix of the results, defaulting to String if it was empty.
+            return new SparqlResultSetMetadata(columns, this.columnTypes);
+        } else if (rows.isEmpty()) {
             // TODO: AN-562 see other ways to address empty result lists
             final List<Object> emptyColumnTypes = new ArrayList<>();
             for (final String column : columns) {
@@ -133,4 +175,13 @@ public class SparqlSelectResultSet extends SparqlResultSet {
         private final List<String> columns;
         private final List<Object> columnTypes;
     }
+
+    @AllArgsConstructor
+    @Getter
+    public static class ResultSetInfoWithStream {
+        private final QueryExecution queryExecution;
+        private final Iterator<QuerySolution> rows;
+        private final List<String> columns;
+        private final List<Object> columnTypes;
+    }
 }
@@ -24,6 +24,7 @@ import org.apache.jena.datatypes.xsd.XSDDatatype;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
 import org.apache.jena.graph.impl.LiteralLabel;
+import org.apache.jena.query.QueryExecution;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import software.aws.neptune.common.ResultSetInfoWithoutRows;
@@ -34,6 +35,7 @@ import java.sql.ResultSetMetaData;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -51,6 +53,10 @@ public class SparqlTriplesResultSet extends SparqlResultSet {
     private final List<Triple> rows;
     private final List<String> columns;
     private final List<Object> columnTypes;
+    // Streaming state, the QueryExecution is kept open until the ResultSet is closed.
+    private final QueryExecution queryExecution;
+    private final Iterator<Triple> streamRows;
+    private Triple currentRow = null;
 
     /**
      * SparqlResultSet constructor, initializes super class.
@@ -63,6 +69,23 @@ public class SparqlTriplesResultSet extends SparqlResultSet {
         this.rows = resultSetInfo.getRows();
         this.columns = resultSetInfo.getColumns();
         this.columnTypes = resultSetInfo.getColumnTypes();
+        this.queryExecution = null;
+        this.streamRows = null;
+    }
+
+    /**
+     * SparqlResultSet constructor for streaming results, initializes super class.
+     *
+     * @param statement     Statement Object.
+     * @param resultSetInfo ResultSetInfoWithStream Object.
+     */
+    public SparqlTriplesResultSet(final Statement statement, final ResultSetInfoWithStream resultSetInfo) {
+        super(statement, resultSetInfo.getColumns());
+        this.rows = null;
+        this.columns = resultSetInfo.getColumns();
+        this.columnTypes = resultSetInfo.getColumnTypes();
+        this.queryExecution = resultSetInfo.getQueryExecution();
+        this.streamRows = resultSetInfo.getRows();
     }
 
     /**
@@ -76,6 +99,22 @@ public class SparqlTriplesResultSet extends SparqlResultSet {
         this.rows = null;
         this.columns = resultSetInfoWithoutRows.getColumns();
         this.columnTypes = columns.stream().map(c -> String.class).collect(Collectors.toList());
+        this.queryExecution = null;
+        this.streamRows = null;
+    }
+
+    @Override
+    protected void doClose() throws SQLException {
+        currentRow = null;
+        if (queryExecution != null) {
+            queryExecution.close();
+        }
+    }
+
+    @Override
+    protected boolean fetchNextRow() throws SQLException {
+        currentRow = streamRows.hasNext() ? streamRows.next() : null;
+        return currentRow != null;
     }
 
     @Override
@@ -110,7 +149,7 @@ public class SparqlTriplesResultSet extends SparqlResultSet {
         verifyOpen();
         validateRowColumn(columnIndex);
 
-        final Triple row = rows.get(getRowIndex());
+        final Triple row = isStreaming() ? currentRow : rows.get(getRowIndex());
         final Node value = getNodeFromColumnIndex(row, columnIndex);
         setWasNull(value == null);
 
@@ -123,7 +162,10 @@ public class SparqlTriplesResultSet extends SparqlResultSet {
 
     @Override
     protected ResultSetMetaData getResultMetadata() throws SQLException {
-        if (rows.isEmpty()) {
+        if (isStreaming()) {
+            // Types were inferred from the prefix of the results, defaulting to String if it was empty.
+            return new SparqlResultSetMetadata(columns, this.columnTypes);
+        } else if (rows.isEmpty()) {
             // TODO: AN-562 see other ways to address empty result lists
             final List<Object> emptyColumnTypes = new ArrayList<>();
             for (int i = 1; i <= 3; i++) {
@@ -164,4 +206,13 @@ public class SparqlTriplesResultSet extends SparqlResultSet {
         private final List<String> columns = TRIPLES_COLUMN_LIST;
         private final List<Object> columnTypes;
     }
+
+    @AllArgsConstructor
+    @Getter
+    public static class ResultSetInfoWithStream {
+        private final QueryExecution queryExecution;
+        private final Iterator<Triple> rows;
+        private final List<String> columns = TRIPLES_COLUMN_LIST;
+        private final List<Object> columnTypes;
+    }
 }
@@ -68,4 +68,14 @@ public class NeptuneStatementTestHelper extends NeptuneStatementTestHelperBase {
         waitCancelToComplete();
         HelperFunctions.expectFunctionThrows(SqlError.QUERY_NOT_STARTED_OR_COMPLETE, this::getCancelException);
     }
+
+    /**
+     * Function to test that a query running past the query timeout is cancelled.
+     */
+    public void testQueryTimeout() {
+        Assertions.assertDoesNotThrow(() -> statement.setQueryTimeout(1));
+        HelperFunctions.expectFunctionThrows(SqlError.QUERY_TIMED_OUT, () -> statement.execute(longQuery));
+        Assertions.assertDoesNotThrow(() -> statement.execute(quickQuery));
+        Assertions.assertDoesNotThrow(() -> statement.setQueryTimeout(0));
+    }
 }
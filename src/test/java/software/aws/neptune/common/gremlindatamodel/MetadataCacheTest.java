@@ -0,0 +1,144 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.common.gremlindatamodel;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.twilmes.sql.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+import software.aws.neptune.gremlin.GremlinConnectionProperties;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class MetadataCacheTest {
+    private static final int CACHE_SIZE = 10;
+    private static final long NO_TTL = 0;
+
+    private static GremlinSchema createSchema() {
+        return new GremlinSchema(new ArrayList<>(), new ArrayList<>());
+    }
+
+    private static void await(final CountDownLatch latch) throws SQLException {
+        try {
+            latch.await();
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException(e);
+        }
+    }
+
+    @Test
+    void testSingleFlightLoad() throws Exception {
+        final String endpoint = "single-flight-endpoint";
+        final String otherEndpoint = "other-endpoint";
+        final GremlinSchema schema = createSchema();
+        final AtomicInteger loadCount = new AtomicInteger();
+        final CountDownLatch loadStarted = new CountDownLatch(1);
+        final CountDownLatch finishLoad = new CountDownLatch(1);
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final Future<?> first = executor.submit(() -> {
+                MetadataCache.updateCache(endpoint, () -> {
+                    loadCount.incrementAndGet();
+                    loadStarted.countDown();
+                    await(finishLoad);
+                    return schema;
+                }, CACHE_SIZE, NO_TTL);
+                return null;
+            });
+            Assertions.assertTrue(loadStarted.await(10, TimeUnit.SECONDS));
+            final Future<?> second = executor.submit(() -> {
+                MetadataCache.updateCache(endpoint, () -> {
+                    loadCount.incrementAndGet();
+                    return createSchema();
+                }, CACHE_SIZE, NO_TTL);
+                return null;
+            });
+
+            // Other endpoints are not blocked by the load in progress.
+            MetadataCache.updateCache(otherEndpoint, MetadataCacheTest::createSchema, CACHE_SIZE, NO_TTL);
+            Assertions.assertTrue(MetadataCache.isMetadataCached(otherEndpoint));
+            Assertions.assertFalse(MetadataCache.isMetadataCached(endpoint));
+            Assertions.assertThrows(SQLException.class,
+                    () -> MetadataCache.getFilteredCacheNodeColumnInfos(null, endpoint));
+
+            finishLoad.countDown();
+            first.get(10, TimeUnit.SECONDS);
+            second.get(10, TimeUnit.SECONDS);
+            Assertions.assertEquals(1, loadCount.get());
+            Assertions.assertSame(schema, MetadataCache.getGremlinSchema(endpoint));
+        } finally {
+            finishLoad.countDown();
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void testFailedLoad() throws SQLException {
+        final String endpoint = "failed-load-endpoint";
+        Assertions.assertThrows(SQLException.class, () -> MetadataCache.updateCache(endpoint, () -> {
+            throw new SQLException("Failed to load schema.");
+        }, CACHE_SIZE, NO_TTL));
+        Assertions.assertFalse(MetadataCache.isMetadataCached(endpoint));
+
+        // The failed load is not cached, the next caller loads the schema again.
+        final GremlinSchema schema = createSchema();
+        MetadataCache.updateCache(endpoint, () -> schema, CACHE_SIZE, NO_TTL);
+        Assertions.assertSame(schema, MetadataCache.getGremlinSchema(endpoint));
+    }
+
+    @Test
+    void testExpiredSchemaRefresh() throws Exception {
+        final String endpoint = "expired-schema-endpoint";
+        final GremlinConnectionProperties connectionProperties = new GremlinConnectionProperties();
+        connectionProperties.setSchemaCacheTtlMillis(1);
+        final GremlinSchema expiredSchema = createSchema();
+        MetadataCache.updateCacheIfNotUpdated(endpoint, () -> expiredSchema, connectionProperties, null);
+        Thread.sleep(10);
+
+        // The expired schema is served while the new one is loaded in the background.
+        final GremlinSchema refreshedSchema = createSchema();
+        final CountDownLatch finishLoad = new CountDownLatch(1);
+        MetadataCache.updateCacheIfNotUpdated(endpoint, () -> {
+            await(finishLoad);
+            return refreshedSchema;
+        }, connectionProperties, null);
+        Assertions.assertSame(expiredSchema, MetadataCache.getGremlinSchema(endpoint));
+
+        finishLoad.countDown();
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (MetadataCache.getGremlinSchema(endpoint) != refreshedSchema && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertSame(refreshedSchema, MetadataCache.getGremlinSchema(endpoint));
+        Assertions.assertEquals(2, MetadataCache.getScanMetrics(endpoint).getScanCount());
+    }
+
+    @Test
+    void testInvalidateCache() throws SQLException {
+        final String endpoint = "invalidated-endpoint";
+        MetadataCache.updateCache(endpoint, MetadataCacheTest::createSchema, CACHE_SIZE, NO_TTL);
+        Assertions.assertTrue(MetadataCache.isMetadataCached(endpoint));
+        MetadataCache.invalidateCache(endpoint);
+        Assertions.assertFalse(MetadataCache.isMetadataCached(endpoint));
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.common.gremlindatamodel;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.calcite.util.Pair;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.twilmes.sql.gremlin.adapter.converter.schema.SqlSchemaGrabber;
+import org.twilmes.sql.gremlin.adapter.converter.schema.calcite.GremlinSchema;
+import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinEdgeTable;
+import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinProperty;
+import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinTableBase;
+import org.twilmes.sql.gremlin.adapter.converter.schema.gremlin.GremlinVertexTable;
+import software.aws.neptune.gremlin.GremlinConnectionProperties;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+class SchemaStoreTest {
+    private static final String ENDPOINT = "schema-store-endpoint";
+    private static final int PORT = 8182;
+    private static final int SAMPLE_SIZE = SqlSchemaGrabber.DEFAULT_SAMPLE_SIZE;
+
+    private static GremlinSchema createSchema() {
+        return new GremlinSchema(
+                ImmutableList.of(
+                        new GremlinVertexTable("airport", ImmutableList.of(new GremlinProperty("code", "string")),
+                                ImmutableList.of("route"), ImmutableList.of("route"), "long"),
+                        new GremlinVertexTable("country", ImmutableList.of(), ImmutableList.of(), ImmutableList.of())),
+                ImmutableList.of(
+                        new GremlinEdgeTable("route", ImmutableList.of(new GremlinProperty("dist", "integer")),
+                                ImmutableList.of(new Pair<>("airport", "airport")))));
+    }
+
+    private static Map<String, String> getColumnTypes(final GremlinTableBase table) {
+        return table.getColumns().values().stream()
+                .collect(Collectors.toMap(GremlinProperty::getName, GremlinProperty::getType));
+    }
+
+    private static void assertSchemaEquals(final GremlinSchema expected, final GremlinSchema actual) {
+        Assertions.assertEquals(expected.getVertices().size(), actual.getVertices().size());
+        for (int i = 0; i < expected.getVertices().size(); i++) {
+            final GremlinVertexTable expectedVertex = expected.getVertices().get(i);
+            final GremlinVertexTable actualVertex = actual.getVertices().get(i);
+            Assertions.assertEquals(expectedVertex.getLabel(), actualVertex.getLabel());
+            Assertions.assertEquals(getColumnTypes(expectedVertex), getColumnTypes(actualVertex));
+            Assertions.assertEquals(expectedVertex.getInEdges(), actualVertex.getInEdges());
+            Assertions.assertEquals(expectedVertex.getOutEdges(), actualVertex.getOutEdges());
+            Assertions.assertEquals(expectedVertex.getIdType(), actualVertex.getIdType());
+        }
+        Assertions.assertEquals(expected.getEdges().size(), actual.getEdges().size());
+        for (int i = 0; i < expected.getEdges().size(); i++) {
+            final GremlinEdgeTable expectedEdge = expected.getEdges().get(i);
+            final GremlinEdgeTable actualEdge = actual.getEdges().get(i);
+            Assertions.assertEquals(expectedEdge.getLabel(), actualEdge.getLabel());
+            Assertions.assertEquals(getColumnTypes(expectedEdge), getColumnTypes(actualEdge));
+            Assertions.assertEquals(expectedEdge.getInOutVertexPairs(), actualEdge.getInOutVertexPairs());
+            Assertions.assertEquals(expectedEdge.getIdType(), actualEdge.getIdType());
+        }
+    }
+
+    @Test
+    void testNoDirectory() {
+        Assertions.assertNull(SchemaStore.create(null, ENDPOINT, PORT, SqlSchemaGrabber.ScanType.All, SAMPLE_SIZE));
+        Assertions.assertNull(SchemaStore.create(" ", ENDPOINT, PORT, SqlSchemaGrabber.ScanType.All, SAMPLE_SIZE));
+    }
+
+    @Test
+    void testWriteAndRead(@TempDir final Path directory) {
+        final SchemaStore schemaStore = SchemaStore.create(directory.resolve("schemas").toString(), ENDPOINT, PORT,
+                SqlSchemaGrabber.ScanType.All, SAMPLE_SIZE);
+        Assertions.assertNull(schemaStore.read());
+
+        final GremlinSchema schema = createSchema();
+        schemaStore.write(schema);
+        assertSchemaEquals(schema, schemaStore.read());
+
+        // Schemas of other ports, scan types or sample sizes are kept apart.
+        Assertions.assertNull(SchemaStore.create(directory.resolve("schemas").toString(), ENDPOINT, PORT + 1,
+                SqlSchemaGrabber.ScanType.All, SAMPLE_SIZE).read());
+        Assertions.assertNull(SchemaStore.create(directory.resolve("schemas").toString(), ENDPOINT, PORT,
+                SqlSchemaGrabber.ScanType.First, SAMPLE_SIZE).read());
+        Assertions.assertNull(SchemaStore.create(directory.resolve("schemas").toString(), ENDPOINT, PORT,
+                SqlSchemaGrabber.ScanType.All, SAMPLE_SIZE + 1).read());
+    }
+
+    @Test
+    void testCorruptFile(@TempDir final Path directory) throws IOException {
+        final SchemaStore schemaStore = SchemaStore.create(directory.toString(), ENDPOINT, PORT,
+                SqlSchemaGrabber.ScanType.All, SAMPLE_SIZE);
+        schemaStore.write(createSchema());
+        try (Stream<Path> files = Files.list(directory)) {
+            for (final Path file : files.collect(Collectors.toList())) {
+                Files.write(file, "{\"vertices\": [".getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        Assertions.assertNull(schemaStore.read());
+    }
+
+    @Test
+    void testStoredSchemaServedAndRefreshed(@TempDir final Path directory) throws Exception {
+        final String endpoint = "stored-schema-endpoint";
+        final GremlinConnectionProperties connectionProperties = new GremlinConnectionProperties();
+        connectionProperties.setSchemaCacheDirectory(directory.toString());
+        final SchemaStore schemaStore = SchemaStore.create(directory.toString(), endpoint, PORT,
+                SqlSchemaGrabber.ScanType.All, SAMPLE_SIZE);
+        schemaStore.write(createSchema());
+
+        // The stored schema is served right away and the schema is loaded again in the background.
+        final GremlinSchema loadedSchema = new GremlinSchema(ImmutableList.of(), ImmutableList.of());
+        MetadataCache.updateCacheIfNotUpdated(endpoint, () -> loadedSchema, connectionProperties, schemaStore);
+        Assertions.assertTrue(MetadataCache.isMetadataCached(endpoint));
+
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (MetadataCache.getGremlinSchema(endpoint) != loadedSchema && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertSame(loadedSchema, MetadataCache.getGremlinSchema(endpoint));
+        assertSchemaEquals(loadedSchema, schemaStore.read());
+    }
+
+    @Test
+    void testStoredSchemaRefreshRetried(@TempDir final Path directory) throws Exception {
+        final String endpoint = "retried-schema-endpoint";
+        final GremlinConnectionProperties connectionProperties = new GremlinConnectionProperties();
+        connectionProperties.setSchemaCacheDirectory(directory.toString());
+        final SchemaStore schemaStore = SchemaStore.create(directory.toString(), endpoint, PORT,
+                SqlSchemaGrabber.ScanType.All, SAMPLE_SIZE);
+        schemaStore.write(createSchema());
+
+        // The background refresh fails, the stored schema is still served.
+        final AtomicInteger loads = new AtomicInteger();
+        MetadataCache.updateCacheIfNotUpdated(endpoint, () -> {
+            loads.incrementAndGet();
+            throw new SQLException("Refresh failed.");
+        }, connectionProperties, schemaStore);
+        final long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (loads.get() == 0 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertTrue(MetadataCache.isMetadataCached(endpoint));
+
+        // The stored schema stays expired, so the next request refreshes it again.
+        final GremlinSchema loadedSchema = new GremlinSchema(ImmutableList.of(), ImmutableList.of());
+        while (MetadataCache.getGremlinSchema(endpoint) != loadedSchema && System.currentTimeMillis() < deadline) {
+            MetadataCache.updateCacheIfNotUpdated(endpoint, () -> loadedSchema, connectionProperties, schemaStore);
+            Thread.sleep(10);
+        }
+        Assertions.assertSame(loadedSchema, MetadataCache.getGremlinSchema(endpoint));
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.tinkerpop.gremlin.process.traversal.Order;
+import org.apache.tinkerpop.gremlin.process.traversal.P;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.util.Collections;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.out;
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.values;
+
+public class GremlinBytecodeCompilerTest {
+    private final GraphTraversalSource g = EmptyGraph.instance().traversal();
+
+    @Test
+    void testCompileTraversal() {
+        Assertions.assertEquals(
+                g.V().hasLabel("airport").project("Elevation").by(values("elev")).asAdmin().getBytecode(),
+                GremlinBytecodeCompiler.compile("g.V().hasLabel('airport').project('Elevation').by(values('elev'))",
+                        Collections.emptyMap()));
+    }
+
+    @Test
+    void testCompileTraversalWithParameters() {
+        Assertions.assertEquals(
+                g.V().has("code", "SEA").limit(5L).asAdmin().getBytecode(),
+                GremlinBytecodeCompiler.compile("g.V().has('code', jdbcParam1).limit(jdbcParam2)",
+                        ImmutableMap.of("jdbcParam1", "SEA", "jdbcParam2", 5L)));
+
+        // Numbers are converted to the parameter type of the step, as when the script is evaluated.
+        Assertions.assertEquals(
+                g.V().has("code", "SEA").limit(5L).asAdmin().getBytecode(),
+                GremlinBytecodeCompiler.compile("g.V().has('code', jdbcParam1).limit(jdbcParam2)",
+                        ImmutableMap.of("jdbcParam1", "SEA", "jdbcParam2", 5)));
+    }
+
+    @Test
+    void testCompileArguments() {
+        Assertions.assertEquals(
+                g.withSideEffect("a", 1).V().has("age", P.gt(30)).has("weight", new BigDecimal("0.5"))
+                        .where(P.not(P.within("x", "y"))).where(__.not(out("knows"))).order().by("age", Order.desc)
+                        .project("id", "names").by(T.id).by(values("name").fold()).asAdmin().getBytecode(),
+                GremlinBytecodeCompiler.compile("g.withSideEffect('a', 1).V().has('age', gt(30)).has('weight', 0.5)"
+                                + ".where(not(within('x', \"y\"))).where(__.not(out('knows'))).order().by('age', desc)"
+                                + ".project('id', 'names').by(T.id).by(values('name').fold())",
+                        Collections.emptyMap()));
+    }
+
+    @Test
+    void testCompileNonTraversal() {
+        // Scripts that are not traversals, or fail to evaluate, are left to the server.
+        Assertions.assertNull(GremlinBytecodeCompiler.compile("1+1", Collections.emptyMap()));
+        Assertions.assertNull(GremlinBytecodeCompiler.compile("g.V().toList()", Collections.emptyMap()));
+        Assertions.assertNull(GremlinBytecodeCompiler.compile("g.V(", Collections.emptyMap()));
+        Assertions.assertNull(GremlinBytecodeCompiler.compile("g.V(); g.E()", Collections.emptyMap()));
+    }
+
+    @Test
+    void testCompileDoesNotEvaluate() {
+        // Code that is not part of a traversal is never run on the client.
+        Assertions.assertNull(GremlinBytecodeCompiler.compile("g.V().map { System.exit(1) }",
+                Collections.emptyMap()));
+        Assertions.assertNull(GremlinBytecodeCompiler.compile("g.V(System.exit(1))", Collections.emptyMap()));
+        Assertions.assertNull(GremlinBytecodeCompiler.compile("g.inject(\"${System.exit(1)}\")",
+                Collections.emptyMap()));
+        Assertions.assertNull(GremlinBytecodeCompiler.compile("g.V().has('code', code)", Collections.emptyMap()));
+    }
+}
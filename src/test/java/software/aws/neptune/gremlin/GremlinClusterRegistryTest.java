@@ -0,0 +1,153 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+
+package software.aws.neptune.gremlin;
+
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.aws.neptune.gremlin.mock.MockGremlinDatabase;
+import software.aws.neptune.jdbc.utilities.ConnectionProperties;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+import static software.aws.neptune.gremlin.GremlinHelper.getProperties;
+
+public class GremlinClusterRegistryTest {
+    private static final String HOSTNAME = "localhost";
+    private static final int PORT = 8181; // Mock server uses 8181.
+    private static final String QUERY = "1+1";
+
+    /**
+     * Function to get a random available port and initialize database before testing.
+     */
+    @BeforeAll
+    public static void initializeDatabase() throws IOException, InterruptedException {
+        MockGremlinDatabase.startGraph();
+    }
+
+    /**
+     * Function to get a shutdown database after testing.
+     */
+    @AfterAll
+    public static void shutdownDatabase() throws IOException, InterruptedException {
+        MockGremlinDatabase.stopGraph();
+    }
+
+    @AfterEach
+    void resetEviction() {
+        GremlinClusterRegistry.setIdleEvictionMillis(TimeUnit.MINUTES.toMillis(1));
+    }
+
+    @Test
+    void testConnectionsShareCluster() throws SQLException {
+        // A content length only used by this test keeps its key apart from the other tests.
+        final GremlinConnectionProperties properties =
+                new GremlinConnectionProperties(getProperties(HOSTNAME, PORT, 65537));
+        final java.sql.Connection first = new GremlinConnection(properties);
+        final java.sql.Connection second = new GremlinConnection(properties);
+        Assertions.assertEquals(2, GremlinClusterRegistry.getReferenceCount(properties));
+        Assertions.assertSame(GremlinClusterRegistry.getCluster(properties),
+                GremlinClusterRegistry.getCluster(properties));
+        Assertions.assertSame(GremlinClusterRegistry.getClient(properties),
+                GremlinClusterRegistry.getClient(properties));
+
+        first.createStatement().executeQuery(QUERY);
+        first.close();
+        Assertions.assertEquals(1, GremlinClusterRegistry.getReferenceCount(properties));
+
+        // Closing one connection must not tear down the Cluster under the other.
+        second.createStatement().executeQuery(QUERY);
+        second.close();
+        Assertions.assertEquals(0, GremlinClusterRegistry.getReferenceCount(properties));
+    }
+
+    @Test
+    void testDifferentPropertiesGetDifferentClusters() throws SQLException {
+        final GremlinConnectionProperties properties1 =
+                new GremlinConnectionProperties(getProperties(HOSTNAME, PORT, 65538));
+        final GremlinConnectionProperties properties2 =
+                new GremlinConnectionProperties(getProperties(HOSTNAME, PORT, 65539));
+        final java.sql.Connection first = new GremlinConnection(properties1);
+        final java.sql.Connection second = new GremlinConnection(properties2);
+        try {
+            final Cluster cluster1 = GremlinClusterRegistry.getCluster(properties1);
+            final Cluster cluster2 = GremlinClusterRegistry.getCluster(properties2);
+            Assertions.assertNotSame(cluster1, cluster2);
+
+            // Alternating between the connections reuses both Clusters.
+            first.createStatement().executeQuery(QUERY);
+            second.createStatement().executeQuery(QUERY);
+            first.createStatement().executeQuery(QUERY);
+            Assertions.assertSame(cluster1, GremlinClusterRegistry.getCluster(properties1));
+            Assertions.assertSame(cluster2, GremlinClusterRegistry.getCluster(properties2));
+        } finally {
+            first.close();
+            second.close();
+        }
+    }
+
+    @Test
+    void testNonClusterPropertiesShareCluster() throws SQLException {
+        // Properties the Cluster builder does not read, including ones added later, do not split the Cluster.
+        final Properties properties1 = getProperties(HOSTNAME, PORT, 65541);
+        properties1.put(ConnectionProperties.APPLICATION_NAME_KEY, "first");
+        properties1.put(ConnectionProperties.RESULT_LOOKAHEAD_SIZE_KEY, 1);
+        final Properties properties2 = getProperties(HOSTNAME, PORT, 65541);
+        properties2.put(ConnectionProperties.APPLICATION_NAME_KEY, "second");
+        properties2.put(GremlinConnectionProperties.SUBMIT_BYTECODE_KEY, true);
+        final GremlinConnectionProperties gremlinProperties1 = new GremlinConnectionProperties(properties1);
+        final GremlinConnectionProperties gremlinProperties2 = new GremlinConnectionProperties(properties2);
+        final java.sql.Connection first = new GremlinConnection(gremlinProperties1);
+        final java.sql.Connection second = new GremlinConnection(gremlinProperties2);
+        try {
+            Assertions.assertEquals(2, GremlinClusterRegistry.getReferenceCount(gremlinProperties1));
+            Assertions.assertSame(GremlinClusterRegistry.getCluster(gremlinProperties1),
+                    GremlinClusterRegistry.getCluster(gremlinProperties2));
+        } finally {
+            first.close();
+            second.close();
+        }
+    }
+
+    @Test
+    void testIdleEviction() throws SQLException, InterruptedException {
+        GremlinClusterRegistry.setIdleEvictionMillis(10);
+        final GremlinConnectionProperties properties =
+                new GremlinConnectionProperties(getProperties(HOSTNAME, PORT, 65540));
+        final java.sql.Connection connection = new GremlinConnection(properties);
+        final Cluster cluster = GremlinClusterRegistry.getCluster(properties);
+        connection.createStatement().executeQuery(QUERY);
+        connection.close();
+
+        Thread.sleep(1000);
+        Assertions.assertTrue(cluster.isClosing());
+
+        // A new connection gets a new Cluster.
+        final java.sql.Connection newConnection = new GremlinConnection(properties);
+        try {
+            Assertions.assertNotSame(cluster, GremlinClusterRegistry.getCluster(properties));
+            newConnection.createStatement().executeQuery(QUERY);
+        } finally {
+            newConnection.close();
+        }
+    }
+}
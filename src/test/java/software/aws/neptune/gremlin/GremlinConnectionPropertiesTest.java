@@ -113,6 +113,127 @@ class GremlinConnectionPropertiesTest extends ConnectionPropertiesTestBase {
         Assertions.assertEquals(randomIntValue, connectionProperties.getConnectionRetryCount());
     }
 
+    @Test
+    void testResultLookaheadSize() throws SQLException {
+        testIntegerPropertyViaConstructor(
+                GremlinConnectionProperties.RESULT_LOOKAHEAD_SIZE_KEY,
+                GremlinConnectionProperties.DEFAULT_RESULT_LOOKAHEAD_SIZE);
+
+        connectionProperties = new GremlinConnectionProperties();
+        connectionProperties.setResultLookaheadSize(randomIntValue);
+        Assertions.assertEquals(randomIntValue, connectionProperties.getResultLookaheadSize());
+        Assertions.assertThrows(SQLException.class, () -> connectionProperties.setResultLookaheadSize(-1));
+    }
+
+    @Test
+    void testValidationCacheMillis() throws SQLException {
+        testIntegerPropertyViaConstructor(
+                GremlinConnectionProperties.VALIDATION_CACHE_MILLIS_KEY,
+                GremlinConnectionProperties.DEFAULT_VALIDATION_CACHE_MILLIS);
+
+        connectionProperties = new GremlinConnectionProperties();
+        connectionProperties.setValidationCacheMillis(randomIntValue);
+        Assertions.assertEquals(randomIntValue, connectionProperties.getValidationCacheMillis());
+        Assertions.assertThrows(SQLException.class, () -> connectionProperties.setValidationCacheMillis(-1));
+    }
+
+    @Test
+    void testScanSampleSize() throws SQLException {
+        connectionProperties = new GremlinConnectionProperties();
+        Assertions.assertEquals(GremlinConnectionProperties.DEFAULT_SCAN_SAMPLE_SIZE,
+                connectionProperties.getScanSampleSize());
+
+        // A sample of no values cannot type a property, so 0 is rejected like negative values.
+        final Properties properties = new Properties();
+        properties.put(GremlinConnectionProperties.SCAN_SAMPLE_SIZE_KEY, "5");
+        Assertions.assertEquals(5, new GremlinConnectionProperties(properties).getScanSampleSize());
+        for (final String invalidValue : ImmutableList.of("0", "-1", "blah")) {
+            properties.put(GremlinConnectionProperties.SCAN_SAMPLE_SIZE_KEY, invalidValue);
+            Assertions.assertThrows(SQLException.class, () -> new GremlinConnectionProperties(properties));
+        }
+
+        connectionProperties = new GremlinConnectionProperties();
+        connectionProperties.setScanSampleSize(randomIntValue);
+        Assertions.assertEquals(randomIntValue, connectionProperties.getScanSampleSize());
+        Assertions.assertThrows(SQLException.class, () -> connectionProperties.setScanSampleSize(0));
+    }
+
+    @Test
+    void testSchemaCacheSize() throws SQLException {
+        connectionProperties = new GremlinConnectionProperties();
+        Assertions.assertEquals(GremlinConnectionProperties.DEFAULT_SCHEMA_CACHE_SIZE,
+                connectionProperties.getSchemaCacheSize());
+
+        // A cache that holds no schema would load the schema again for every query, so 0 is rejected.
+        final Properties properties = new Properties();
+        properties.put(GremlinConnectionProperties.SCHEMA_CACHE_SIZE_KEY, "5");
+        Assertions.assertEquals(5, new GremlinConnectionProperties(properties).getSchemaCacheSize());
+        for (final String invalidValue : ImmutableList.of("0", "-1", "blah")) {
+            properties.put(GremlinConnectionProperties.SCHEMA_CACHE_SIZE_KEY, invalidValue);
+            Assertions.assertThrows(SQLException.class, () -> new GremlinConnectionProperties(properties));
+        }
+
+        connectionProperties = new GremlinConnectionProperties();
+        connectionProperties.setSchemaCacheSize(randomIntValue);
+        Assertions.assertEquals(randomIntValue, connectionProperties.getSchemaCacheSize());
+        Assertions.assertThrows(SQLException.class, () -> connectionProperties.setSchemaCacheSize(0));
+    }
+
+    @Test
+    void testSchemaCacheTtlMillis() throws SQLException {
+        testIntegerPropertyViaConstructor(
+                GremlinConnectionProperties.SCHEMA_CACHE_TTL_MILLIS_KEY,
+                GremlinConnectionProperties.DEFAULT_SCHEMA_CACHE_TTL_MILLIS);
+
+        connectionProperties = new GremlinConnectionProperties();
+        connectionProperties.setSchemaCacheTtlMillis(randomIntValue);
+        Assertions.assertEquals(randomIntValue, connectionProperties.getSchemaCacheTtlMillis());
+        Assertions.assertThrows(SQLException.class, () -> connectionProperties.setSchemaCacheTtlMillis(-1));
+    }
+
+    @Test
+    void testRefreshSchema() throws SQLException {
+        testBooleanPropertyViaConstructor(
+                GremlinConnectionProperties.REFRESH_SCHEMA_KEY,
+                GremlinConnectionProperties.DEFAULT_REFRESH_SCHEMA);
+
+        connectionProperties = new GremlinConnectionProperties();
+        Assertions.assertEquals(DEFAULT_FALSE, connectionProperties.getRefreshSchema());
+        final ImmutableList<Boolean> boolValues = ImmutableList.of(true, false);
+        for (final Boolean boolValue : boolValues) {
+            connectionProperties.setRefreshSchema(boolValue);
+            Assertions.assertEquals(boolValue, connectionProperties.getRefreshSchema());
+        }
+    }
+
+    @Test
+    void testSchemaCacheDirectory() throws SQLException {
+        testStringPropertyViaConstructor(
+                GremlinConnectionProperties.SCHEMA_CACHE_DIRECTORY_KEY);
+
+        final String testValue = "test schema cache directory";
+        connectionProperties = new GremlinConnectionProperties();
+        Assertions.assertEquals(GremlinConnectionProperties.DEFAULT_SCHEMA_CACHE_DIRECTORY,
+                connectionProperties.getSchemaCacheDirectory());
+        connectionProperties.setSchemaCacheDirectory(testValue);
+        Assertions.assertEquals(testValue, connectionProperties.getSchemaCacheDirectory());
+    }
+
+    @Test
+    void testIncrementalSchemaRefresh() throws SQLException {
+        testBooleanPropertyViaConstructor(
+                GremlinConnectionProperties.INCREMENTAL_SCHEMA_REFRESH_KEY,
+                GremlinConnectionProperties.DEFAULT_INCREMENTAL_SCHEMA_REFRESH);
+
+        connectionProperties = new GremlinConnectionProperties();
+        Assertions.assertEquals(DEFAULT_FALSE, connectionProperties.getIncrementalSchemaRefresh());
+        final ImmutableList<Boolean> boolValues = ImmutableList.of(true, false);
+        for (final Boolean boolValue : boolValues) {
+            connectionProperties.setIncrementalSchemaRefresh(boolValue);
+            Assertions.assertEquals(boolValue, connectionProperties.getIncrementalSchemaRefresh());
+        }
+    }
+
     @Test
     void testAuthScheme() throws SQLException {
         testAuthSchemeViaConstructor();
@@ -268,6 +389,21 @@ class GremlinConnectionPropertiesTest extends ConnectionPropertiesTestBase {
         Assertions.assertEquals(sslCipherSuites, connectionProperties.getSslCipherSuites());
     }
 
+    @Test
+    void testSubmitBytecode() throws SQLException {
+        testBooleanPropertyViaConstructor(
+                GremlinConnectionProperties.SUBMIT_BYTECODE_KEY,
+                GremlinConnectionProperties.DEFAULT_SUBMIT_BYTECODE);
+
+        connectionProperties = new GremlinConnectionProperties();
+        Assertions.assertEquals(DEFAULT_FALSE, connectionProperties.getSubmitBytecode());
+        final ImmutableList<Boolean> boolValues = ImmutableList.of(true, false);
+        for (final Boolean boolValue : boolValues) {
+            connectionProperties.setSubmitBytecode(boolValue);
+            Assertions.assertEquals(boolValue, connectionProperties.getSubmitBytecode());
+        }
+    }
+
     @Test
     void testSslSkipCertValidation() throws SQLException {
         testBooleanPropertyViaConstructor(
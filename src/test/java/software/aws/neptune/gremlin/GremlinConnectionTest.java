@@ -22,10 +22,14 @@ import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import software.aws.neptune.NeptuneStatement;
 import software.aws.neptune.gremlin.mock.MockGremlinDatabase;
+import software.aws.neptune.jdbc.utilities.ParameterizedQuery;
 import java.io.IOException;
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.Properties;
+import java.util.concurrent.ExecutionException;
 import static software.aws.neptune.gremlin.GremlinHelper.getProperties;
 
 public class GremlinConnectionTest {
@@ -66,6 +70,69 @@ public class GremlinConnectionTest {
         connection.createStatement().executeQuery(QUERY);
     }
 
+    @Test
+    void testGremlinDatabaseAsync() throws SQLException, InterruptedException, ExecutionException {
+        final NeptuneStatement statement = connection.createStatement().unwrap(NeptuneStatement.class);
+        final java.sql.ResultSet resultSet = statement.executeQueryAsync(QUERY).get();
+        Assertions.assertNotNull(resultSet);
+        Assertions.assertTrue(resultSet.next());
+        resultSet.close();
+    }
+
+    @Test
+    void testPreparedStatementBindings() throws SQLException {
+        // The ternary '?' and the '?' inside the string are not placeholders.
+        final java.sql.PreparedStatement statement = connection.prepareStatement(
+                "[size: [?, ?].sum() > 4 ? 'big' : 'small', name: ?, quoted: '?']");
+        statement.setInt(1, 2);
+        statement.setInt(2, 3);
+        statement.setString(3, "Alice");
+        java.sql.ResultSet resultSet = statement.executeQuery();
+        Assertions.assertTrue(resultSet.next());
+        Assertions.assertEquals("big", resultSet.getString("size"));
+        Assertions.assertEquals("Alice", resultSet.getString("name"));
+        Assertions.assertEquals("?", resultSet.getString("quoted"));
+        resultSet.close();
+
+        statement.setInt(2, 1);
+        resultSet = statement.executeQuery();
+        Assertions.assertTrue(resultSet.next());
+        Assertions.assertEquals("small", resultSet.getString("size"));
+        resultSet.close();
+    }
+
+    @Test
+    void testSubmitBytecode() throws SQLException {
+        final Properties properties = getProperties(HOSTNAME, PORT);
+        properties.put(GremlinConnectionProperties.SUBMIT_BYTECODE_KEY, true);
+        final String query = "g.inject(?).project('name', 'size').by(identity()).by(constant(5))";
+        Assertions.assertNotNull(GremlinBytecodeCompiler.compile(new ParameterizedQuery(query,
+                ParameterizedQuery.Dialect.GROOVY).getQuery(""), Collections.singletonMap(
+                ParameterizedQuery.getParameterName(1), "Alice")));
+
+        final java.sql.Connection bytecodeConnection =
+                new GremlinConnection(new GremlinConnectionProperties(properties));
+        try {
+            final java.sql.PreparedStatement statement = bytecodeConnection.prepareStatement(query);
+            statement.setString(1, "Alice");
+            final java.sql.ResultSet resultSet = statement.executeQuery();
+            Assertions.assertTrue(resultSet.next());
+            Assertions.assertEquals("Alice", resultSet.getString("name"));
+            Assertions.assertEquals(5, resultSet.getInt("size"));
+            Assertions.assertFalse(resultSet.next());
+            resultSet.close();
+
+            // Scripts that are not traversals are still submitted as scripts.
+            final java.sql.ResultSet scriptResultSet = bytecodeConnection.createStatement()
+                    .executeQuery("[name: 'Bob']");
+            Assertions.assertTrue(scriptResultSet.next());
+            Assertions.assertEquals("Bob", scriptResultSet.getString("name"));
+            scriptResultSet.close();
+        } finally {
+            bytecodeConnection.close();
+        }
+    }
+
     @Test
     void testIsValid() throws SQLException {
         Assertions.assertTrue(connection.isValid(1));
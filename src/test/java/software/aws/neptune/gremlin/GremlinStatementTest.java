@@ -85,4 +85,9 @@ public class GremlinStatementTest extends GremlinStatementTestBase {
     void testCancelQueryAfterExecuteComplete() {
         neptuneStatementTestHelper.testCancelQueryAfterExecuteComplete();
     }
+
+    @Test
+    void testQueryTimeout() {
+        neptuneStatementTestHelper.testQueryTimeout();
+    }
 }
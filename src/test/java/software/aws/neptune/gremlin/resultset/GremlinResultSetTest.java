@@ -23,6 +23,7 @@ import org.junit.jupiter.api.Test;
 import software.aws.neptune.gremlin.GremlinConnection;
 import software.aws.neptune.gremlin.GremlinConnectionProperties;
 import software.aws.neptune.gremlin.mock.MockGremlinDatabase;
+import software.aws.neptune.jdbc.utilities.SqlState;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.HashMap;
@@ -32,6 +33,7 @@ import static software.aws.neptune.gremlin.GremlinHelper.createVertex;
 import static software.aws.neptune.gremlin.GremlinHelper.dropVertex;
 import static software.aws.neptune.gremlin.GremlinHelper.getProperties;
 import static software.aws.neptune.gremlin.GremlinHelper.getVertex;
+import static software.aws.neptune.gremlin.GremlinHelper.getVertexQuery;
 
 class GremlinResultSetTest {
     private static final String HOSTNAME = "localhost";
@@ -153,5 +155,52 @@ class GremlinResultSetTest {
         Assertions.assertThrows(SQLException.class, () -> resultSet.getDouble(col));
         Assertions.assertThrows(SQLException.class, () -> resultSet.getFloat(col));
     }
-}
 
+    @Test
+    void testStreamingResultSet() throws SQLException {
+        createVertex(connection, VERTEX, VERTEX_PROPERTIES_MAP);
+        final java.sql.Statement statement = connection.createStatement();
+        statement.setFetchSize(1);
+        final java.sql.ResultSet streamingResultSet = statement.executeQuery(getVertexQuery(VERTEX));
+        Assertions.assertEquals(1, streamingResultSet.getFetchSize());
+        Assertions.assertEquals(VERTEX_PROPERTIES_MAP.size(), streamingResultSet.getMetaData().getColumnCount());
+        Assertions.assertTrue(streamingResultSet.isBeforeFirst());
+        Assertions.assertFalse(streamingResultSet.isLast());
+
+        final int col = streamingResultSet.findColumn("name");
+        int rowCount = 0;
+        while (streamingResultSet.next()) {
+            Assertions.assertEquals(VERTEX_PROPERTIES_MAP.get("name"), streamingResultSet.getString(col));
+            rowCount++;
+            // Looking ahead for the last row does not skip any rows.
+            Assertions.assertEquals(rowCount == 2, streamingResultSet.isLast());
+        }
+        Assertions.assertEquals(2, rowCount);
+        Assertions.assertFalse(streamingResultSet.isLast());
+        Assertions.assertTrue(streamingResultSet.isAfterLast());
+        Assertions.assertFalse(streamingResultSet.next());
+        Assertions.assertThrows(SQLException.class, () -> streamingResultSet.getString(col));
+        streamingResultSet.close();
+    }
+
+    @Test
+    void testCancelStreamingResultSet() throws SQLException {
+        final java.sql.Statement statement = connection.createStatement();
+        statement.setFetchSize(1);
+        final java.sql.ResultSet streamingResultSet = statement.executeQuery(getVertexQuery(VERTEX));
+        Assertions.assertTrue(streamingResultSet.next());
+
+        // The query completed, but its results are still streamed, so it can still be cancelled.
+        Assertions.assertDoesNotThrow(statement::cancel);
+        final SQLException exception = Assertions.assertThrows(SQLException.class, () -> {
+            int rowCount = 0;
+            while (streamingResultSet.next()) {
+                rowCount++;
+            }
+            Assertions.fail("Read " + rowCount + " more rows after the query was cancelled.");
+        });
+        Assertions.assertEquals(SqlState.OPERATION_CANCELED.getSqlState(), exception.getSQLState());
+        streamingResultSet.close();
+        Assertions.assertThrows(SQLException.class, statement::cancel);
+    }
+}
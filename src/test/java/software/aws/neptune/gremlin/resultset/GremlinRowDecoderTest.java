@@ -0,0 +1,84 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.neptune.gremlin.resultset;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.tinkerpop.gremlin.driver.Result;
+import org.apache.tinkerpop.gremlin.process.traversal.traverser.B_O_Traverser;
+import org.apache.tinkerpop.gremlin.structure.T;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+class GremlinRowDecoderTest {
+    private static Map<Object, Object> createMap(final Object... keysAndValues) {
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return map;
+    }
+
+    @Test
+    void testDecodeRows() {
+        final GremlinRowDecoder rowDecoder = new GremlinRowDecoder();
+        final List<Object[]> rows = rowDecoder.decode(ImmutableList.of(
+                new Result(createMap(T.id, 1L, "name", "Earth")),
+                new Result(createMap("name", "Mars", "moons", 2)),
+                new Result("not a map")));
+
+        Assertions.assertEquals(ImmutableList.of("id", "name", "moons"), rowDecoder.getColumns());
+        Assertions.assertEquals(ImmutableList.of(Long.class, String.class, Integer.class),
+                rowDecoder.getColumnTypes());
+        Assertions.assertEquals(2, rows.size());
+        // The first row was decoded before the moons column was seen.
+        Assertions.assertArrayEquals(new Object[] {1L, "Earth"}, rows.get(0));
+        Assertions.assertArrayEquals(new Object[] {null, "Mars", 2}, rows.get(1));
+    }
+
+    @Test
+    void testColumnTypeFallback() {
+        final GremlinRowDecoder rowDecoder = new GremlinRowDecoder();
+        rowDecoder.decode(ImmutableList.of(
+                new Result(createMap("value", 1, "name", "Earth")),
+                new Result(createMap("value", "one", "name", null))));
+        Assertions.assertEquals(ImmutableList.of(String.class, String.class), rowDecoder.getColumnTypes());
+    }
+
+    @Test
+    void testFixColumns() {
+        final GremlinRowDecoder rowDecoder = new GremlinRowDecoder();
+        rowDecoder.decode(ImmutableList.of(new Result(createMap("name", "Earth"))));
+        rowDecoder.fixColumns();
+        final List<Object[]> rows = rowDecoder.decode(ImmutableList.of(new Result(createMap("moons", 1, "name", 2))));
+
+        Assertions.assertEquals(ImmutableList.of("name"), rowDecoder.getColumns());
+        Assertions.assertEquals(ImmutableList.of(String.class), rowDecoder.getColumnTypes());
+        Assertions.assertArrayEquals(new Object[] {2}, rows.get(0));
+    }
+
+    @Test
+    void testTraverserBulk() {
+        final GremlinRowDecoder rowDecoder = new GremlinRowDecoder();
+        final List<Object[]> rows = rowDecoder.decode(ImmutableList.of(
+                new Result(new B_O_Traverser<>(createMap("name", "Earth"), 3))));
+        Assertions.assertEquals(3, rows.size());
+        rows.forEach(row -> Assertions.assertArrayEquals(new Object[] {"Earth"}, row));
+    }
+}
@@ -18,13 +18,16 @@ package software.aws.neptune.jdbc;
 
 import com.google.common.collect.ImmutableMap;
 import org.apache.log4j.Level;
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import software.aws.neptune.jdbc.helpers.HelperFunctions;
 import software.aws.neptune.jdbc.mock.MockConnection;
+import software.aws.neptune.jdbc.mock.MockQueryExecutor;
 import software.aws.neptune.jdbc.mock.MockStatement;
 import software.aws.neptune.jdbc.utilities.AuthScheme;
 import software.aws.neptune.jdbc.utilities.ConnectionProperties;
+import software.aws.neptune.jdbc.utilities.QueryExecutor;
 import software.aws.neptune.jdbc.utilities.SqlError;
 import software.aws.neptune.opencypher.OpenCypherConnectionProperties;
 import java.sql.ResultSet;
@@ -33,6 +36,8 @@ import java.sql.SQLWarning;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Test for abstract Connection Object.
@@ -255,4 +260,65 @@ public class ConnectionTest {
     void testNativeSQL() {
         HelperFunctions.expectFunctionDoesntThrow(() -> connection.nativeSQL(TEST_NATIVE_SQL), TEST_NATIVE_SQL);
     }
+
+    @Test
+    void testIsValidCache() throws SQLException {
+        final AtomicInteger validationCount = new AtomicInteger(0);
+        final AtomicBoolean serverValid = new AtomicBoolean(true);
+        final Properties properties = new Properties();
+        properties.putAll(PROPERTIES);
+        properties.put(ConnectionProperties.VALIDATION_CACHE_MILLIS_KEY, 60000);
+        final Connection cachingConnection = new MockConnection(new OpenCypherConnectionProperties(properties)) {
+            @Override
+            public QueryExecutor getQueryExecutor() {
+                return new MockQueryExecutor() {
+                    @Override
+                    public boolean isValid(final int timeout) {
+                        validationCount.incrementAndGet();
+                        return serverValid.get();
+                    }
+                };
+            }
+        };
+        Assertions.assertEquals(-1, cachingConnection.getLastValidationLatencyMillis());
+
+        // A successful validation is reused within the cache window.
+        Assertions.assertTrue(cachingConnection.isValid(1));
+        Assertions.assertTrue(cachingConnection.isValid(1));
+        Assertions.assertEquals(1, validationCount.get());
+        Assertions.assertTrue(cachingConnection.getLastValidationLatencyMillis() >= 0);
+
+        // A failed validation is never cached, even with a cache window.
+        final Connection failingConnection = new MockConnection(new OpenCypherConnectionProperties(properties)) {
+            @Override
+            public QueryExecutor getQueryExecutor() {
+                return cachingConnection.getQueryExecutor();
+            }
+        };
+        serverValid.set(false);
+        Assertions.assertFalse(failingConnection.isValid(1));
+        Assertions.assertFalse(failingConnection.isValid(1));
+        Assertions.assertEquals(3, validationCount.get());
+        serverValid.set(true);
+        Assertions.assertTrue(failingConnection.isValid(1));
+        Assertions.assertTrue(failingConnection.isValid(1));
+        Assertions.assertEquals(4, validationCount.get());
+
+        // A closed connection is not valid, even within the cache window of a successful validation.
+        cachingConnection.close();
+        Assertions.assertFalse(cachingConnection.isValid(1));
+        Assertions.assertEquals(4, validationCount.get());
+
+        // Without a cache window every call validates.
+        properties.put(ConnectionProperties.VALIDATION_CACHE_MILLIS_KEY, 0);
+        final Connection uncachedConnection = new MockConnection(new OpenCypherConnectionProperties(properties)) {
+            @Override
+            public QueryExecutor getQueryExecutor() {
+                return failingConnection.getQueryExecutor();
+            }
+        };
+        Assertions.assertTrue(uncachedConnection.isValid(1));
+        Assertions.assertTrue(uncachedConnection.isValid(1));
+        Assertions.assertEquals(6, validationCount.get());
+    }
 }
@@ -16,11 +16,15 @@
 
 package software.aws.neptune.jdbc;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import software.aws.neptune.jdbc.helpers.HelperFunctions;
 import software.aws.neptune.jdbc.mock.MockConnection;
 import software.aws.neptune.jdbc.mock.MockPreparedStatement;
+import software.aws.neptune.jdbc.mock.MockQueryExecutor;
+import software.aws.neptune.jdbc.utilities.ParameterizedQuery;
+import software.aws.neptune.jdbc.utilities.SqlError;
 import software.aws.neptune.opencypher.OpenCypherConnectionProperties;
 import java.io.InputStream;
 import java.io.Reader;
@@ -28,6 +32,10 @@ import java.sql.Blob;
 import java.sql.Clob;
 import java.sql.NClob;
 import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Test for abstract PreparedStatement Object.
@@ -53,10 +61,70 @@ public class PreparedStatementTest {
     @Test
     void testMisc() {
         HelperFunctions.expectFunctionThrows(() -> preparedStatement.addBatch());
-        HelperFunctions.expectFunctionThrows(() -> preparedStatement.clearParameters());
+        HelperFunctions.expectFunctionDoesntThrow(() -> preparedStatement.clearParameters());
         HelperFunctions.expectFunctionThrows(() -> preparedStatement.getParameterMetaData());
     }
 
+    @Test
+    void testParameters() throws SQLException {
+        final List<String> queries = new ArrayList<>();
+        final List<List<Object>> parameters = new ArrayList<>();
+        final MockQueryExecutor queryExecutor = new MockQueryExecutor() {
+            @Override
+            public java.sql.ResultSet executeQuery(final ParameterizedQuery query, final List<Object> values,
+                                                   final java.sql.Statement statement) {
+                queries.add(query.getQuery("$"));
+                parameters.add(values);
+                return null;
+            }
+        };
+        final java.sql.PreparedStatement statement = new PreparedStatement(connection,
+                "MATCH (n) WHERE n.name = ? AND n.code <> '?' AND n.age > ? RETURN n", queryExecutor);
+
+        HelperFunctions.expectFunctionThrows(SqlError.lookup(SqlError.INVALID_PARAMETER_INDEX, 0, 2),
+                () -> statement.setInt(0, 1));
+        HelperFunctions.expectFunctionThrows(SqlError.lookup(SqlError.INVALID_PARAMETER_INDEX, 3, 2),
+                () -> statement.setInt(3, 1));
+
+        statement.setString(1, "Alice");
+        HelperFunctions.expectFunctionThrows(SqlError.lookup(SqlError.PARAMETER_NOT_SET, 2),
+                () -> statement.executeQuery());
+
+        statement.setNull(2, Types.INTEGER);
+        statement.executeQuery();
+        statement.setInt(2, 30);
+        statement.executeQuery();
+        Assertions.assertEquals(Arrays.asList(
+                "MATCH (n) WHERE n.name = $jdbcParam1 AND n.code <> '?' AND n.age > $jdbcParam2 RETURN n",
+                "MATCH (n) WHERE n.name = $jdbcParam1 AND n.code <> '?' AND n.age > $jdbcParam2 RETURN n"),
+                queries);
+        Assertions.assertEquals(Arrays.asList(Arrays.asList("Alice", null), Arrays.asList("Alice", 30)),
+                parameters);
+
+        statement.clearParameters();
+        statement.setString(1, "Bob");
+        HelperFunctions.expectFunctionThrows(() -> statement.executeQuery());
+    }
+
+    @Test
+    void testParameterDialects() {
+        final String gremlin = "g.V().has('age', ?).map { it.get().value('age') > ? ? 'old' : 'young' }";
+        Assertions.assertEquals(3, new ParameterizedQuery(gremlin).getParameterCount());
+        final ParameterizedQuery groovyQuery = new ParameterizedQuery(gremlin, ParameterizedQuery.Dialect.GROOVY);
+        Assertions.assertEquals(2, groovyQuery.getParameterCount());
+        Assertions.assertEquals(
+                "g.V().has('age', jdbcParam1).map { it.get().value('age') > jdbcParam2 ? 'old' : 'young' }",
+                groovyQuery.getQuery(""));
+
+        final String sparql = "SELECT ?o WHERE { ?s ex:knows? ?o ; (ex:a/ex:b)? ? ; <http://ex/c>? ? }";
+        Assertions.assertEquals(5, new ParameterizedQuery(sparql).getParameterCount());
+        final ParameterizedQuery sparqlQuery = new ParameterizedQuery(sparql, ParameterizedQuery.Dialect.SPARQL);
+        Assertions.assertEquals(2, sparqlQuery.getParameterCount());
+        Assertions.assertEquals(
+                "SELECT ?o WHERE { ?s ex:knows? ?o ; (ex:a/ex:b)? ?jdbcParam1 ; <http://ex/c>? ?jdbcParam2 }",
+                sparqlQuery.getQuery("?"));
+    }
+
     @Test
     void testSet() {
         HelperFunctions.expectFunctionThrows(() -> preparedStatement.setArray(0, null));
@@ -16,16 +16,26 @@
 
 package software.aws.neptune.jdbc;
 
+import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import software.aws.neptune.jdbc.helpers.HelperFunctions;
 import software.aws.neptune.jdbc.mock.MockConnection;
+import software.aws.neptune.jdbc.mock.MockQueryExecutor;
 import software.aws.neptune.jdbc.mock.MockResultSet;
 import software.aws.neptune.jdbc.mock.MockStatement;
+import software.aws.neptune.jdbc.utilities.QueryExecutor;
+import software.aws.neptune.jdbc.utilities.SqlError;
 import software.aws.neptune.opencypher.OpenCypherConnectionProperties;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
 import java.sql.SQLWarning;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Test for abstract Statement Object.
@@ -131,6 +141,26 @@ public class StatementTest {
         HelperFunctions.expectFunctionDoesntThrow(() -> statement.close());
     }
 
+    @Test
+    void testReturnedResultSetsClose() throws SQLException {
+        final QueryExecutor queryExecutor = new MockQueryExecutor() {
+            @Override
+            public ResultSet executeQuery(final String sql, final java.sql.Statement sqlStatement) {
+                return new MockResultSet(sqlStatement);
+            }
+        };
+        final java.sql.Statement trackingStatement = new Statement(connection, queryExecutor);
+        final ResultSet first = trackingStatement.executeQuery("");
+        final ResultSet second = trackingStatement.executeQuery("");
+        final ResultSet closed = trackingStatement.executeQuery("");
+        closed.close();
+
+        // Result sets returned by executeQuery are closed with the statement, not only the one of execute.
+        trackingStatement.close();
+        Assertions.assertTrue(first.isClosed());
+        Assertions.assertTrue(second.isClosed());
+    }
+
     @Test
     void testWrap() {
         HelperFunctions.expectFunctionDoesntThrow(() -> statement.isWrapperFor(MockStatement.class), true);
@@ -158,4 +188,190 @@ public class StatementTest {
         HelperFunctions.expectFunctionDoesntThrow(() -> statement.clearWarnings());
         HelperFunctions.expectFunctionDoesntThrow(() -> statement.getWarnings(), null);
     }
+
+    @Test
+    void testQueryTimeout() throws SQLException {
+        HelperFunctions.expectFunctionDoesntThrow(() -> statement.getQueryTimeout(), 0);
+        HelperFunctions.expectFunctionThrows(() -> statement.setQueryTimeout(-1));
+        HelperFunctions.expectFunctionDoesntThrow(() -> statement.setQueryTimeout(1));
+        HelperFunctions.expectFunctionDoesntThrow(() -> statement.getQueryTimeout(), 1);
+
+        // The query blocks until it is cancelled, so only the query deadline can end it.
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        final QueryExecutor blockingQueryExecutor = new MockQueryExecutor() {
+            @Override
+            public ResultSet executeQuery(final String sql, final java.sql.Statement sqlStatement)
+                    throws SQLException {
+                try {
+                    return runCancellableQuery(MockResultSet.class.getConstructor(java.sql.Statement.class),
+                            sqlStatement, sql);
+                } catch (final NoSuchMethodException e) {
+                    throw new SQLException(e);
+                }
+            }
+
+            @Override
+            protected <T> T runQuery(final String query) throws SQLException {
+                try {
+                    cancelled.await(10, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }
+
+            @Override
+            protected void performCancel() {
+                cancelled.countDown();
+            }
+        };
+        final java.sql.Statement timeoutStatement = new Statement(connection, blockingQueryExecutor);
+        timeoutStatement.setQueryTimeout(1);
+        final SQLException exception = Assertions.assertThrows(SQLTimeoutException.class,
+                () -> timeoutStatement.executeQuery(""));
+        Assertions.assertEquals(SqlError.lookup(SqlError.QUERY_TIMED_OUT), exception.getMessage());
+        Assertions.assertEquals(0, cancelled.getCount());
+    }
+
+    @Test
+    void testStreamedResultsTimeout() throws Exception {
+        // The query returns while its results are still streamed, the deadline stays armed until they complete.
+        final CompletableFuture<Void> stream = new CompletableFuture<>();
+        final CountDownLatch timedOut = new CountDownLatch(1);
+        final QueryExecutor streamingQueryExecutor = new MockQueryExecutor() {
+            @Override
+            public ResultSet executeQuery(final String sql, final java.sql.Statement sqlStatement)
+                    throws SQLException {
+                try {
+                    return runCancellableQuery(StreamingResultSet.class.getConstructor(java.sql.Statement.class,
+                            CompletableFuture.class), sqlStatement, sql);
+                } catch (final NoSuchMethodException e) {
+                    throw new SQLException(e);
+                }
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            protected <T> T runQuery(final String query) {
+                return (T) stream;
+            }
+
+            @Override
+            protected CompletableFuture<?> getOpenStreamCompletion(final Object intermediateResult) {
+                return (CompletableFuture<?>) intermediateResult;
+            }
+
+            @Override
+            protected boolean cancelOpenStream() {
+                timedOut.countDown();
+                return stream.complete(null);
+            }
+        };
+        final java.sql.Statement timeoutStatement = new Statement(connection, streamingQueryExecutor);
+        timeoutStatement.setQueryTimeout(1);
+        Assertions.assertNotNull(timeoutStatement.executeQuery(""));
+        Assertions.assertTrue(timedOut.await(10, TimeUnit.SECONDS));
+        Assertions.assertTrue(stream.isDone());
+    }
+
+    @Test
+    void testAsyncCancelAndTimeout() throws Exception {
+        // Like the driver futures, the pending query completes from within performCancel on the cancelling thread.
+        final AtomicReference<CompletableFuture<Object>> pending = new AtomicReference<>();
+        final QueryExecutor asyncQueryExecutor = new MockQueryExecutor() {
+            @Override
+            public CompletableFuture<ResultSet> executeQueryAsync(final String sql,
+                                                                  final java.sql.Statement sqlStatement)
+                    throws SQLException {
+                try {
+                    return runCancellableQueryAsync(MockResultSet.class.getConstructor(java.sql.Statement.class),
+                            sqlStatement, sql);
+                } catch (final NoSuchMethodException e) {
+                    throw new SQLException(e);
+                }
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            protected <T> CompletableFuture<T> runQueryAsync(final String query) {
+                pending.set(new CompletableFuture<>());
+                return (CompletableFuture<T>) pending.get();
+            }
+
+            @Override
+            protected void performCancel() {
+                pending.get().completeExceptionally(new IllegalStateException("Query aborted."));
+            }
+        };
+        final Statement asyncStatement = new Statement(connection, asyncQueryExecutor);
+
+        final CompletableFuture<ResultSet> cancelled = asyncStatement.executeQueryAsync("");
+        Assertions.assertThrows(SQLException.class, () -> asyncStatement.executeQueryAsync(""));
+        asyncStatement.cancel();
+        final ExecutionException cancelException = Assertions.assertThrows(ExecutionException.class, cancelled::get);
+        Assertions.assertTrue(cancelException.getCause() instanceof SQLException, cancelException.toString());
+        Assertions.assertEquals(SqlError.lookup(SqlError.QUERY_CANCELED), cancelException.getCause().getMessage());
+
+        asyncStatement.setQueryTimeout(1);
+        final CompletableFuture<ResultSet> timedOut = asyncStatement.executeQueryAsync("");
+        final ExecutionException timeoutException = Assertions.assertThrows(ExecutionException.class,
+                () -> timedOut.get(10, TimeUnit.SECONDS));
+        Assertions.assertTrue(timeoutException.getCause() instanceof SQLTimeoutException,
+                timeoutException.toString());
+
+        // Neither left the statement in a cancelled state.
+        Assertions.assertThrows(SQLException.class, asyncStatement::cancel);
+    }
+
+    @Test
+    void testDefaultAsyncQueryInProgress() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch cancelled = new CountDownLatch(1);
+        final QueryExecutor blockingQueryExecutor = new MockQueryExecutor() {
+            @Override
+            public ResultSet executeQuery(final String sql, final java.sql.Statement sqlStatement)
+                    throws SQLException {
+                try {
+                    return runCancellableQuery(MockResultSet.class.getConstructor(java.sql.Statement.class),
+                            sqlStatement, sql);
+                } catch (final NoSuchMethodException e) {
+                    throw new SQLException(e);
+                }
+            }
+
+            @Override
+            protected <T> T runQuery(final String query) {
+                started.countDown();
+                try {
+                    cancelled.await(10, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return null;
+            }
+
+            @Override
+            protected void performCancel() {
+                cancelled.countDown();
+            }
+        };
+        final Statement blockingStatement = new Statement(connection, blockingQueryExecutor);
+        final CompletableFuture<ResultSet> running = blockingStatement.executeQueryAsync("");
+        Assertions.assertTrue(started.await(10, TimeUnit.SECONDS));
+
+        // A query in progress is reported by the call itself, not through the returned future.
+        final SQLException inProgress = Assertions.assertThrows(SQLException.class,
+                () -> blockingStatement.executeQueryAsync(""));
+        Assertions.assertEquals(SqlError.lookup(SqlError.QUERY_IN_PROGRESS), inProgress.getMessage());
+
+        blockingStatement.cancel();
+        final ExecutionException cancelException = Assertions.assertThrows(ExecutionException.class, running::get);
+        Assertions.assertEquals(SqlError.lookup(SqlError.QUERY_CANCELED), cancelException.getCause().getMessage());
+    }
+
+    public static class StreamingResultSet extends MockResultSet {
+        public StreamingResultSet(final java.sql.Statement statement, final CompletableFuture<?> stream) {
+            super(statement);
+        }
+    }
 }
@@ -104,6 +104,48 @@ public class OpenCypherConnectionTest {
         Assertions.assertTrue(openCypherResultSet.get() instanceof OpenCypherResultSet);
     }
 
+    @Test
+    void testConnectionsShareDriver() throws SQLException {
+        // A pool size only used by this test keeps its key apart from the other connections of the tests.
+        final Properties properties = new Properties();
+        properties.putAll(PROPERTIES);
+        properties.put(OpenCypherConnectionProperties.CONNECTION_POOL_SIZE_KEY, "73");
+        final OpenCypherConnectionProperties openCypherProperties = new OpenCypherConnectionProperties(properties);
+        final java.sql.Connection first = new OpenCypherConnection(openCypherProperties);
+        final java.sql.Connection second = new OpenCypherConnection(openCypherProperties);
+        Assertions.assertEquals(2, OpenCypherQueryExecutor.getDriverReferenceCount(openCypherProperties));
+
+        first.createStatement().executeQuery(QUERY).close();
+        first.close();
+        Assertions.assertEquals(1, OpenCypherQueryExecutor.getDriverReferenceCount(openCypherProperties));
+
+        // Closing one connection must not close the Driver under the other.
+        Assertions.assertTrue(second.isValid(1));
+        second.createStatement().executeQuery(QUERY).close();
+        second.close();
+        Assertions.assertEquals(0, OpenCypherQueryExecutor.getDriverReferenceCount(openCypherProperties));
+    }
+
+    @Test
+    void testPreparedStatementParameters() throws SQLException {
+        final PreparedStatement statement = connection.prepareStatement(
+                "MATCH (p:Person) WHERE p.first_name = ? AND p.last_name <> '?' RETURN p.last_name AS last_name");
+        statement.setString(1, "lyndon");
+        ResultSet resultSet = statement.executeQuery();
+        Assertions.assertTrue(resultSet.next());
+        Assertions.assertEquals("bauto", resultSet.getString("last_name"));
+        Assertions.assertFalse(resultSet.next());
+        resultSet.close();
+
+        // The query text is unchanged, only the Bolt parameter differs.
+        statement.setString(1, "valentina");
+        resultSet = statement.executeQuery();
+        Assertions.assertTrue(resultSet.next());
+        Assertions.assertEquals("bozanovic", resultSet.getString("last_name"));
+        Assertions.assertFalse(resultSet.next());
+        resultSet.close();
+    }
+
     @Test
     void testOpenCypherConnectionStatementType() {
         final AtomicReference<Statement> statement = new AtomicReference<>();
@@ -31,6 +31,7 @@ public class OpenCypherResultSetTest {
     private static final String HOSTNAME = "localhost";
     private static final Properties PROPERTIES = new Properties();
     private static MockOpenCypherDatabase database;
+    private static java.sql.Connection connection;
     private static java.sql.Statement statement;
 
     /**
@@ -42,7 +43,7 @@ public class OpenCypherResultSetTest {
         PROPERTIES.put(OpenCypherConnectionProperties.AUTH_SCHEME_KEY, AuthScheme.None); // reverse default to None
         PROPERTIES.putIfAbsent(OpenCypherConnectionProperties.ENDPOINT_KEY,
                 String.format("bolt://%s:%d", HOSTNAME, database.getPort()));
-        final java.sql.Connection connection = new OpenCypherConnection(new OpenCypherConnectionProperties(PROPERTIES));
+        connection = new OpenCypherConnection(new OpenCypherConnectionProperties(PROPERTIES));
         statement = connection.createStatement();
     }
 
@@ -58,6 +59,25 @@ public class OpenCypherResultSetTest {
     void initialize() throws SQLException {
     }
 
+    @Test
+    void testStreamingResultSet() throws SQLException {
+        final java.sql.Statement streamingStatement = connection.createStatement();
+        streamingStatement.setFetchSize(2);
+        final java.sql.ResultSet resultSet = streamingStatement.executeQuery("UNWIND range(1, 5) AS x RETURN x");
+        Assertions.assertEquals(2, resultSet.getFetchSize());
+        Assertions.assertEquals(java.sql.Types.BIGINT, resultSet.getMetaData().getColumnType(1));
+        Assertions.assertTrue(resultSet.isBeforeFirst());
+        for (int i = 1; i <= 5; i++) {
+            Assertions.assertTrue(resultSet.next());
+            Assertions.assertEquals(i, resultSet.getInt(1));
+            Assertions.assertEquals(i == 5, resultSet.isLast());
+        }
+        Assertions.assertFalse(resultSet.next());
+        Assertions.assertTrue(resultSet.isAfterLast());
+        Assertions.assertThrows(SQLException.class, () -> resultSet.getInt(1));
+        resultSet.close();
+    }
+
     // Primitive types.
     @Test
     void testNullType() throws SQLException {
@@ -75,4 +75,9 @@ public class OpenCypherStatementTest extends OpenCypherStatementTestBase {
     void testCancelQueryAfterExecuteComplete() {
         neptuneStatementTestHelper.testCancelQueryAfterExecuteComplete();
     }
+
+    @Test
+    void testQueryTimeout() {
+        neptuneStatementTestHelper.testQueryTimeout();
+    }
 }
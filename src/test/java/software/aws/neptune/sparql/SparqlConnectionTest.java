@@ -25,8 +25,17 @@ import org.junit.jupiter.api.Test;
 import software.aws.neptune.jdbc.utilities.AuthScheme;
 import software.aws.neptune.jdbc.utilities.ConnectionProperties;
 import software.aws.neptune.sparql.mock.SparqlMockServer;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 public class SparqlConnectionTest {
     private static final String HOSTNAME = "http://localhost";
@@ -71,6 +80,20 @@ public class SparqlConnectionTest {
         connection.close();
     }
 
+    @Test
+    void testConnectionsShareRdfConnection() throws SQLException {
+        final SparqlConnectionProperties properties = new SparqlConnectionProperties(sparqlProperties());
+        final java.sql.Connection other = new SparqlConnection(properties);
+        Assertions.assertEquals(2, SparqlQueryExecutor.getRdfConnectionReferenceCount(properties));
+        other.createStatement().executeQuery("SELECT * { ?s ?p ?o } LIMIT 1").close();
+        other.close();
+        Assertions.assertEquals(1, SparqlQueryExecutor.getRdfConnectionReferenceCount(properties));
+
+        // Closing one connection must not close the RDFConnection under the other.
+        Assertions.assertTrue(connection.isValid(1));
+        connection.createStatement().executeQuery("SELECT * { ?s ?p ?o } LIMIT 1").close();
+    }
+
     @Test
     void testIsValid() throws SQLException {
         Assertions.assertTrue(connection.isValid(1));
@@ -103,4 +126,88 @@ public class SparqlConnectionTest {
                 new SparqlConnectionProperties(invalidProperties));
         Assertions.assertFalse(invalidConnection.isValid(1));
     }
+
+    @Test
+    void testPreparedStatementParameters() throws SQLException {
+        // The path modifier '?' is kept, the placeholders are replaced by typed literals.
+        final java.sql.PreparedStatement statement = connection.prepareStatement(
+                "SELECT ?x WHERE { ?x <http://www.w3.org/2001/vcard-rdf/3.0#FN>? ? . "
+                        + "?x <http://somewhere/peopleInfo#int> ? }");
+        statement.setString(1, "John Smith");
+        statement.setInt(2, -100);
+        java.sql.ResultSet resultSet = statement.executeQuery();
+        Assertions.assertTrue(resultSet.next());
+        Assertions.assertEquals("http://somewhere/JohnSmith", resultSet.getString(1));
+        Assertions.assertFalse(resultSet.next());
+        resultSet.close();
+
+        statement.setInt(2, 100);
+        resultSet = statement.executeQuery();
+        Assertions.assertFalse(resultSet.next());
+        resultSet.close();
+
+        // A null parameter matches nothing.
+        statement.setNull(2, Types.INTEGER);
+        resultSet = statement.executeQuery();
+        Assertions.assertFalse(resultSet.next());
+        resultSet.close();
+    }
+
+    @Test
+    void testPreparedStatementParameterTerms() throws SQLException, URISyntaxException {
+        // An IRI parameter can be the subject, and SELECT * does not return the placeholders as columns.
+        java.sql.PreparedStatement statement = connection.prepareStatement(
+                "SELECT * WHERE { ? <http://somewhere/peopleInfo#int> ?int }");
+        statement.setObject(1, new URI("http://somewhere/JohnSmith"));
+        java.sql.ResultSet resultSet = statement.executeQuery();
+        Assertions.assertEquals(1, resultSet.getMetaData().getColumnCount());
+        Assertions.assertTrue(resultSet.next());
+        Assertions.assertEquals(-100, resultSet.getInt(1));
+        Assertions.assertFalse(resultSet.next());
+        resultSet.close();
+
+        // Placeholders are also replaced in the FILTER of a sub-select.
+        statement = connection.prepareStatement(
+                "SELECT ?x WHERE { { SELECT ?x WHERE { "
+                        + "?x <http://somewhere/peopleInfo#int> ?int FILTER(?int = ?) } } }");
+        statement.setInt(1, -100);
+        resultSet = statement.executeQuery();
+        Assertions.assertTrue(resultSet.next());
+        Assertions.assertEquals("http://somewhere/JohnSmith", resultSet.getString(1));
+        Assertions.assertFalse(resultSet.next());
+        resultSet.close();
+
+        statement.setNull(1, Types.INTEGER);
+        resultSet = statement.executeQuery();
+        Assertions.assertFalse(resultSet.next());
+        resultSet.close();
+    }
+
+    @Test
+    void testConcurrentStatements() throws Exception {
+        // Statements sharing one connection run independently of each other.
+        final int threadCount = 8;
+        final ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+        try {
+            final List<Callable<Boolean>> executions = new ArrayList<>();
+            for (int i = 0; i < threadCount; i++) {
+                executions.add(() -> {
+                    for (int j = 0; j < 10; j++) {
+                        try (java.sql.Statement statement = connection.createStatement();
+                             java.sql.ResultSet resultSet = statement.executeQuery("SELECT * { ?s ?p ?o } LIMIT 10")) {
+                            while (resultSet.next()) {
+                                resultSet.getObject(1);
+                            }
+                        }
+                    }
+                    return true;
+                });
+            }
+            for (final Future<Boolean> execution : executorService.invokeAll(executions)) {
+                Assertions.assertTrue(execution.get());
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
 }
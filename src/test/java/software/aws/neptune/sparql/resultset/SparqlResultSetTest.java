@@ -35,6 +35,8 @@ import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 
 public class SparqlResultSetTest {
@@ -171,6 +173,46 @@ public class SparqlResultSetTest {
         Assertions.assertTrue(resultSet.wasNull());
     }
 
+    @Test
+    void testStreamingResultSet() throws SQLException {
+        final String selectQuery = "SELECT ?x ?fname WHERE {?x  <http://www.w3.org/2001/vcard-rdf/3.0#FN>  ?fname}";
+        for (final String query : new String[] {selectQuery, SparqlMockDataQuery.CONSTRUCT_STRING_QUERY}) {
+            final List<String> expectedRows = getFirstColumnValues(statement.executeQuery(query));
+            Assertions.assertFalse(expectedRows.isEmpty());
+
+            final java.sql.Statement streamingStatement = connection.createStatement();
+            streamingStatement.setFetchSize(1);
+            final java.sql.ResultSet resultSet = streamingStatement.executeQuery(query);
+            Assertions.assertTrue(resultSet.isBeforeFirst());
+            Assertions.assertEquals(expectedRows, getFirstColumnValues(resultSet));
+            Assertions.assertTrue(resultSet.isAfterLast());
+            Assertions.assertThrows(SQLException.class, () -> resultSet.getString(1));
+            resultSet.close();
+        }
+    }
+
+    @Test
+    void testCancelStreamingResultSet() throws SQLException {
+        final java.sql.Statement streamingStatement = connection.createStatement();
+        streamingStatement.setFetchSize(1);
+        final java.sql.ResultSet resultSet = streamingStatement.executeQuery(
+                "SELECT ?x ?fname WHERE {?x  <http://www.w3.org/2001/vcard-rdf/3.0#FN>  ?fname}");
+        Assertions.assertTrue(resultSet.next());
+
+        // The query completed, but its results are still streamed, so it can still be cancelled.
+        Assertions.assertDoesNotThrow(streamingStatement::cancel);
+        resultSet.close();
+        Assertions.assertThrows(SQLException.class, streamingStatement::cancel);
+    }
+
+    private static List<String> getFirstColumnValues(final java.sql.ResultSet resultSet) throws SQLException {
+        final List<String> values = new ArrayList<>();
+        while (resultSet.next()) {
+            values.add(resultSet.getString(1));
+        }
+        return values;
+    }
+
     @Test
     void testStringType() throws SQLException {
         testStringResultTypes(SparqlMockDataQuery.STRING_QUERY, "http://somewhere/JohnSmith", 1);
@@ -27,6 +27,7 @@ import java.util.stream.Collectors;
 public class Metric {
     private final List<Double> executionTimes = new ArrayList<>();
     private int numberOfRows;
+    private long peakHeapUsage;
 
     /**
      * Gets the maximum execution time.
@@ -73,6 +74,24 @@ public class Metric {
         this.numberOfRows = numberOfRows;
     }
 
+    /**
+     * Gets the largest heap usage in bytes observed over all the runs.
+     *
+     * @return the peak heap usage in bytes.
+     */
+    long getPeakHeapUsage() {
+        return peakHeapUsage;
+    }
+
+    /**
+     * Track the peak heap usage of the current iteration in the performance test.
+     *
+     * @param heapUsage The peak heap usage in bytes of an iteration in the performance test.
+     */
+    void trackPeakHeapUsage(final long heapUsage) {
+        peakHeapUsage = Math.max(peakHeapUsage, heapUsage);
+    }
+
     /**
      * Track the execution time of the current iteration in the performance test.
      *
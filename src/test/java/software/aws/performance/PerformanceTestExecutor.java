@@ -18,6 +18,9 @@ package software.aws.performance;
 
 import lombok.SneakyThrows;
 import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
 import java.util.AbstractMap;
 
 /**
@@ -45,6 +48,7 @@ public abstract class PerformanceTestExecutor {
         final Metric retrievalMetric = new Metric();
         final Metric executionMetric = new Metric();
         for (int i = 0; i < runs; i++) {
+            resetPeakHeapUsage();
             final long startExecuteTime = System.nanoTime();
             final Object data = execute(query);
             final long startRetrievalTime = System.nanoTime();
@@ -64,6 +68,7 @@ public abstract class PerformanceTestExecutor {
                     throw new Exception(String.format("Unknown retrieval type: %s", retrieveType.name()));
             }
             retrievalMetric.trackExecutionTime(System.nanoTime() - startRetrievalTime);
+            retrievalMetric.trackPeakHeapUsage(getPeakHeapUsage());
             if (i == 0) {
                 retrievalMetric.setNumberOfRows(rowCount);
             }
@@ -71,6 +76,24 @@ public abstract class PerformanceTestExecutor {
         handleMetrics(testName, new AbstractMap.SimpleEntry<>(retrievalMetric, executionMetric));
     }
 
+    private static void resetPeakHeapUsage() {
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+            }
+        }
+    }
+
+    private static long getPeakHeapUsage() {
+        long peakHeapUsage = 0;
+        for (final MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peakHeapUsage += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peakHeapUsage;
+    }
+
     /**
      * Handle the performance test metrics.
      *
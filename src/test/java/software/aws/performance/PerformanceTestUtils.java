@@ -106,6 +106,9 @@ class PerformanceTestUtils {
             dataJoiner.add(String.valueOf(retrievalPercentiles.get(90)));
             dataJoiner.add(String.valueOf(retrievalPercentiles.get(95)));
             dataJoiner.add(String.valueOf(retrievalPercentiles.get(99)));
+            dataJoiner.add(String.valueOf(retrievalMetric.getNumberOfRows()
+                    / (retrievalMetric.calculateAverageExecutionTime() / 1000000000)));
+            dataJoiner.add(String.valueOf(retrievalMetric.getPeakHeapUsage() / (1024 * 1024)));
 
             csv.append(dataJoiner.toString());
             csv.append("\n");
@@ -137,6 +140,8 @@ class PerformanceTestUtils {
             joiner.add("Retrieval Time P90");
             joiner.add("Retrieval Time P95");
             joiner.add("Retrieval Time P99");
+            joiner.add("Rows Per Second");
+            joiner.add("Peak Heap Usage(MB)");
             csv
                     .append(joiner.toString())
                     .append("\n");
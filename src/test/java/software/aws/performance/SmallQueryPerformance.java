@@ -0,0 +1,38 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.performance;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Benchmark the per-query overhead of the driver by running many small queries sequentially.
+ */
+public abstract class SmallQueryPerformance {
+    private static final int RUN_COUNT = 10000;
+
+    protected abstract PerformanceTestExecutor getPerformanceTestExecutor();
+
+    protected abstract String getSmallQuery();
+
+    protected abstract String getBaseTestName();
+
+    @Test
+    void testSmallQueries() {
+        getPerformanceTestExecutor().runTest(getBaseTestName() + "-SmallQueryTest", getSmallQuery(), RUN_COUNT,
+                PerformanceTestExecutor.RetrieveType.OBJECT);
+    }
+}
@@ -26,6 +26,9 @@ public class PerformanceTestConstants {
     public static final AuthScheme AUTH_SCHEME = AuthScheme.None;
     public static final int PORT = 8182;
     public static final int LIMIT_COUNT = 1000;
+    // Gremlin Server bundled for the tests, see MockGremlinDatabase.
+    public static final String MOCK_GREMLIN_HOSTNAME = "localhost";
+    public static final int MOCK_GREMLIN_PORT = 8181;
 
     public static final String SPARQL_ALL_DATA_QUERY = "SELECT ?s ?p ?o {?s ?p ?o}";
     public static final String SPARQL_ALL_DATA_LIMIT_QUERY = String.format("%s LIMIT %d", SPARQL_ALL_DATA_QUERY, LIMIT_COUNT);
@@ -48,6 +51,7 @@ public class PerformanceTestConstants {
     public static final String GREMLIN_ALL_DATA_LIMIT_QUERY = String.format("%s.limit(%d)", GREMLIN_ALL_DATA_QUERY, LIMIT_COUNT);
     public static final String GREMLIN_NUMBER_QUERY = "g.V().hasLabel('airport').project('Elevation').by(values('elev'))";
     public static final String GREMLIN_STRING_QUERY = "g.V().hasLabel('airport').project('Elevation').by(values('code'))";
+    public static final String GREMLIN_SMALL_QUERY = "g.V().limit(1).project('Id').by(id())";
 
     public static final String OPENCYPHER_ALL_DATA_QUERY = "MATCH (n:airport) RETURN n";
     public static final String OPENCYPHER_ALL_DATA_LIMIT_QUERY = String.format("%s LIMIT %d", OPENCYPHER_ALL_DATA_QUERY, LIMIT_COUNT);
@@ -0,0 +1,60 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.performance.implementations.executors;
+
+import lombok.SneakyThrows;
+import org.apache.tinkerpop.gremlin.driver.Client;
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import software.aws.neptune.gremlin.GremlinConnectionProperties;
+import software.aws.neptune.gremlin.GremlinQueryExecutor;
+import software.aws.performance.implementations.PerformanceTestConstants;
+import java.util.Properties;
+
+import static software.aws.neptune.gremlin.GremlinConnectionProperties.CONTACT_POINT_KEY;
+import static software.aws.neptune.gremlin.GremlinConnectionProperties.PORT_KEY;
+import static software.aws.neptune.jdbc.utilities.ConnectionProperties.AUTH_SCHEME_KEY;
+
+/**
+ * Initializes a new Client for every query, the way the driver used to, as a reference for GremlinJDBCExecutor.
+ */
+public class GremlinClientPerQueryExecutor extends GremlinBaselineExecutor {
+    private final Cluster cluster;
+
+    /**
+     * Constructor for GremlinClientPerQueryExecutor.
+     */
+    @SneakyThrows
+    public GremlinClientPerQueryExecutor() {
+        final Properties properties = new Properties();
+        properties.put(CONTACT_POINT_KEY, PerformanceTestConstants.ENDPOINT);
+        properties.put(PORT_KEY, PerformanceTestConstants.PORT);
+        properties.put(AUTH_SCHEME_KEY, PerformanceTestConstants.AUTH_SCHEME);
+        final GremlinConnectionProperties gremlinConnectionProperties = new GremlinConnectionProperties(properties);
+        cluster = GremlinQueryExecutor.createClusterBuilder(gremlinConnectionProperties).create();
+    }
+
+    @Override
+    @SneakyThrows
+    protected Object execute(final String query) {
+        final Client client = cluster.connect().init();
+        try {
+            return client.submit(query).all().get();
+        } finally {
+            client.close();
+        }
+    }
+}
@@ -43,6 +43,16 @@ public class GremlinJDBCExecutor extends JDBCExecutor {
 
     }
 
+    /**
+     * Constructor for GremlinJDBCExecutor with the given connection properties.
+     *
+     * @param properties Properties of the connection.
+     */
+    @SneakyThrows
+    public GremlinJDBCExecutor(final Properties properties) {
+        connection = new GremlinConnection(new GremlinConnectionProperties(properties));
+    }
+
     @Override
     @SneakyThrows
     Statement getNewStatement() {
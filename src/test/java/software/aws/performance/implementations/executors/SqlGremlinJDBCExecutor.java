@@ -29,12 +29,23 @@ import static software.aws.neptune.jdbc.utilities.ConnectionProperties.AUTH_SCHE
 
 public class SqlGremlinJDBCExecutor extends JDBCExecutor {
     private final java.sql.Connection connection;
+    private final Integer fetchSize;
 
     /**
      * Constructor for SqlGremlinJDBCExecutor.
      */
-    @SneakyThrows
     public SqlGremlinJDBCExecutor() {
+        this(null);
+    }
+
+    /**
+     * Constructor for SqlGremlinJDBCExecutor that sets a fetch size on each statement.
+     *
+     * @param fetchSize Fetch size to set on each statement, or null to leave the driver default.
+     */
+    @SneakyThrows
+    public SqlGremlinJDBCExecutor(final Integer fetchSize) {
+        this.fetchSize = fetchSize;
         final Properties properties = new Properties();
         properties.put(CONTACT_POINT_KEY, PerformanceTestConstants.ENDPOINT);
         properties.put(PORT_KEY, PerformanceTestConstants.PORT);
@@ -48,6 +59,10 @@ public class SqlGremlinJDBCExecutor extends JDBCExecutor {
     @Override
     @SneakyThrows
     Statement getNewStatement() {
-        return connection.createStatement();
+        final Statement statement = connection.createStatement();
+        if (fetchSize != null) {
+            statement.setFetchSize(fetchSize);
+        }
+        return statement;
     }
 }
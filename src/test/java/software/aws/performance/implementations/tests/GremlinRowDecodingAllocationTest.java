@@ -0,0 +1,92 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.performance.implementations.tests;
+
+import org.apache.tinkerpop.gremlin.driver.Result;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import software.aws.neptune.gremlin.resultset.GremlinRowDecoder;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Compares the heap allocated per row when decoding Gremlin results with the GremlinRowDecoder against copying each
+ * result into a String keyed Map, which is how rows were built before.
+ */
+@Disabled
+public class GremlinRowDecodingAllocationTest {
+    private static final int ROW_COUNT = 10000;
+    private static final int COLUMN_COUNT = 10;
+    private static final int WARMUP_RUNS = 20;
+    private static final int RUNS = 50;
+
+    private static List<Result> createResults() {
+        final List<Result> results = new ArrayList<>(ROW_COUNT);
+        for (int i = 0; i < ROW_COUNT; i++) {
+            final Map<Object, Object> map = new LinkedHashMap<>();
+            for (int j = 0; j < COLUMN_COUNT; j++) {
+                // New key instances for every row, like a deserialized response.
+                map.put("column" + j, i * j);
+            }
+            results.add(new Result(map));
+        }
+        return results;
+    }
+
+    private static long getAllocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+                .getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private static void measure(final String testName, final Consumer<List<Result>> decoder) {
+        final List<Result> results = createResults();
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            decoder.accept(results);
+        }
+        final long startBytes = getAllocatedBytes();
+        final long startNanos = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            decoder.accept(results);
+        }
+        final long nanos = System.nanoTime() - startNanos;
+        final long bytes = getAllocatedBytes() - startBytes;
+        System.out.printf("%s: %d bytes and %d ns per row.%n", testName,
+                bytes / ((long) RUNS * ROW_COUNT), nanos / ((long) RUNS * ROW_COUNT));
+    }
+
+    @Test
+    void testRowDecoder() {
+        measure("GremlinRowDecoder", results -> new GremlinRowDecoder().decode(results));
+    }
+
+    @Test
+    void testMapCopy() {
+        measure("MapCopy", results -> {
+            final List<Map<String, Object>> rows = new ArrayList<>();
+            for (final Result result : results) {
+                final Map<String, Object> row = new HashMap<>();
+                ((Map<?, ?>) result.getObject()).forEach((key, value) -> row.put(key.toString(), value));
+                rows.add(row);
+            }
+        });
+    }
+}
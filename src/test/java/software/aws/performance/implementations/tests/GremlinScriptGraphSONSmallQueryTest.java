@@ -0,0 +1,72 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.performance.implementations.tests;
+
+import lombok.SneakyThrows;
+import org.apache.tinkerpop.gremlin.driver.ser.Serializers;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Disabled;
+import software.aws.neptune.gremlin.mock.MockGremlinDatabase;
+import software.aws.performance.PerformanceTestExecutor;
+import software.aws.performance.SmallQueryPerformance;
+import software.aws.performance.implementations.executors.GremlinJDBCExecutor;
+import java.io.IOException;
+import java.util.Properties;
+
+import static software.aws.neptune.gremlin.GremlinConnectionProperties.SERIALIZER_KEY;
+import static software.aws.neptune.gremlin.GremlinConnectionProperties.SUBMIT_BYTECODE_KEY;
+import static software.aws.neptune.gremlin.GremlinHelper.getProperties;
+import static software.aws.performance.implementations.PerformanceTestConstants.GREMLIN_SMALL_QUERY;
+import static software.aws.performance.implementations.PerformanceTestConstants.MOCK_GREMLIN_HOSTNAME;
+import static software.aws.performance.implementations.PerformanceTestConstants.MOCK_GREMLIN_PORT;
+
+/**
+ * Submits queries as scripts with GraphSON responses to the bundled Gremlin Server, as the reference for
+ * GremlinBytecodeGraphBinarySmallQueryTest.
+ */
+@Disabled
+public class GremlinScriptGraphSONSmallQueryTest extends SmallQueryPerformance {
+    @BeforeAll
+    static void initializeDatabase() throws IOException, InterruptedException {
+        MockGremlinDatabase.startGraph();
+    }
+
+    @AfterAll
+    static void shutdownDatabase() throws IOException, InterruptedException {
+        MockGremlinDatabase.stopGraph();
+    }
+
+    @Override
+    @SneakyThrows
+    protected PerformanceTestExecutor getPerformanceTestExecutor() {
+        final Properties properties = getProperties(MOCK_GREMLIN_HOSTNAME, MOCK_GREMLIN_PORT);
+        properties.put(SERIALIZER_KEY, Serializers.GRAPHSON_V3D0);
+        properties.put(SUBMIT_BYTECODE_KEY, false);
+        return new GremlinJDBCExecutor(properties);
+    }
+
+    @Override
+    protected String getSmallQuery() {
+        return GREMLIN_SMALL_QUERY;
+    }
+
+    @Override
+    protected String getBaseTestName() {
+        return "GremlinScriptGraphSON";
+    }
+}
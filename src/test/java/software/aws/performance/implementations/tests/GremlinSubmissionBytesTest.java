@@ -0,0 +1,117 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.performance.implementations.tests;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import org.apache.tinkerpop.gremlin.driver.Client;
+import org.apache.tinkerpop.gremlin.driver.Cluster;
+import org.apache.tinkerpop.gremlin.driver.MessageSerializer;
+import org.apache.tinkerpop.gremlin.driver.Result;
+import org.apache.tinkerpop.gremlin.driver.Tokens;
+import org.apache.tinkerpop.gremlin.driver.message.RequestMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseMessage;
+import org.apache.tinkerpop.gremlin.driver.message.ResponseStatusCode;
+import org.apache.tinkerpop.gremlin.driver.ser.Serializers;
+import org.apache.tinkerpop.gremlin.process.traversal.Bytecode;
+import org.apache.tinkerpop.gremlin.structure.util.empty.EmptyGraph;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Disabled;
+import org.junit.jupiter.api.Test;
+import software.aws.neptune.gremlin.mock.MockGremlinDatabase;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__.id;
+import static software.aws.performance.implementations.PerformanceTestConstants.GREMLIN_SMALL_QUERY;
+import static software.aws.performance.implementations.PerformanceTestConstants.MOCK_GREMLIN_HOSTNAME;
+import static software.aws.performance.implementations.PerformanceTestConstants.MOCK_GREMLIN_PORT;
+
+/**
+ * Compares the bytes on the wire of a script request with GraphSON responses against a bytecode request with
+ * GraphBinary responses, for the query of the small query tests.
+ */
+@Disabled
+public class GremlinSubmissionBytesTest {
+    // Same traversal as GREMLIN_SMALL_QUERY.
+    private static final Bytecode SMALL_QUERY_BYTECODE =
+            EmptyGraph.instance().traversal().V().limit(1).project("Id").by(id()).asAdmin().getBytecode();
+
+    @BeforeAll
+    static void initializeDatabase() throws IOException, InterruptedException {
+        MockGremlinDatabase.startGraph();
+    }
+
+    @AfterAll
+    static void shutdownDatabase() throws IOException, InterruptedException {
+        MockGremlinDatabase.stopGraph();
+    }
+
+    @Test
+    void testScriptGraphSON() throws Exception {
+        final MessageSerializer serializer = Serializers.GRAPHSON_V3D0.simpleInstance();
+        final RequestMessage request = RequestMessage.build(Tokens.OPS_EVAL)
+                .add(Tokens.ARGS_GREMLIN, GREMLIN_SMALL_QUERY).create();
+        final Cluster cluster = createCluster(serializer);
+        try {
+            final Client client = cluster.connect();
+            printBytes("GremlinScriptGraphSON", serializer, request, client.submit(GREMLIN_SMALL_QUERY).all().get());
+        } finally {
+            cluster.close();
+        }
+    }
+
+    @Test
+    void testBytecodeGraphBinary() throws Exception {
+        final MessageSerializer serializer = Serializers.GRAPHBINARY_V1D0.simpleInstance();
+        final RequestMessage request = RequestMessage.build(Tokens.OPS_BYTECODE).processor("traversal")
+                .add(Tokens.ARGS_GREMLIN, SMALL_QUERY_BYTECODE)
+                .add(Tokens.ARGS_ALIASES, Collections.singletonMap("g", "g")).create();
+        final Cluster cluster = createCluster(serializer);
+        try {
+            final Client client = cluster.connect().alias("g");
+            printBytes("GremlinBytecodeGraphBinary", serializer, request,
+                    client.submitAsync(SMALL_QUERY_BYTECODE).get().all().get());
+        } finally {
+            cluster.close();
+        }
+    }
+
+    private static Cluster createCluster(final MessageSerializer serializer) {
+        return Cluster.build(MOCK_GREMLIN_HOSTNAME).port(MOCK_GREMLIN_PORT).serializer(serializer).create();
+    }
+
+    private static void printBytes(final String testName, final MessageSerializer serializer,
+                                   final RequestMessage request, final List<Result> results) throws Exception {
+        final ResponseMessage response = ResponseMessage.build(request.getRequestId())
+                .code(ResponseStatusCode.SUCCESS)
+                .result(results.stream().map(Result::getObject).collect(Collectors.toList()))
+                .create();
+        final ByteBuf requestBytes = serializer.serializeRequestAsBinary(request, ByteBufAllocator.DEFAULT);
+        final ByteBuf responseBytes = serializer.serializeResponseAsBinary(response, ByteBufAllocator.DEFAULT);
+        try {
+            System.out.printf("%s: request %d bytes, response %d bytes for %d results.%n", testName,
+                    requestBytes.readableBytes(), responseBytes.readableBytes(), results.size());
+        } finally {
+            requestBytes.release();
+            responseBytes.release();
+        }
+    }
+}
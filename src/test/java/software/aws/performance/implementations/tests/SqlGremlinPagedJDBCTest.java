@@ -0,0 +1,42 @@
+/*
+ * Copyright <2021> Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ *
+ */
+
+package software.aws.performance.implementations.tests;
+
+import lombok.SneakyThrows;
+import org.junit.jupiter.api.Disabled;
+import software.aws.performance.PerformanceTestExecutor;
+import software.aws.performance.implementations.executors.SqlGremlinJDBCExecutor;
+
+/**
+ * Runs the SqlGremlinJDBC data type tests with a fetch size, which bounds the pages handed from the pagination
+ * thread to the ResultSet. Compare rows per second and peak heap usage against SqlGremlinJDBC.
+ */
+@Disabled
+public class SqlGremlinPagedJDBCTest extends SqlGremlinJDBCTest {
+    private static final int FETCH_SIZE = 100;
+
+    @Override
+    @SneakyThrows
+    protected PerformanceTestExecutor getPerformanceTestExecutor() {
+        return new SqlGremlinJDBCExecutor(FETCH_SIZE);
+    }
+
+    @Override
+    protected String getBaseTestName() {
+        return "SqlGremlinPagedJDBC";
+    }
+}